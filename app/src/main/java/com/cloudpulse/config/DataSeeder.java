@@ -7,6 +7,7 @@ import com.cloudpulse.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
@@ -14,10 +15,13 @@ import java.util.List;
 
 /**
  * Seeds the database with realistic infrastructure resources on startup.
- * Only runs in non-production profiles (dev, default).
+ * Only runs in non-production profiles (dev, default), and can be switched
+ * off explicitly with cloudpulse.seed.enabled=false — the container image
+ * does so for its CDS training run and Kubernetes pods.
  */
 @Component
 @Profile("!prod")
+@ConditionalOnProperty(name = "cloudpulse.seed.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class DataSeeder implements CommandLineRunner {
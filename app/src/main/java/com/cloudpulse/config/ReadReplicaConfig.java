@@ -0,0 +1,71 @@
+package com.cloudpulse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write datasource routing, enabled with cloudpulse.datasource.replica.enabled=true.
+ *
+ * The application DataSource becomes a {@link LazyConnectionDataSourceProxy}
+ * that defers fetching a physical connection until the first statement. By
+ * then the transaction's read-only flag is known, so
+ * {@code @Transactional(readOnly = true)} work is served from the replica
+ * pool and everything else from the primary pool — each with its own Hikari
+ * pool, so heavy reads cannot starve health-check writes.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "cloudpulse.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("cloudpulse.datasource.replica.hikari")
+    public HikariDataSource replicaPool(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("cloudpulse.datasource.replica", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("cloudpulse.datasource.replica.url is required"));
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryPool") DataSource primaryPool,
+            @Qualifier("replicaPool") DataSource replicaPool,
+            @Value("${cloudpulse.datasource.replica.max-lag:5s}") Duration maxLag) {
+        return new ReplicaLagMonitor(primaryPool, replicaPool, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryPool") DataSource primaryPool,
+            @Qualifier("replicaPool") DataSource replicaPool,
+            ReplicaLagMonitor replicaLagMonitor) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryPool);
+        proxy.setReadOnlyDataSource(new ReplicaAwareDataSource(primaryPool, replicaPool, replicaLagMonitor));
+        return proxy;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cloudpulse.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Read-only target for {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * hands out replica connections while {@link ReplicaLagMonitor} considers the
+ * replica fresh, and primary connections otherwise or when the replica
+ * cannot be reached.
+ */
+public class ReplicaAwareDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor monitor;
+
+    public ReplicaAwareDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (monitor.isReplicaUsable()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                monitor.markUnavailable(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (monitor.isReplicaUsable()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                monitor.markUnavailable(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,96 @@
+package com.cloudpulse.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Decides whether read-only work may go to the replica.
+ *
+ * Every check writes a heartbeat row on the primary and reads it back from
+ * the replica; the age of the replicated beat is the replication lag. The
+ * replica is used only while that lag is within the configured tolerance
+ * and the replica answers at all. Lag includes any clock skew between pods.
+ * The heartbeat table is part of the managed schema ({@code ReplicaHeartbeat}
+ * and {@code db/mysql/replica-heartbeat.sql}); it is never created at runtime.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String HEARTBEAT_TABLE = "replica_heartbeat";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+    private volatile long lastLagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(2);
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${cloudpulse.datasource.replica.check-interval:5000}")
+    public void check() {
+        try {
+            writeHeartbeat();
+        } catch (DataAccessException e) {
+            log.warn("Could not write replica heartbeat on primary: {}", e.getMessage());
+        }
+
+        boolean usable;
+        try {
+            Long beatAt = replica.queryForObject(
+                    "SELECT beat_at FROM " + HEARTBEAT_TABLE + " WHERE id = 1", Long.class);
+            lastLagMillis = Math.max(0, System.currentTimeMillis() - beatAt);
+            usable = lastLagMillis <= maxLagMillis;
+        } catch (DataAccessException e) {
+            lastLagMillis = -1;
+            usable = false;
+        }
+
+        if (usable && !replicaUsable) {
+            log.info("Read replica in rotation (lag {} ms)", lastLagMillis);
+        } else if (!usable && replicaUsable) {
+            log.warn("Read replica out of rotation (lag {} ms), reads fall back to primary", lastLagMillis);
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    /**
+     * Takes the replica out of rotation until the next successful check.
+     */
+    public void markUnavailable(Exception cause) {
+        if (replicaUsable) {
+            log.warn("Read replica connection failed, reads fall back to primary: {}", cause.getMessage());
+        }
+        replicaUsable = false;
+    }
+
+    private void writeHeartbeat() {
+        long now = System.currentTimeMillis();
+        if (primary.update("UPDATE " + HEARTBEAT_TABLE + " SET beat_at = ? WHERE id = 1", now) == 0) {
+            try {
+                primary.update("INSERT INTO " + HEARTBEAT_TABLE + " (id, beat_at) VALUES (1, ?)", now);
+            } catch (DuplicateKeyException e) {
+                // another instance inserted it first
+            }
+        }
+    }
+}
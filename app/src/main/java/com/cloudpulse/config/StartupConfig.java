@@ -0,0 +1,43 @@
+package com.cloudpulse.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup tuning for lazy initialization.
+ *
+ * With spring.main.lazy-initialization=true (CLOUDPULSE_LAZY_INIT, set by
+ * the container image),
+ * controllers and services are created on first use instead of during
+ * startup. Beans that must exist from the start — anything with
+ * {@code @Scheduled} or {@code @EventListener} methods, such as the
+ * health-check sweep and the in-memory indexes warmed on
+ * ApplicationReadyEvent — are kept eager by this filter.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBackgroundComponents() {
+        return (beanName, beanDefinition, beanType) -> hasBackgroundWork(beanType);
+    }
+
+    static boolean hasBackgroundWork(Class<?> beanType) {
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType, method -> found.set(true), StartupConfig::isBackgroundMethod);
+        return found.get();
+    }
+
+    private static boolean isBackgroundMethod(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                || AnnotatedElementUtils.hasAnnotation(method, EventListener.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.cloudpulse.controller;
+
+import com.cloudpulse.dto.AlertRuleRequest;
+import com.cloudpulse.dto.FiringAlert;
+import com.cloudpulse.model.AlertRule;
+import com.cloudpulse.service.AlertRuleEngine;
+import com.cloudpulse.service.AlertRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API for alert rules, evaluated on every health check.
+ *
+ * Endpoints:
+ * GET /api/alerts/rules — List all rules
+ * GET /api/alerts/rules/{id} — Get a rule
+ * POST /api/alerts/rules — Create a rule, e.g. condition "responseTimeMs > 800",
+ * matchCount 3, windowSize 5, resourceType RDS, environment prod
+ * PUT /api/alerts/rules/{id} — Update a rule
+ * DELETE /api/alerts/rules/{id} — Delete a rule
+ * GET /api/alerts/firing — Rules currently firing, per resource
+ */
+@RestController
+@RequestMapping("/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private final AlertRuleService alertRuleService;
+    private final AlertRuleEngine alertRuleEngine;
+
+    @GetMapping("/rules")
+    public ResponseEntity<List<AlertRule>> getAllRules() {
+        return ResponseEntity.ok(alertRuleService.getAllRules());
+    }
+
+    @GetMapping("/rules/{id}")
+    public ResponseEntity<AlertRule> getRuleById(@PathVariable Long id) {
+        return ResponseEntity.ok(alertRuleService.getRuleById(id));
+    }
+
+    @PostMapping("/rules")
+    public ResponseEntity<AlertRule> createRule(@Valid @RequestBody AlertRuleRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(alertRuleService.createRule(request));
+    }
+
+    @PutMapping("/rules/{id}")
+    public ResponseEntity<AlertRule> updateRule(@PathVariable Long id, @Valid @RequestBody AlertRuleRequest request) {
+        return ResponseEntity.ok(alertRuleService.updateRule(id, request));
+    }
+
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        alertRuleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/firing")
+    public ResponseEntity<List<FiringAlert>> getFiring() {
+        return ResponseEntity.ok(alertRuleEngine.getFiring());
+    }
+}
@@ -0,0 +1,38 @@
+package com.cloudpulse.controller;
+
+import com.cloudpulse.dto.ChangeFeedPage;
+import com.cloudpulse.service.ChangeLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST API for the change feed of resources and incidents.
+ *
+ * Endpoints:
+ * GET /api/changes?after=0&limit=100 — Changes after the cursor, oldest first,
+ * with the cursor to pass next
+ * GET /api/changes?after=N&wait=30s — Long-poll: when nothing is newer, hold the
+ * request until a change commits or the wait (at most 60s) runs out
+ */
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    private final ChangeLogService changeLogService;
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<ChangeFeedPage>> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String wait) {
+        Duration waitDuration = wait != null ? DurationStyle.detectAndParse(wait, ChronoUnit.SECONDS) : null;
+        return changeLogService.getChanges(after, limit, waitDuration).thenApply(ResponseEntity::ok);
+    }
+}
@@ -1,25 +1,68 @@
 package com.cloudpulse.controller;
 
+import com.cloudpulse.dto.BatchCheckRequest;
+import com.cloudpulse.dto.FleetStatusEntry;
+import com.cloudpulse.dto.HealthCheckSeries;
+import com.cloudpulse.dto.ResourceStats;
 import com.cloudpulse.model.HealthCheck;
-import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.service.ChangeTracker;
+import com.cloudpulse.service.FleetStatusService;
+import com.cloudpulse.service.HealthCheckExportService;
 import com.cloudpulse.service.HealthCheckService;
-import com.cloudpulse.service.ResourceService;
+import com.cloudpulse.service.OnDemandCheckService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST API for health check operations.
  *
  * Endpoints:
- * GET /api/healthchecks/resource/{id} — Get check history for a resource
+ * GET /api/healthchecks/resource/{id} — Check history for a resource, newest
+ * first: id, resourceId, status, responseTimeMs, statusCode and checkedAt of
+ * each check, streamed from the hot store (fields=...,message for the rest)
  * GET /api/healthchecks/recent?hours=24 — Get recent checks across all
  * resources
- * POST /api/healthchecks/resource/{id}/run — Trigger an on-demand health check
+ * GET /api/healthchecks/recent?fields=id,status — Only the listed fields,
+ * streamed (also on /resource/{id})
+ * POST /api/healthchecks/resource/{id}/run?maxAge=30s — Trigger an on-demand
+ * health check; concurrent calls share one probe, and with maxAge a check
+ * that recent is returned instead of probing. Handled asynchronously: 429 when
+ * too many on-demand probes are running, 504 past the per-request deadline
+ * POST /api/healthchecks/run — Probe many resources (ids, or a type/region/
+ * environment filter) concurrently; one NDJSON line per result as it completes
  * GET /api/healthchecks/resource/{id}/avg-time — Get avg response time
+ * GET /api/healthchecks/resource/{id}/stats — Running latency/status statistics
+ * GET /api/healthchecks/resource/{id}/series?from=&to=&step=5m&points=N
+ * — Fixed-step latency/status buckets, optionally LTTB-downsampled to N points
+ * GET /api/healthchecks/fleet?type=&region=&environment= — Every resource with
+ * its newest check's status and latency, from the latest-check table
+ * GET /api/healthchecks/export?from=&to=&resourceIds=&type=&region=&environment=
+ * — Checks in [from, to), archived days included, as streamed gzip CSV; an
+ * export cut off by the 30m async request timeout (or otherwise interrupted)
+ * resumes with afterCheckedAt= and afterId= from its last complete line
+ *
+ * The history of a checked resource carries an ETag built from its newest
+ * check id, which every instance's hot store follows, so instances tag it
+ * alike once caught up; a matching If-None-Match is answered with 304. The
+ * fleet view is tagged with the resource collection version, which every
+ * check bumps.
  */
 @RestController
 @RequestMapping("/healthchecks")
@@ -27,13 +70,27 @@ import java.util.Map;
 public class HealthCheckController {
 
     private final HealthCheckService healthCheckService;
-    private final ResourceService resourceService;
+    private final OnDemandCheckService onDemandCheckService;
+    private final FleetStatusService fleetStatusService;
+    private final HealthCheckExportService healthCheckExportService;
+    private final ChangeTracker changeTracker;
 
     @GetMapping("/resource/{resourceId}")
-    public ResponseEntity<List<HealthCheck>> getCheckHistory(
+    public ResponseEntity<StreamingResponseBody> getCheckHistory(
             @PathVariable Long resourceId,
-            @RequestParam(defaultValue = "50") int limit) {
-        return ResponseEntity.ok(healthCheckService.getChecksForResource(resourceId, limit));
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest request) {
+        Optional<Long> newestCheckId = healthCheckService.getNewestCheckId(resourceId);
+        if (newestCheckId.isEmpty()) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(healthCheckService.streamChecksForResource(null, resourceId, limit));
+        }
+        String etag = changeTracker.etag(newestCheckId.get(), limit);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON)
+                .body(healthCheckService.streamChecksForResource(null, resourceId, limit));
     }
 
     @GetMapping("/recent")
@@ -42,11 +99,35 @@ public class HealthCheckController {
         return ResponseEntity.ok(healthCheckService.getRecentChecks(hours));
     }
 
+    @GetMapping(value = "/resource/{resourceId}", params = "fields")
+    public ResponseEntity<StreamingResponseBody> getCheckHistoryFields(
+            @PathVariable Long resourceId,
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(healthCheckService.streamChecksForResource(fields, resourceId, limit));
+    }
+
+    @GetMapping(value = "/recent", params = "fields")
+    public ResponseEntity<StreamingResponseBody> getRecentCheckFields(
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "24") int hours) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(healthCheckService.streamRecentChecks(fields, hours));
+    }
+
     @PostMapping("/resource/{resourceId}/run")
-    public ResponseEntity<HealthCheck> runHealthCheck(@PathVariable Long resourceId) {
-        Resource resource = resourceService.getResourceById(resourceId);
-        HealthCheck result = healthCheckService.performHealthCheck(resource);
-        return ResponseEntity.ok(result);
+    public CompletableFuture<ResponseEntity<HealthCheck>> runHealthCheck(
+            @PathVariable Long resourceId,
+            @RequestParam(required = false) String maxAge) {
+        Duration maxAgeDuration = maxAge != null ? DurationStyle.detectAndParse(maxAge, ChronoUnit.SECONDS) : null;
+        return onDemandCheckService.run(resourceId, maxAgeDuration).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<StreamingResponseBody> runBatch(@Valid @RequestBody BatchCheckRequest request) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(onDemandCheckService.runBatch(request));
     }
 
     @GetMapping("/resource/{resourceId}/avg-time")
@@ -59,4 +140,54 @@ public class HealthCheckController {
                 "avgResponseTimeMs", avgTime != null ? avgTime : 0,
                 "periodHours", hours));
     }
+
+    @GetMapping("/resource/{resourceId}/stats")
+    public ResponseEntity<ResourceStats> getStats(@PathVariable Long resourceId) {
+        return ResponseEntity.ok(healthCheckService.getStats(resourceId));
+    }
+
+    @GetMapping("/resource/{resourceId}/series")
+    public ResponseEntity<HealthCheckSeries> getSeries(
+            @PathVariable Long resourceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "5m") String step,
+            @RequestParam(required = false) Integer points) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        Duration stepDuration = DurationStyle.detectAndParse(step, ChronoUnit.SECONDS);
+        return ResponseEntity.ok(healthCheckService.getSeries(resourceId, start, end, stepDuration, points));
+    }
+
+    @GetMapping("/fleet")
+    public ResponseEntity<List<FleetStatusEntry>> getFleetStatus(
+            @RequestParam(required = false) ResourceType type,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String environment,
+            WebRequest request) {
+        String etag = changeTracker.etag(changeTracker.version(ChangeTracker.Collection.RESOURCES));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(fleetStatusService.getFleetStatus(type, region, environment));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<Long> resourceIds,
+            @RequestParam(required = false) ResourceType type,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String environment,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCheckedAt,
+            @RequestParam(required = false) Long afterId) {
+        StreamingResponseBody body = healthCheckExportService.export(from, to, resourceIds, type, region, environment,
+                afterCheckedAt, afterId);
+        String filename = "health-checks-" + from.toLocalDate() + "-" + to.toLocalDate() + ".csv.gz";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
 }
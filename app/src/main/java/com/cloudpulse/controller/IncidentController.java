@@ -1,16 +1,30 @@
 package com.cloudpulse.controller;
 
+import com.cloudpulse.dto.BulkTransitionRequest;
+import com.cloudpulse.dto.BulkTransitionResult;
+import com.cloudpulse.dto.IncidentAnalyticsReport;
 import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.dto.IncidentSearchResult;
 import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.service.ChangeTracker;
+import com.cloudpulse.service.IncidentAnalyticsService;
 import com.cloudpulse.service.IncidentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * REST API for incident management.
@@ -19,12 +33,26 @@ import java.util.Map;
  * GET /api/incidents — List all incidents
  * GET /api/incidents/active — Active (unresolved) incidents
  * GET /api/incidents/critical — Active critical incidents
+ * GET /api/incidents/active?fields=id,severity — Only the listed fields, streamed
+ * (also on /incidents and /critical)
+ * GET /api/incidents/analytics — MTTA/MTTR means and p90s over 1d/7d/30d
+ * GET /api/incidents/search?q=disk+full — Full-text search over title,
+ * description, root cause and resolution, ranked; optional severity=, status=
+ * (comma-separated) and limit= (default 20, max 100)
  * GET /api/incidents/{id} — Get incident details
+ * GET /api/incidents/resource/{id}/active — Active incidents for a resource
+ * GET /api/incidents/{id}/resources — Resources linked to a correlated incident
  * POST /api/incidents — Create a new incident
  * PUT /api/incidents/{id} — Update an incident
  * POST /api/incidents/{id}/ack — Acknowledge an incident
  * POST /api/incidents/{id}/resolve — Resolve an incident
+ * POST /api/incidents/ack — Acknowledge a list of incidents in one statement
+ * POST /api/incidents/resolve — Resolve a list of incidents in one statement
  * DELETE /api/incidents/{id} — Delete an incident
+ *
+ * GET /{id} and /active carry an ETag; a matching If-None-Match is answered
+ * with 304 before anything is loaded. Incidents embed their resource, so the
+ * tags also cover resource writes.
  */
 @RestController
 @RequestMapping("/incidents")
@@ -32,6 +60,8 @@ import java.util.Map;
 public class IncidentController {
 
     private final IncidentService incidentService;
+    private final IncidentAnalyticsService incidentAnalyticsService;
+    private final ChangeTracker changeTracker;
 
     @GetMapping
     public ResponseEntity<List<Incident>> getAllIncidents() {
@@ -39,8 +69,13 @@ public class IncidentController {
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<Incident>> getActiveIncidents() {
-        return ResponseEntity.ok(incidentService.getActiveIncidents());
+    public ResponseEntity<List<Incident>> getActiveIncidents(WebRequest request) {
+        String etag = changeTracker.etag(changeTracker.version(ChangeTracker.Collection.INCIDENTS),
+                changeTracker.version(ChangeTracker.Collection.RESOURCES));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(incidentService.getActiveIncidents());
     }
 
     @GetMapping("/critical")
@@ -48,9 +83,51 @@ public class IncidentController {
         return ResponseEntity.ok(incidentService.getActiveCriticalIncidents());
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<StreamingResponseBody> getAllIncidentFields(@RequestParam String fields) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(incidentService.streamAllIncidents(fields));
+    }
+
+    @GetMapping(value = "/active", params = "fields")
+    public ResponseEntity<StreamingResponseBody> getActiveIncidentFields(@RequestParam String fields) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(incidentService.streamActiveIncidents(fields));
+    }
+
+    @GetMapping(value = "/critical", params = "fields")
+    public ResponseEntity<StreamingResponseBody> getCriticalIncidentFields(@RequestParam String fields) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(incidentService.streamActiveCriticalIncidents(fields));
+    }
+
+    @GetMapping("/analytics")
+    public ResponseEntity<IncidentAnalyticsReport> getAnalytics() {
+        return ResponseEntity.ok(incidentAnalyticsService.getReport());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<IncidentSearchResult> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<Severity> severity,
+            @RequestParam(required = false) Set<IncidentStatus> status,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(incidentService.search(q, severity, status, limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Incident> getIncidentById(@PathVariable Long id) {
-        return ResponseEntity.ok(incidentService.getIncidentById(id));
+    public ResponseEntity<Incident> getIncidentById(@PathVariable Long id, WebRequest request) {
+        String etag = changeTracker.etag(changeTracker.version(ChangeTracker.Collection.INCIDENTS, id),
+                changeTracker.version(ChangeTracker.Collection.RESOURCES));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(incidentService.getIncidentById(id));
+    }
+
+    @GetMapping("/{id}/resources")
+    public ResponseEntity<List<Resource>> getLinkedResources(@PathVariable Long id) {
+        return ResponseEntity.ok(incidentService.getLinkedResources(id));
     }
 
     @GetMapping("/resource/{resourceId}")
@@ -58,6 +135,11 @@ public class IncidentController {
         return ResponseEntity.ok(incidentService.getIncidentsByResource(resourceId));
     }
 
+    @GetMapping("/resource/{resourceId}/active")
+    public ResponseEntity<List<Incident>> getActiveIncidentsByResource(@PathVariable Long resourceId) {
+        return ResponseEntity.ok(incidentService.getActiveIncidentsByResource(resourceId));
+    }
+
     @PostMapping
     public ResponseEntity<Incident> createIncident(@Valid @RequestBody IncidentRequest request) {
         Incident created = incidentService.createIncident(request);
@@ -80,9 +162,22 @@ public class IncidentController {
     public ResponseEntity<Incident> resolveIncident(
             @PathVariable Long id,
             @RequestBody Map<String, String> body) {
-        String rootCause = body.getOrDefault("rootCause", "");
-        String resolution = body.getOrDefault("resolution", "");
-        return ResponseEntity.ok(incidentService.resolveIncident(id, rootCause, resolution));
+        return ResponseEntity.ok(incidentService.resolveIncident(id, body.get("rootCause"), body.get("resolution")));
+    }
+
+    @PostMapping("/ack")
+    public ResponseEntity<BulkTransitionResult> acknowledgeIncidents(
+            @Valid @RequestBody BulkTransitionRequest request) {
+        List<Incident> acknowledged = incidentService.acknowledgeIncidents(request.getIds());
+        return ResponseEntity.ok(toResult(request.getIds(), acknowledged));
+    }
+
+    @PostMapping("/resolve")
+    public ResponseEntity<BulkTransitionResult> resolveIncidents(
+            @Valid @RequestBody BulkTransitionRequest request) {
+        List<Incident> resolved = incidentService.resolveIncidents(request.getIds(), request.getRootCause(),
+                request.getResolution());
+        return ResponseEntity.ok(toResult(request.getIds(), resolved));
     }
 
     @DeleteMapping("/{id}")
@@ -90,4 +185,15 @@ public class IncidentController {
         incidentService.deleteIncident(id);
         return ResponseEntity.noContent().build();
     }
+
+    private BulkTransitionResult toResult(List<Long> requested, List<Incident> transitioned) {
+        Set<Long> transitionedIds = transitioned.stream().map(Incident::getId).collect(Collectors.toSet());
+        List<Long> distinct = requested.stream().distinct().toList();
+        return BulkTransitionResult.builder()
+                .requested(distinct.size())
+                .transitioned(transitionedIds.size())
+                .transitionedIds(distinct.stream().filter(transitionedIds::contains).toList())
+                .skippedIds(distinct.stream().filter(id -> !transitionedIds.contains(id)).toList())
+                .build();
+    }
 }
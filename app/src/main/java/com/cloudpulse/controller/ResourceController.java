@@ -1,15 +1,24 @@
 package com.cloudpulse.controller;
 
+import com.cloudpulse.dto.ResourceDeletionStatus;
+import com.cloudpulse.dto.ResourceOverview;
 import com.cloudpulse.dto.ResourceRequest;
+import com.cloudpulse.dto.ResourceSuggestion;
 import com.cloudpulse.model.Resource;
 import com.cloudpulse.model.Resource.ResourceStatus;
 import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.service.ChangeTracker;
+import com.cloudpulse.service.ResourceOverviewService;
 import com.cloudpulse.service.ResourceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -21,13 +30,24 @@ import java.util.Map;
  * GET /api/resources — List all resources
  * GET /api/resources/{id} — Get resource by ID
  * GET /api/resources/unhealthy — List unhealthy/degraded resources
+ * GET /api/resources/batch?ids=1,2,3 — Each resource with its newest check and
+ * active incidents, in a fixed number of queries
+ * GET /api/resources/typeahead?q=orders — Resources whose name or cloud id, or
+ * a word in either, starts with q; limit= (default 10, max 50)
  * GET /api/resources?type=EC2 — Filter by type
  * GET /api/resources?region=... — Filter by region
  * GET /api/resources?provider=aws — Filter by provider
+ * GET /api/resources?fields=id,status — Only the listed fields, streamed (also
+ * with the filters above and on /unhealthy)
  * POST /api/resources — Register a new resource
  * PUT /api/resources/{id} — Update a resource
  * PATCH /api/resources/{id}/status — Update resource status only
- * DELETE /api/resources/{id} — Remove a resource
+ * DELETE /api/resources/{id} — Hide a resource now and purge its history in
+ * the background (202)
+ * GET /api/resources/{id}/deletion — Progress of that purge
+ *
+ * GET /{id} and /unhealthy carry an ETag; a matching If-None-Match is
+ * answered with 304 before anything is loaded.
  */
 @RestController
 @RequestMapping("/resources")
@@ -35,6 +55,8 @@ import java.util.Map;
 public class ResourceController {
 
     private final ResourceService resourceService;
+    private final ResourceOverviewService resourceOverviewService;
+    private final ChangeTracker changeTracker;
 
     @GetMapping
     public ResponseEntity<List<Resource>> getAllResources(
@@ -60,14 +82,51 @@ public class ResourceController {
         return ResponseEntity.ok(resources);
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<StreamingResponseBody> getAllResourceFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) ResourceType type,
+            @RequestParam(required = false) ResourceStatus status,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String provider) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(resourceService.streamResources(fields, type, status, region, provider));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Resource> getResourceById(@PathVariable Long id) {
-        return ResponseEntity.ok(resourceService.getResourceById(id));
+    public ResponseEntity<Resource> getResourceById(@PathVariable Long id, WebRequest request) {
+        String etag = changeTracker.etag(changeTracker.version(ChangeTracker.Collection.RESOURCES, id));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(resourceService.getResourceById(id));
     }
 
     @GetMapping("/unhealthy")
-    public ResponseEntity<List<Resource>> getUnhealthyResources() {
-        return ResponseEntity.ok(resourceService.getUnhealthy());
+    public ResponseEntity<List<Resource>> getUnhealthyResources(WebRequest request) {
+        String etag = changeTracker.etag(changeTracker.version(ChangeTracker.Collection.RESOURCES));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(resourceService.getUnhealthy());
+    }
+
+    @GetMapping(value = "/unhealthy", params = "fields")
+    public ResponseEntity<StreamingResponseBody> getUnhealthyResourceFields(@RequestParam String fields) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(resourceService.streamUnhealthy(fields));
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<ResourceOverview>> getOverviews(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(resourceOverviewService.getOverviews(ids));
+    }
+
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<ResourceSuggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(resourceService.suggest(q, limit));
     }
 
     @PostMapping
@@ -92,8 +151,15 @@ public class ResourceController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteResource(@PathVariable Long id) {
-        resourceService.deleteResource(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<ResourceDeletionStatus> deleteResource(@PathVariable Long id) {
+        ResourceDeletionStatus status = resourceService.deleteResource(id);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/deletion").build().toUri())
+                .body(status);
+    }
+
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<ResourceDeletionStatus> getDeletionStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(resourceService.getDeletionStatus(id));
     }
 }
@@ -0,0 +1,44 @@
+package com.cloudpulse.dto;
+
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource.ResourceType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Request DTO for creating/updating an alert rule.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertRuleRequest {
+
+    @NotBlank(message = "Rule name is required")
+    private String name;
+
+    @NotBlank(message = "Condition is required, e.g. responseTimeMs > 800 AND status != UP")
+    private String condition;
+
+    private ResourceType resourceType;
+    private String environment;
+    private Long resourceId;
+
+    @Min(value = 1, message = "matchCount must be at least 1")
+    @Builder.Default
+    private int matchCount = 1;
+
+    @Min(value = 1, message = "windowSize must be at least 1")
+    @Max(value = 64, message = "windowSize must be at most 64")
+    @Builder.Default
+    private int windowSize = 1;
+
+    @NotNull(message = "Severity is required")
+    private Severity severity;
+
+    private Boolean enabled;
+}
@@ -0,0 +1,26 @@
+package com.cloudpulse.dto;
+
+import com.cloudpulse.model.Resource.ResourceType;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Request DTO for POST /api/healthchecks/run: either explicit resource ids
+ * or a filter on type/region/environment (all given criteria must match).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCheckRequest {
+
+    @Size(max = 1000, message = "At most 1000 resources can be listed per request")
+    private List<Long> resourceIds;
+
+    private ResourceType type;
+    private String region;
+    private String environment;
+}
@@ -0,0 +1,27 @@
+package com.cloudpulse.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One NDJSON line of POST /api/healthchecks/run: the outcome of one
+ * resource's probe, or the reason it has none.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCheckResult {
+
+    private Long resourceId;
+    private String resourceName;
+    private Long checkId;
+    private String status;
+    private Integer responseTimeMs;
+    private Integer statusCode;
+    private String message;
+    private LocalDateTime checkedAt;
+    private String error;
+}
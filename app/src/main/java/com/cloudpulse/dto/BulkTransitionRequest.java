@@ -0,0 +1,25 @@
+package com.cloudpulse.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Request DTO for acknowledging or resolving many incidents at once.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransitionRequest {
+
+    @NotEmpty(message = "At least one incident id is required")
+    @Size(max = 1000, message = "At most 1000 incidents can be transitioned per request")
+    private List<Long> ids;
+
+    private String rootCause;
+    private String resolution;
+}
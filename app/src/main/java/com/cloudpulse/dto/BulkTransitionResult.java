@@ -0,0 +1,22 @@
+package com.cloudpulse.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk ack/resolve — which incidents moved and which were
+ * skipped because they were missing or already past that state.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransitionResult {
+
+    private int requested;
+    private int transitioned;
+    private List<Long> transitionedIds;
+    private List<Long> skippedIds;
+}
@@ -0,0 +1,21 @@
+package com.cloudpulse.dto;
+
+import com.cloudpulse.model.ChangeLogEntry;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A page of the change feed; pass {@code nextCursor} as {@code after} to get
+ * the following changes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedPage {
+
+    private List<ChangeLogEntry> changes;
+    private long nextCursor;
+}
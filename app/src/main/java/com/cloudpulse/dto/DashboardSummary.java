@@ -23,10 +23,10 @@ public class DashboardSummary {
 
     private long activeIncidents;
     private long criticalIncidents;
-    private Double mttrMinutes; // Mean Time To Resolution
+    private Double mttrMinutes; // Mean Time To Resolution of incidents resolved since midnight (from the analytics)
 
     private long healthChecksLast24h;
-    private Double avgResponseTimeMs;
+    private Double avgResponseTimeMs; // mean over the health checks of the last 24 hours
 
     private Map<String, Long> resourcesByType;
     private Map<String, Long> resourcesByRegion;
@@ -0,0 +1,26 @@
+package com.cloudpulse.dto;
+
+import com.cloudpulse.model.Incident.Severity;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A rule currently firing for one resource.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FiringAlert {
+
+    private Long ruleId;
+    private String ruleName;
+    private Severity severity;
+    private Long resourceId;
+    private int matched;
+    private int windowSize;
+    private LocalDateTime since;
+    private Long incidentId;
+}
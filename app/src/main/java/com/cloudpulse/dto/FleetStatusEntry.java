@@ -0,0 +1,33 @@
+package com.cloudpulse.dto;
+
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Resource.ResourceStatus;
+import com.cloudpulse.model.Resource.ResourceType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One resource of the fleet status view with its newest check; the check
+ * fields are absent for a resource never checked.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FleetStatusEntry {
+
+    private Long resourceId;
+    private String name;
+    private ResourceType resourceType;
+    private String provider;
+    private String region;
+    private String environment;
+    private ResourceStatus resourceStatus;
+    private Long checkId;
+    private HealthStatus checkStatus;
+    private Integer responseTimeMs;
+    private Integer statusCode;
+    private LocalDateTime checkedAt;
+}
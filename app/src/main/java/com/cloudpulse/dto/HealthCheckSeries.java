@@ -0,0 +1,41 @@
+package com.cloudpulse.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-step latency/status series for one resource, returned by
+ * GET /api/healthchecks/resource/{id}/series. Buckets with no checks are
+ * omitted; when downsampled, only the selected buckets are returned.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HealthCheckSeries {
+
+    private Long resourceId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long stepSeconds;
+    private boolean downsampled;
+    private List<Point> points;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+
+        private LocalDateTime timestamp; // Bucket start
+        private long checks;
+        private Double avgResponseTimeMs;
+        private Integer maxResponseTimeMs;
+        private Map<String, Long> statusCounts;
+    }
+}
@@ -0,0 +1,38 @@
+package com.cloudpulse.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * MTTA/MTTR report returned by GET /api/incidents/analytics.
+ * Windows ("1d", "7d", "30d") are calendar days including today; each maps
+ * severity name (plus "ALL") to the acknowledge/resolve statistics.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IncidentAnalyticsReport {
+
+    private LocalDateTime generatedAt;
+    private Map<String, Map<String, TransitionStats>> windows;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TransitionStats {
+
+        private long acknowledged;
+        private Double mttaMinutes; // Mean Time To Acknowledge
+        private Double mttaP90Minutes;
+
+        private long resolved;
+        private Double mttrMinutes; // Mean Time To Resolution
+        private Double mttrP90Minutes;
+    }
+}
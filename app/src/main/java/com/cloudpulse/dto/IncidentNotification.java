@@ -0,0 +1,44 @@
+package com.cloudpulse.dto;
+
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Webhook payload for one incident event. Receivers get a JSON array of
+ * these per request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IncidentNotification {
+
+    private Event event;
+    private Long incidentId;
+    private String title;
+    private Severity severity;
+    private IncidentStatus status;
+    private Long resourceId;
+    private LocalDateTime occurredAt;
+
+    public enum Event {
+        INCIDENT_CREATED, INCIDENT_ESCALATED, INCIDENT_RESOLVED
+    }
+
+    public static IncidentNotification of(Event event, Incident incident) {
+        return IncidentNotification.builder()
+                .event(event)
+                .incidentId(incident.getId())
+                .title(incident.getTitle())
+                .severity(incident.getSeverity())
+                .status(incident.getStatus())
+                .resourceId(incident.getResource() != null ? incident.getResource().getId() : null)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
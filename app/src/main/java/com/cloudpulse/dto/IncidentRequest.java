@@ -29,4 +29,5 @@ public class IncidentRequest {
     private IncidentStatus status;
     private String rootCause;
     private String resolution;
+    private Long version; // When set, the update is rejected if the incident changed since
 }
@@ -0,0 +1,31 @@
+package com.cloudpulse.dto;
+
+import com.cloudpulse.model.Incident;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Incidents matching a full-text query, best first; {@code total} counts
+ * every match, not only the returned hits.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IncidentSearchResult {
+
+    private long total;
+    private List<Hit> hits;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+
+        private double score;
+        private Incident incident;
+    }
+}
@@ -0,0 +1,26 @@
+package com.cloudpulse.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of an asynchronous resource deletion, returned by
+ * DELETE /api/resources/{id} and GET /api/resources/{id}/deletion.
+ * Read from resource_deletions, so every instance reports the same.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceDeletionStatus {
+
+    private Long resourceId;
+    private String phase; // QUEUED, INCIDENTS, HEALTH_CHECKS, COMPLETED
+    private long incidentsDeleted;
+    private long healthChecksDeleted;
+    private LocalDateTime requestedAt;
+    private LocalDateTime completedAt;
+    private String lastError;
+}
@@ -0,0 +1,30 @@
+package com.cloudpulse.dto;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Resource;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One resource with its newest check and its active incidents, as returned
+ * by GET /api/resources/batch. The nested check and incidents omit the
+ * resource they belong to.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceOverview {
+
+    private Resource resource;
+
+    @JsonIgnoreProperties("resource")
+    private HealthCheck latestCheck;
+
+    @JsonIgnoreProperties("resource")
+    private List<Incident> activeIncidents;
+}
@@ -0,0 +1,27 @@
+package com.cloudpulse.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running latency/status statistics for one resource, returned by
+ * GET /api/healthchecks/resource/{id}/stats. Covers checks seen by this
+ * instance since it started (seeded from the hot store).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceStats {
+
+    private Long resourceId;
+    private long checks;
+    private Double ewmaResponseTimeMs;
+    private Integer minResponseTimeMs;
+    private Integer maxResponseTimeMs;
+    private long consecutiveFailures;
+    private String lastStatus;
+    private LocalDateTime lastCheckedAt;
+}
@@ -0,0 +1,22 @@
+package com.cloudpulse.dto;
+
+import com.cloudpulse.model.Resource.ResourceType;
+import lombok.*;
+
+/**
+ * A typeahead match: just enough of a resource to label it in a picker.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceSuggestion {
+
+    private Long id;
+    private String name;
+    private String resourceId;
+    private ResourceType resourceType;
+    private String region;
+    private String environment;
+}
@@ -0,0 +1,13 @@
+package com.cloudpulse.exception;
+
+/**
+ * Thrown when an incident cannot make the requested transition because its
+ * current state (or version) no longer allows it — typically because another
+ * responder changed it first.
+ */
+public class IncidentStateConflictException extends RuntimeException {
+
+    public IncidentStateConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.cloudpulse.exception;
+
+/**
+ * Thrown when an on-demand health check is refused because the configured
+ * number of concurrent on-demand probes is already running.
+ */
+public class ProbeCapacityExceededException extends RuntimeException {
+
+    public ProbeCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,70 @@
+package com.cloudpulse.model;
+
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource.ResourceType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An alert rule: a condition on each health check, e.g.
+ * {@code responseTimeMs > 800}, that fires once it holds for
+ * {@code matchCount} of the last {@code windowSize} checks of a resource.
+ *
+ * A rule with {@code resourceId} applies to that resource only; otherwise
+ * to every resource of {@code resourceType} in {@code environment}, where a
+ * null criterion matches all.
+ */
+@Entity
+@Table(name = "alert_rules")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "rule_condition", nullable = false, length = 1000)
+    private String condition;
+
+    @Enumerated(EnumType.STRING)
+    private ResourceType resourceType;
+
+    private String environment;
+
+    private Long resourceId;
+
+    @Column(nullable = false)
+    private int matchCount;
+
+    @Column(nullable = false)
+    private int windowSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Severity severity;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean enabled = true;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,52 @@
+package com.cloudpulse.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a resource or incident, appended in the transaction that
+ * made it. {@code seq} is the consumers' cursor.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_occurred_at", columnList = "occurred_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeType changeType;
+
+    private String status; // The entity's status after the change, if it has one
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime occurredAt;
+
+    public enum EntityType {
+        RESOURCE, INCIDENT
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+}
@@ -0,0 +1,25 @@
+package com.cloudpulse.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Write counter of one collection (resources, incidents), bumped in every
+ * transaction that writes to it. Shared by all instances, so an ETag built
+ * from it means the same on every pod.
+ */
+@Entity
+@Table(name = "collection_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionVersion {
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+}
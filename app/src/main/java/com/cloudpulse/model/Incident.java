@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "incidents", indexes = {
         @Index(name = "idx_incident_severity", columnList = "severity"),
         @Index(name = "idx_incident_status", columnList = "status"),
-        @Index(name = "idx_incident_resource", columnList = "resource_id")
+        @Index(name = "idx_incident_resource", columnList = "resource_id"),
+        @Index(name = "idx_incident_alert_rule", columnList = "alert_rule_id")
 })
 @Getter
 @Setter
@@ -53,6 +54,10 @@ public class Incident {
 
     private String assignedTo;
 
+    private String correlationKey; // provider/region/type of a correlated failure storm
+
+    private Long alertRuleId; // Set on incidents opened by a firing alert rule
+
     @Column(columnDefinition = "TEXT")
     private String rootCause;
 
@@ -70,6 +75,12 @@ public class Incident {
 
     private LocalDateTime resolvedAt;
 
+    private LocalDateTime escalatedAt; // Set once if left unacknowledged past the severity's timeout
+
+    @Version
+    @Column(nullable = false)
+    private Long version; // Optimistic lock; also bumped by conditional state transitions
+
     public enum Severity {
         CRITICAL, HIGH, MEDIUM, LOW, INFO
     }
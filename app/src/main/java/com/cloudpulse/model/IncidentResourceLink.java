@@ -0,0 +1,42 @@
+package com.cloudpulse.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Links a correlated (parent) incident to one of the resources it covers.
+ * A storm of failures in one region/provider/type becomes a single incident
+ * with one link per affected resource.
+ */
+@Entity
+@Table(name = "incident_resources", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_incident_resource", columnNames = { "incident_id", "resource_id" })
+}, indexes = {
+        @Index(name = "idx_ir_resource", columnList = "resource_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IncidentResourceLink {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "incident_id", nullable = false)
+    private Incident incident;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "resource_id", nullable = false)
+    private Resource resource;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime linkedAt;
+}
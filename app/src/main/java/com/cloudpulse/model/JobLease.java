@@ -0,0 +1,28 @@
+package com.cloudpulse.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on a job that must run on one instance at a time, such as the
+ * nightly archive run. Held by {@code owner} until {@code leaseUntil}.
+ */
+@Entity
+@Table(name = "job_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(length = 64)
+    private String owner;
+
+    private LocalDateTime leaseUntil;
+}
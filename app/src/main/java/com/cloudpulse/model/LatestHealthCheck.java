@@ -0,0 +1,37 @@
+package com.cloudpulse.model;
+
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The newest health check of one resource, kept next to the check history
+ * so fleet-wide "last status" views read one row per resource instead of
+ * grouping over all of {@code health_checks}. The check columns are null
+ * until the resource is first checked.
+ */
+@Entity
+@Table(name = "latest_health_check")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LatestHealthCheck {
+
+    @Id
+    private Long resourceId;
+
+    private Long checkId;
+
+    @Enumerated(EnumType.STRING)
+    private HealthStatus status;
+
+    private Integer responseTimeMs;
+
+    private Integer statusCode;
+
+    private LocalDateTime checkedAt;
+}
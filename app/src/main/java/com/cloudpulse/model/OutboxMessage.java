@@ -0,0 +1,56 @@
+package com.cloudpulse.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One notification waiting to be delivered to one webhook endpoint. Written
+ * in the same transaction as the change it reports, deleted once delivered;
+ * rows that ran out of attempts stay with {@code failedAt} set until the
+ * failed-retention purge. While a batch is in flight its rows are claimed
+ * by the sending instance until {@code claimedUntil}.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_next_attempt", columnList = "nextAttemptAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 1000)
+    private String endpoint;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // JSON of one IncidentNotification
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime failedAt;
+
+    @Column(length = 64)
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.cloudpulse.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row heartbeat the read-replica lag check writes on the primary and
+ * reads back from the replica. Mapped only so the table is part of the
+ * managed schema; ReplicaLagMonitor accesses it through plain JDBC.
+ */
+@Entity
+@Table(name = "replica_heartbeat")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long beatAt; // epoch millis on the writing pod
+}
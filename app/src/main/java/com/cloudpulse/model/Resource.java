@@ -1,5 +1,7 @@
 package com.cloudpulse.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,6 +14,9 @@ import java.time.LocalDateTime;
 /**
  * Represents a cloud infrastructure resource (EC2, RDS, ALB, Lambda, etc.)
  * being monitored by CloudPulse.
+ *
+ * Resources pending deletion keep their row, hidden from the repository
+ * queries, until {@code ResourceDeletionService} has purged their history.
  */
 @Entity
 @Table(name = "resources", indexes = {
@@ -24,6 +29,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Resource {
 
     @Id
@@ -74,6 +80,11 @@ public class Resource {
 
     private LocalDateTime lastCheckedAt;
 
+    // Set only by a direct update, so a stale save cannot un-hide the row
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletionRequestedAt;
+
     public enum ResourceType {
         EC2, RDS, ALB, ELB, S3, LAMBDA, ECS, EKS, CLOUDFRONT, ELASTICACHE, DYNAMODB
     }
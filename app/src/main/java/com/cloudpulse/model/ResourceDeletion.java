@@ -0,0 +1,45 @@
+package com.cloudpulse.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one resource's background purge, and the claim of the
+ * instance running it. Kept for a while after completion so the status
+ * stays readable.
+ */
+@Entity
+@Table(name = "resource_deletions", indexes = {
+        @Index(name = "idx_deletion_completed", columnList = "completed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceDeletion {
+
+    @Id
+    private Long resourceId;
+
+    @Column(nullable = false, length = 32)
+    private String phase; // QUEUED, INCIDENTS, HEALTH_CHECKS, COMPLETED
+
+    private long incidentsDeleted;
+
+    private long healthChecksDeleted;
+
+    private LocalDateTime requestedAt;
+
+    private LocalDateTime completedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(length = 64)
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil; // Others may take over after this; also a retry delay when unclaimed
+}
@@ -0,0 +1,30 @@
+package com.cloudpulse.repository;
+
+import com.cloudpulse.model.AlertRule;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AlertRuleRepository extends JpaRepository<AlertRule, Long> {
+
+    List<AlertRule> findByEnabledTrue();
+
+    /**
+     * Changes with every insert, update and delete of a rule: count, sum of
+     * versions, highest id and newest update time, as one row.
+     */
+    @Query("SELECT COUNT(r), COALESCE(SUM(r.version), 0), COALESCE(MAX(r.id), 0), MAX(r.updatedAt) "
+            + "FROM AlertRule r")
+    List<Object[]> findFingerprint();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM AlertRule r WHERE r.id = :id")
+    Optional<AlertRule> lockById(@Param("id") Long id);
+}
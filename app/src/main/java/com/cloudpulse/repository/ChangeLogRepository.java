@@ -0,0 +1,26 @@
+package com.cloudpulse.repository;
+
+import com.cloudpulse.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.seq > :after AND c.seq <= :upTo ORDER BY c.seq")
+    List<ChangeLogEntry> findRange(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("SELECT MAX(c.seq) FROM ChangeLogEntry c")
+    Long findMaxSeq();
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.occurredAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
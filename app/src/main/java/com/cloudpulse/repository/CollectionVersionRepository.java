@@ -0,0 +1,21 @@
+package com.cloudpulse.repository;
+
+import com.cloudpulse.model.CollectionVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CollectionVersionRepository extends JpaRepository<CollectionVersion, String> {
+
+    @Query("SELECT v.version FROM CollectionVersion v WHERE v.name = :name")
+    Optional<Long> findVersion(@Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE CollectionVersion v SET v.version = v.version + 1 WHERE v.name = :name")
+    int increment(@Param("name") String name);
+}
@@ -4,11 +4,13 @@ import com.cloudpulse.model.HealthCheck;
 import com.cloudpulse.model.HealthCheck.HealthStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -27,6 +29,58 @@ public interface HealthCheckRepository extends JpaRepository<HealthCheck, Long>
     @Query("SELECT AVG(h.responseTimeMs) FROM HealthCheck h WHERE h.resource.id = :resourceId AND h.checkedAt >= :since")
     Double avgResponseTimeByResourceSince(@Param("resourceId") Long resourceId, @Param("since") LocalDateTime since);
 
+    @Query("SELECT AVG(h.responseTimeMs) FROM HealthCheck h WHERE h.checkedAt >= :since")
+    Double avgResponseTimeSince(@Param("since") LocalDateTime since);
+
     @Query("SELECT h.status, COUNT(h) FROM HealthCheck h WHERE h.checkedAt >= :since GROUP BY h.status")
     List<Object[]> countByStatusSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Fixed-step aggregation pushed down to the database: one row per
+     * (bucket, status) with count, avg and max latency and the number of
+     * checks that have a latency. Bucket n covers [from + n*step, from + (n+1)*step).
+     */
+    @Query("SELECT FLOOR(TIMESTAMPDIFF(SECOND, :from, h.checkedAt) / :stepSeconds) AS bucket, h.status, "
+            + "COUNT(h), AVG(h.responseTimeMs), MAX(h.responseTimeMs), COUNT(h.responseTimeMs) FROM HealthCheck h "
+            + "WHERE h.resource.id = :resourceId AND h.checkedAt >= :from AND h.checkedAt < :to "
+            + "GROUP BY bucket, h.status ORDER BY bucket")
+    List<Object[]> aggregateSeries(@Param("resourceId") Long resourceId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("stepSeconds") long stepSeconds);
+
+    @Query("SELECT DISTINCT h.resource.id FROM HealthCheck h WHERE h.checkedAt < :cutoff")
+    List<Long> findResourceIdsWithChecksBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT MIN(h.checkedAt) FROM HealthCheck h WHERE h.resource.id = :resourceId AND h.checkedAt < :cutoff")
+    LocalDateTime findOldestCheckedAtBefore(@Param("resourceId") Long resourceId,
+            @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT h FROM HealthCheck h WHERE h.resource.id = :resourceId "
+            + "AND h.checkedAt >= :from AND h.checkedAt < :to ORDER BY h.checkedAt, h.id")
+    List<HealthCheck> findByResourceIdBetween(@Param("resourceId") Long resourceId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT h FROM HealthCheck h WHERE h.id IN (SELECT MAX(n.id) FROM HealthCheck n "
+            + "WHERE n.resource.id IN :resourceIds GROUP BY n.resource.id)")
+    List<HealthCheck> findNewestByResourceIdIn(@Param("resourceIds") Collection<Long> resourceIds);
+
+    @Query("SELECT MAX(h.id) FROM HealthCheck h")
+    Long findMaxId();
+
+    /** Rows of (id, resourceId, checkedAt, responseTimeMs, statusCode, status) after an id, in id order. */
+    @Query("SELECT h.id, h.resource.id, h.checkedAt, h.responseTimeMs, h.statusCode, h.status FROM HealthCheck h "
+            + "WHERE h.id > :after ORDER BY h.id")
+    List<Object[]> findRecordsAfter(@Param("after") long after, Pageable pageable);
+
+    /** Rows of (id, checkedAt, responseTimeMs, statusCode, status) of a resource, newest id first. */
+    @Query("SELECT h.id, h.checkedAt, h.responseTimeMs, h.statusCode, h.status FROM HealthCheck h "
+            + "WHERE h.resource.id = :resourceId ORDER BY h.id DESC")
+    List<Object[]> findLatestRecords(@Param("resourceId") Long resourceId, Pageable pageable);
+
+    @Query(value = "SELECT id FROM health_checks WHERE resource_id = :resourceId LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsByResourceId(@Param("resourceId") Long resourceId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM health_checks WHERE resource_id = :resourceId", nativeQuery = true)
+    int deleteByResourceId(@Param("resourceId") Long resourceId);
 }
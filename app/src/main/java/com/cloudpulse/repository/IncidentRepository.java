@@ -3,13 +3,17 @@ package com.cloudpulse.repository;
 import com.cloudpulse.model.Incident;
 import com.cloudpulse.model.Incident.IncidentStatus;
 import com.cloudpulse.model.Incident.Severity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface IncidentRepository extends JpaRepository<Incident, Long> {
@@ -23,6 +27,17 @@ public interface IncidentRepository extends JpaRepository<Incident, Long> {
     @Query("SELECT i FROM Incident i WHERE i.status NOT IN ('RESOLVED', 'CLOSED') ORDER BY i.severity ASC, i.createdAt ASC")
     List<Incident> findActiveIncidents();
 
+    @Query("SELECT i FROM Incident i WHERE i.status = 'OPEN' AND i.escalatedAt IS NULL AND i.severity IN :severities")
+    List<Incident> findOpenUnescalated(@Param("severities") Collection<Severity> severities);
+
+    @Query("SELECT i.version FROM Incident i WHERE i.id = :id")
+    Optional<Long> findVersion(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Incident i SET i.escalatedAt = :now, i.updatedAt = :now, i.version = i.version + 1 "
+            + "WHERE i.id = :id AND i.status = 'OPEN' AND i.escalatedAt IS NULL")
+    int markEscalated(@Param("id") Long id, @Param("now") LocalDateTime now);
+
     @Query("SELECT i FROM Incident i WHERE i.severity = 'CRITICAL' AND i.status NOT IN ('RESOLVED', 'CLOSED')")
     List<Incident> findActiveCriticalIncidents();
 
@@ -32,6 +47,46 @@ public interface IncidentRepository extends JpaRepository<Incident, Long> {
     @Query("SELECT COUNT(i) FROM Incident i WHERE i.createdAt >= :since")
     long countIncidentsSince(@Param("since") LocalDateTime since);
 
-    @Query("SELECT AVG(TIMESTAMPDIFF(MINUTE, i.createdAt, i.resolvedAt)) FROM Incident i WHERE i.resolvedAt IS NOT NULL AND i.createdAt >= :since")
-    Double avgResolutionTimeMinutesSince(@Param("since") LocalDateTime since);
+    @Query("SELECT i FROM Incident i WHERE i.acknowledgedAt >= :since OR i.resolvedAt >= :since")
+    List<Incident> findTransitionedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT i FROM Incident i WHERE i.correlationKey IS NOT NULL AND i.status NOT IN ('RESOLVED', 'CLOSED')")
+    List<Incident> findActiveCorrelatedIncidents();
+
+    @Query("SELECT i.id FROM Incident i WHERE i.correlationKey = :correlationKey "
+            + "AND i.status NOT IN ('RESOLVED', 'CLOSED') ORDER BY i.id")
+    List<Long> findActiveIdsByCorrelationKey(@Param("correlationKey") String correlationKey);
+
+    @Query("SELECT i.id FROM Incident i WHERE i.alertRuleId = :ruleId AND i.resource.id = :resourceId "
+            + "AND i.status NOT IN ('RESOLVED', 'CLOSED')")
+    List<Long> findActiveIdsForAlertRule(@Param("ruleId") Long ruleId, @Param("resourceId") Long resourceId);
+
+    // ---- Conditional state transitions: the WHERE clause is the guard ----
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Incident i SET i.status = 'ACKNOWLEDGED', i.acknowledgedAt = :now, i.updatedAt = :now, "
+            + "i.version = i.version + 1 WHERE i.id IN :ids AND i.status = 'OPEN'")
+    int acknowledgeOpen(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Incident i SET i.status = 'RESOLVED', i.resolvedAt = :now, i.updatedAt = :now, "
+            + "i.rootCause = COALESCE(:rootCause, i.rootCause), i.resolution = COALESCE(:resolution, i.resolution), "
+            + "i.version = i.version + 1 "
+            + "WHERE i.id IN :ids AND i.status IN ('OPEN', 'ACKNOWLEDGED', 'INVESTIGATING')")
+    int resolveUnresolved(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+            @Param("rootCause") String rootCause, @Param("resolution") String resolution);
+
+    /**
+     * Re-reads the rows a transition UPDATE just moved: they carry its
+     * status and timestamp and stay locked by it until commit.
+     */
+    @Query("SELECT i FROM Incident i WHERE i.id IN :ids AND i.status = :status AND i.updatedAt = :now")
+    List<Incident> findTransitioned(@Param("ids") Collection<Long> ids, @Param("status") IncidentStatus status,
+            @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT id FROM incidents WHERE resource_id = :resourceId LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsByResourceId(@Param("resourceId") Long resourceId, @Param("limit") int limit);
+
+    @Query("SELECT i FROM Incident i WHERE i.id > :after ORDER BY i.id")
+    List<Incident> findPageAfter(@Param("after") Long after, Pageable pageable);
 }
@@ -0,0 +1,34 @@
+package com.cloudpulse.repository;
+
+import com.cloudpulse.model.IncidentResourceLink;
+import com.cloudpulse.model.Resource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface IncidentResourceLinkRepository extends JpaRepository<IncidentResourceLink, Long> {
+
+    @Query("SELECT l.resource FROM IncidentResourceLink l WHERE l.incident.id = :incidentId ORDER BY l.linkedAt")
+    List<Resource> findResourcesByIncidentId(@Param("incidentId") Long incidentId);
+
+    @Query("SELECT l.resource.id FROM IncidentResourceLink l WHERE l.incident.id = :incidentId")
+    List<Long> findResourceIdsByIncidentId(@Param("incidentId") Long incidentId);
+
+    @Modifying
+    @Query("DELETE FROM IncidentResourceLink l WHERE l.incident.id = :incidentId")
+    int deleteByIncidentId(@Param("incidentId") Long incidentId);
+
+    @Modifying
+    @Query("DELETE FROM IncidentResourceLink l WHERE l.incident.id IN :incidentIds")
+    int deleteByIncidentIdIn(@Param("incidentIds") Collection<Long> incidentIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM incident_resources WHERE resource_id = :resourceId", nativeQuery = true)
+    int deleteByResourceId(@Param("resourceId") Long resourceId);
+}
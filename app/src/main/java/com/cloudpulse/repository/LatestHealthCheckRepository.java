@@ -0,0 +1,59 @@
+package com.cloudpulse.repository;
+
+import com.cloudpulse.dto.FleetStatusEntry;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.LatestHealthCheck;
+import com.cloudpulse.model.Resource.ResourceType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LatestHealthCheckRepository extends JpaRepository<LatestHealthCheck, Long> {
+
+    /**
+     * Moves the row of the resource to the given check unless it already
+     * holds a newer one, so checks committing out of order never step it back.
+     */
+    @Modifying
+    @Query("UPDATE LatestHealthCheck l SET l.checkId = :checkId, l.status = :status, "
+            + "l.responseTimeMs = :responseTimeMs, l.statusCode = :statusCode, l.checkedAt = :checkedAt "
+            + "WHERE l.resourceId = :resourceId AND (l.checkId IS NULL OR l.checkId < :checkId)")
+    int advance(@Param("resourceId") Long resourceId, @Param("checkId") Long checkId,
+            @Param("status") HealthStatus status, @Param("responseTimeMs") Integer responseTimeMs,
+            @Param("statusCode") Integer statusCode, @Param("checkedAt") LocalDateTime checkedAt);
+
+    @Query("SELECT l.checkId FROM LatestHealthCheck l WHERE l.resourceId = :resourceId AND l.checkId IS NOT NULL")
+    Optional<Long> findCheckId(@Param("resourceId") Long resourceId);
+
+    @Modifying
+    @Query("INSERT INTO LatestHealthCheck (resourceId) SELECT r.id FROM Resource r "
+            + "WHERE r.deletionRequestedAt IS NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM LatestHealthCheck l WHERE l.resourceId = r.id)")
+    int insertMissing();
+
+    @Query("SELECT l.resourceId FROM LatestHealthCheck l WHERE l.checkId IS NULL AND l.resourceId > :after "
+            + "ORDER BY l.resourceId")
+    List<Long> findUncheckedIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT new com.cloudpulse.dto.FleetStatusEntry(r.id, r.name, r.resourceType, r.provider, r.region, "
+            + "r.environment, r.status, l.checkId, l.status, l.responseTimeMs, l.statusCode, l.checkedAt) "
+            + "FROM Resource r LEFT JOIN LatestHealthCheck l ON l.resourceId = r.id "
+            + "WHERE (:type IS NULL OR r.resourceType = :type) "
+            + "AND (:region IS NULL OR r.region = :region) "
+            + "AND (:environment IS NULL OR r.environment = :environment) "
+            + "AND r.deletionRequestedAt IS NULL ORDER BY r.id")
+    List<FleetStatusEntry> findFleetStatus(@Param("type") ResourceType type, @Param("region") String region,
+            @Param("environment") String environment);
+
+    @Modifying
+    @Query("DELETE FROM LatestHealthCheck l WHERE l.resourceId = :resourceId")
+    int deleteByResourceId(@Param("resourceId") Long resourceId);
+}
@@ -0,0 +1,68 @@
+package com.cloudpulse.repository;
+
+import com.cloudpulse.model.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Endpoints with due, unclaimed rows, other than the {@code blocked} ones.
+     */
+    @Query("SELECT DISTINCT m.endpoint FROM OutboxMessage m WHERE m.failedAt IS NULL AND m.nextAttemptAt <= :now "
+            + "AND (m.claimedUntil IS NULL OR m.claimedUntil < :now) AND m.endpoint NOT IN :blocked")
+    List<String> findDueEndpoints(@Param("now") LocalDateTime now, @Param("blocked") Collection<String> blocked);
+
+    @Query("SELECT m FROM OutboxMessage m WHERE m.endpoint = :endpoint AND m.failedAt IS NULL "
+            + "AND m.nextAttemptAt <= :now AND (m.claimedUntil IS NULL OR m.claimedUntil < :now) ORDER BY m.id")
+    List<OutboxMessage> findDue(@Param("endpoint") String endpoint, @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    /**
+     * When the next row becomes sendable: its next attempt, or the end of
+     * its claim if that is later.
+     */
+    @Query("SELECT MIN(CASE WHEN m.claimedUntil > m.nextAttemptAt THEN m.claimedUntil ELSE m.nextAttemptAt END) "
+            + "FROM OutboxMessage m WHERE m.failedAt IS NULL")
+    LocalDateTime findNextAttemptAt();
+
+    /**
+     * Claims the rows among {@code ids} that are still due and unclaimed;
+     * rows another instance claimed first are left to it.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.claimedBy = :owner, m.claimedUntil = :until "
+            + "WHERE m.id IN :ids AND m.failedAt IS NULL AND m.nextAttemptAt <= :now "
+            + "AND (m.claimedUntil IS NULL OR m.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+            @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Query("SELECT m FROM OutboxMessage m WHERE m.id IN :ids AND m.claimedBy = :owner AND m.claimedUntil = :until "
+            + "ORDER BY m.id")
+    List<OutboxMessage> findClaimed(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+            @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.attempts = m.attempts + 1, m.nextAttemptAt = :next, m.lastError = :error, "
+            + "m.claimedBy = NULL, m.claimedUntil = NULL WHERE m.id IN :ids")
+    int recordFailure(@Param("ids") Collection<Long> ids, @Param("next") LocalDateTime next,
+            @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.failedAt = :now WHERE m.id IN :ids AND m.attempts >= :maxAttempts")
+    int giveUp(@Param("ids") Collection<Long> ids, @Param("maxAttempts") int maxAttempts,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.failedAt < :cutoff")
+    int deleteFailedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
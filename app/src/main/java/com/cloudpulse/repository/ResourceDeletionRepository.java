@@ -0,0 +1,57 @@
+package com.cloudpulse.repository;
+
+import com.cloudpulse.model.ResourceDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A purge may be run by the instance holding its claim, or by anyone once
+ * the claim has lapsed; claims are taken with a conditional UPDATE.
+ */
+@Repository
+public interface ResourceDeletionRepository extends JpaRepository<ResourceDeletion, Long> {
+
+    @Query("SELECT d.resourceId FROM ResourceDeletion d WHERE d.completedAt IS NULL "
+            + "AND (d.claimedBy = :owner OR d.claimedUntil IS NULL OR d.claimedUntil < :now) "
+            + "ORDER BY d.requestedAt, d.resourceId")
+    List<Long> findClaimable(@Param("owner") String owner, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ResourceDeletion d SET d.claimedBy = :owner, d.claimedUntil = :until "
+            + "WHERE d.resourceId = :id AND d.completedAt IS NULL "
+            + "AND (d.claimedBy = :owner OR d.claimedUntil IS NULL OR d.claimedUntil < :now)")
+    int claim(@Param("id") Long resourceId, @Param("owner") String owner,
+            @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE ResourceDeletion d SET d.phase = :phase, d.incidentsDeleted = d.incidentsDeleted + :incidents, "
+            + "d.healthChecksDeleted = d.healthChecksDeleted + :checks WHERE d.resourceId = :id")
+    int addProgress(@Param("id") Long resourceId, @Param("phase") String phase,
+            @Param("incidents") long incidents, @Param("checks") long checks);
+
+    @Modifying
+    @Query("UPDATE ResourceDeletion d SET d.phase = 'COMPLETED', d.completedAt = :now, d.lastError = NULL, "
+            + "d.healthChecksDeleted = d.healthChecksDeleted + :checks, d.claimedBy = NULL, d.claimedUntil = NULL "
+            + "WHERE d.resourceId = :id")
+    int complete(@Param("id") Long resourceId, @Param("checks") long checks, @Param("now") LocalDateTime now);
+
+    /**
+     * Records the failure and gives the purge up until {@code retryAt}, so
+     * the other pending purges go first.
+     */
+    @Modifying
+    @Query("UPDATE ResourceDeletion d SET d.lastError = :error, d.claimedBy = NULL, d.claimedUntil = :retryAt "
+            + "WHERE d.resourceId = :id")
+    int fail(@Param("id") Long resourceId, @Param("error") String error, @Param("retryAt") LocalDateTime retryAt);
+
+    @Modifying
+    @Query("DELETE FROM ResourceDeletion d WHERE d.completedAt < :cutoff")
+    int deleteCompletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -4,40 +4,107 @@ import com.cloudpulse.model.Resource;
 import com.cloudpulse.model.Resource.ResourceStatus;
 import com.cloudpulse.model.Resource.ResourceType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Every lookup skips resources pending deletion (deletionRequestedAt set).
+ * They are still reachable through associations and getReferenceById, so
+ * their incidents and checks stay readable until the purge removes them.
+ */
 @Repository
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
 
-    Optional<Resource> findByResourceId(String resourceId);
+    @Override
+    @Query("SELECT r FROM Resource r WHERE r.deletionRequestedAt IS NULL")
+    List<Resource> findAll();
 
-    List<Resource> findByResourceType(ResourceType resourceType);
+    @Override
+    @Query("SELECT r FROM Resource r WHERE r.id = :id AND r.deletionRequestedAt IS NULL")
+    Optional<Resource> findById(@Param("id") Long id);
 
-    List<Resource> findByStatus(ResourceStatus status);
+    @Override
+    @Query("SELECT r FROM Resource r WHERE r.id IN :ids AND r.deletionRequestedAt IS NULL")
+    List<Resource> findAllById(@Param("ids") Iterable<Long> ids);
 
-    List<Resource> findByRegion(String region);
+    @Override
+    @Query("SELECT COUNT(r) FROM Resource r WHERE r.deletionRequestedAt IS NULL")
+    long count();
 
-    List<Resource> findByProvider(String provider);
+    @Query("SELECT r FROM Resource r WHERE r.resourceId = :resourceId AND r.deletionRequestedAt IS NULL")
+    Optional<Resource> findByResourceId(@Param("resourceId") String resourceId);
 
-    List<Resource> findByEnvironment(String environment);
+    @Query("SELECT r FROM Resource r WHERE r.resourceType = :resourceType AND r.deletionRequestedAt IS NULL")
+    List<Resource> findByResourceType(@Param("resourceType") ResourceType resourceType);
 
-    @Query("SELECT r FROM Resource r WHERE r.status IN :statuses")
+    @Query("SELECT r FROM Resource r WHERE r.status = :status AND r.deletionRequestedAt IS NULL")
+    List<Resource> findByStatus(@Param("status") ResourceStatus status);
+
+    @Query("SELECT r FROM Resource r WHERE r.region = :region AND r.deletionRequestedAt IS NULL")
+    List<Resource> findByRegion(@Param("region") String region);
+
+    @Query("SELECT r FROM Resource r WHERE r.provider = :provider AND r.deletionRequestedAt IS NULL")
+    List<Resource> findByProvider(@Param("provider") String provider);
+
+    @Query("SELECT r FROM Resource r WHERE r.environment = :environment AND r.deletionRequestedAt IS NULL")
+    List<Resource> findByEnvironment(@Param("environment") String environment);
+
+    @Query("SELECT r FROM Resource r WHERE r.status IN :statuses AND r.deletionRequestedAt IS NULL")
     List<Resource> findByStatusIn(@Param("statuses") List<ResourceStatus> statuses);
 
-    @Query("SELECT r.status, COUNT(r) FROM Resource r GROUP BY r.status")
+    @Query("SELECT r FROM Resource r WHERE r.id IN :ids AND r.deletionRequestedAt IS NULL")
+    List<Resource> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Resources matching every non-null criterion.
+     */
+    @Query("SELECT r FROM Resource r WHERE (:type IS NULL OR r.resourceType = :type) "
+            + "AND (:region IS NULL OR r.region = :region) "
+            + "AND (:environment IS NULL OR r.environment = :environment) "
+            + "AND r.deletionRequestedAt IS NULL ORDER BY r.id")
+    List<Resource> findMatching(@Param("type") ResourceType type, @Param("region") String region,
+            @Param("environment") String environment);
+
+    @Query("SELECT r.status, COUNT(r) FROM Resource r WHERE r.deletionRequestedAt IS NULL GROUP BY r.status")
     List<Object[]> countByStatus();
 
-    @Query("SELECT r.resourceType, COUNT(r) FROM Resource r GROUP BY r.resourceType")
+    @Query("SELECT r.resourceType, COUNT(r) FROM Resource r WHERE r.deletionRequestedAt IS NULL "
+            + "GROUP BY r.resourceType")
     List<Object[]> countByResourceType();
 
-    @Query("SELECT r.region, COUNT(r) FROM Resource r GROUP BY r.region")
+    @Query("SELECT r.region, COUNT(r) FROM Resource r WHERE r.deletionRequestedAt IS NULL GROUP BY r.region")
     List<Object[]> countByRegion();
 
-    @Query("SELECT COUNT(r) FROM Resource r WHERE r.status = 'UNHEALTHY' OR r.status = 'DEGRADED'")
+    @Query("SELECT COUNT(r) FROM Resource r WHERE (r.status = 'UNHEALTHY' OR r.status = 'DEGRADED') "
+            + "AND r.deletionRequestedAt IS NULL")
     long countUnhealthyResources();
+
+    // ---- Deletion pipeline ----
+
+    /**
+     * Last write to the row, pending deletion or not; markForDeletion
+     * stamps it as well.
+     */
+    @Query("SELECT r.updatedAt FROM Resource r WHERE r.id = :id")
+    Optional<LocalDateTime> findUpdatedAt(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE resources SET status = 'TERMINATED', deletion_requested_at = :now, updated_at = :now "
+            + "WHERE id = :id AND deletion_requested_at IS NULL", nativeQuery = true)
+    int markForDeletion(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT id FROM resources WHERE deletion_requested_at IS NOT NULL "
+            + "ORDER BY deletion_requested_at", nativeQuery = true)
+    List<Long> findIdsPendingDeletion();
+
+    @Modifying
+    @Query(value = "DELETE FROM resources WHERE id = :id AND deletion_requested_at IS NOT NULL", nativeQuery = true)
+    int deletePendingDeletion(@Param("id") Long id);
 }
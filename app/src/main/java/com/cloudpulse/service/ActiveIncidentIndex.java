@@ -0,0 +1,184 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of active (unresolved) incidents.
+ *
+ * Incidents are bucketed by severity, each bucket ordered by creation time,
+ * and grouped by resource id. Counts are O(1), bucket and resource lookups
+ * are O(log n), and none of them touch the incidents table. The index is
+ * loaded once on startup and kept current by {@link IncidentService} for
+ * local writes and by {@link ChangeFeedFollower} for other instances'.
+ * It may briefly trail the database, so callers re-check what they load.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveIncidentIndex {
+
+    private static final Comparator<Entry> BUCKET_ORDER = Comparator
+            .comparing(Entry::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Entry::id);
+    private static final Comparator<Entry> ACTIVE_ORDER = Comparator
+            .comparing(Entry::severity).thenComparing(BUCKET_ORDER);
+
+    private final IncidentRepository incidentRepository;
+
+    private final Map<Severity, ConcurrentSkipListSet<Entry>> buckets = new EnumMap<>(Severity.class);
+    private final Map<Severity, AtomicLong> bucketSizes = new EnumMap<>(Severity.class);
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byResource = new ConcurrentHashMap<>();
+
+    {
+        for (Severity severity : Severity.values()) {
+            buckets.put(severity, new ConcurrentSkipListSet<>(BUCKET_ORDER));
+            bucketSizes.put(severity, new AtomicLong());
+        }
+    }
+
+    /**
+     * Snapshot of the fields the index needs — never holds on to the entity.
+     */
+    public record Entry(Long id, Severity severity, IncidentStatus status,
+            LocalDateTime createdAt, Long resourceId) {
+
+        public static Entry from(Incident incident) {
+            Long resourceId = incident.getResource() != null ? incident.getResource().getId() : null;
+            return new Entry(incident.getId(), incident.getSeverity(), incident.getStatus(),
+                    incident.getCreatedAt(), resourceId);
+        }
+
+        public boolean isActive() {
+            return status != IncidentStatus.RESOLVED && status != IncidentStatus.CLOSED;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        clear();
+        List<Incident> active = incidentRepository.findActiveIncidents();
+        active.forEach(incident -> update(Entry.from(incident)));
+        log.info("Active incident index loaded with {} incidents", active.size());
+    }
+
+    /**
+     * Inserts, moves or drops the incident depending on its current state.
+     */
+    public synchronized void update(Entry entry) {
+        removeInternal(entry.id());
+        if (!entry.isActive()) {
+            return;
+        }
+        byId.put(entry.id(), entry);
+        buckets.get(entry.severity()).add(entry);
+        bucketSizes.get(entry.severity()).incrementAndGet();
+        if (entry.resourceId() != null) {
+            byResource.computeIfAbsent(entry.resourceId(), k -> ConcurrentHashMap.newKeySet()).add(entry.id());
+        }
+    }
+
+    public synchronized void remove(Long incidentId) {
+        removeInternal(incidentId);
+    }
+
+    public Optional<Entry> get(Long incidentId) {
+        return Optional.ofNullable(byId.get(incidentId));
+    }
+
+    public long activeCount() {
+        return byId.size();
+    }
+
+    public long count(Severity severity) {
+        return bucketSizes.get(severity).get();
+    }
+
+    /**
+     * Active counts per severity, most severe first; empty buckets omitted.
+     */
+    public Map<Severity, Long> countsBySeverity() {
+        Map<Severity, Long> counts = new LinkedHashMap<>();
+        for (Severity severity : Severity.values()) {
+            long count = count(severity);
+            if (count > 0) {
+                counts.put(severity, count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Active incident ids ordered by severity, then creation time.
+     */
+    public List<Long> activeIds() {
+        List<Long> ids = new ArrayList<>(byId.size());
+        for (Severity severity : Severity.values()) {
+            buckets.get(severity).forEach(entry -> ids.add(entry.id()));
+        }
+        return ids;
+    }
+
+    /**
+     * Active incident ids of one severity, ordered by creation time.
+     */
+    public List<Long> activeIds(Severity severity) {
+        return buckets.get(severity).stream().map(Entry::id).toList();
+    }
+
+    /**
+     * Active incident ids of one resource, ordered like {@link #activeIds()}.
+     */
+    public List<Long> activeIdsForResource(Long resourceId) {
+        Set<Long> ids = byResource.get(resourceId);
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull)
+                .sorted(ACTIVE_ORDER).map(Entry::id).toList();
+    }
+
+    private void removeInternal(Long incidentId) {
+        Entry existing = byId.remove(incidentId);
+        if (existing == null) {
+            return;
+        }
+        buckets.get(existing.severity()).remove(existing);
+        bucketSizes.get(existing.severity()).decrementAndGet();
+        if (existing.resourceId() != null) {
+            byResource.computeIfPresent(existing.resourceId(), (k, ids) -> {
+                ids.remove(incidentId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private synchronized void clear() {
+        byId.clear();
+        byResource.clear();
+        buckets.values().forEach(Set::clear);
+        bucketSizes.values().forEach(size -> size.set(0));
+    }
+}
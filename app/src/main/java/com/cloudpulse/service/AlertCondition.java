@@ -0,0 +1,206 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Compiles an alert condition into a predicate tree evaluated against each
+ * health check without re-parsing.
+ *
+ * Grammar: comparisons of {@code responseTimeMs}, {@code statusCode} (numbers)
+ * or {@code status} (a {@link HealthStatus}) with {@code > >= < <= == !=},
+ * combined with {@code AND}, {@code OR}, {@code NOT} and parentheses, e.g.
+ * {@code responseTimeMs > 800 OR (status != UP AND NOT statusCode == 503)}.
+ * A comparison on a field the check lacks (no latency, no status code) is
+ * false.
+ */
+final class AlertCondition {
+
+    interface Node {
+        boolean test(HealthCheck check);
+    }
+
+    record And(Node left, Node right) implements Node {
+        public boolean test(HealthCheck check) {
+            return left.test(check) && right.test(check);
+        }
+    }
+
+    record Or(Node left, Node right) implements Node {
+        public boolean test(HealthCheck check) {
+            return left.test(check) || right.test(check);
+        }
+    }
+
+    record Not(Node operand) implements Node {
+        public boolean test(HealthCheck check) {
+            return !operand.test(check);
+        }
+    }
+
+    record NumberComparison(Function<HealthCheck, Integer> field, String op, int operand) implements Node {
+        public boolean test(HealthCheck check) {
+            Integer v = field.apply(check);
+            if (v == null) {
+                return false;
+            }
+            return switch (op) {
+                case ">" -> v > operand;
+                case ">=" -> v >= operand;
+                case "<" -> v < operand;
+                case "<=" -> v <= operand;
+                case "==" -> v == operand;
+                default -> v != operand;
+            };
+        }
+    }
+
+    record StatusComparison(boolean equal, HealthStatus operand) implements Node {
+        public boolean test(HealthCheck check) {
+            return (check.getStatus() == operand) == equal;
+        }
+    }
+
+    private final List<String> tokens;
+    private int position;
+
+    private AlertCondition(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses the condition; a syntax error is an {@link IllegalArgumentException}.
+     */
+    static Node compile(String condition) {
+        AlertCondition parser = new AlertCondition(tokenize(condition));
+        Node node = parser.or();
+        if (parser.position < parser.tokens.size()) {
+            throw parser.error("unexpected '" + parser.tokens.get(parser.position) + "'");
+        }
+        return node;
+    }
+
+    private Node or() {
+        Node node = and();
+        while (accept("OR")) {
+            node = new Or(node, and());
+        }
+        return node;
+    }
+
+    private Node and() {
+        Node node = unary();
+        while (accept("AND")) {
+            node = new And(node, unary());
+        }
+        return node;
+    }
+
+    private Node unary() {
+        if (accept("NOT")) {
+            return new Not(unary());
+        }
+        if (accept("(")) {
+            Node node = or();
+            if (!accept(")")) {
+                throw error("missing ')'");
+            }
+            return node;
+        }
+        return comparison();
+    }
+
+    private Node comparison() {
+        String field = next("a field");
+        String op = next("an operator");
+        if (op.equals("=")) {
+            op = "==";
+        }
+        if (!List.of(">", ">=", "<", "<=", "==", "!=").contains(op)) {
+            throw error("unknown operator '" + op + "'");
+        }
+        String value = next("a value");
+        switch (field) {
+            case "responseTimeMs" -> {
+                return new NumberComparison(HealthCheck::getResponseTimeMs, op, number(value));
+            }
+            case "statusCode" -> {
+                return new NumberComparison(HealthCheck::getStatusCode, op, number(value));
+            }
+            case "status" -> {
+                if (!op.equals("==") && !op.equals("!=")) {
+                    throw error("'status' only supports == and !=");
+                }
+                try {
+                    return new StatusComparison(op.equals("=="), HealthStatus.valueOf(value.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw error("unknown status '" + value + "'");
+                }
+            }
+            default -> throw error("unknown field '" + field + "'");
+        }
+    }
+
+    private int number(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw error("'" + value + "' is not a number");
+        }
+    }
+
+    private boolean accept(String token) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private String next(String expected) {
+        if (position >= tokens.size()) {
+            throw error("expected " + expected);
+        }
+        return tokens.get(position++);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid alert condition: " + message);
+    }
+
+    private static List<String> tokenize(String condition) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < condition.length()) {
+            char c = condition.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if ("<>=!".indexOf(c) >= 0) {
+                int end = i + 1 < condition.length() && condition.charAt(i + 1) == '=' ? i + 2 : i + 1;
+                tokens.add(condition.substring(i, end));
+                i = end;
+            } else if (Character.isLetterOrDigit(c) || c == '-') {
+                int end = i + 1;
+                while (end < condition.length() && Character.isLetterOrDigit(condition.charAt(end))) {
+                    end++;
+                }
+                tokens.add(condition.substring(i, end));
+                i = end;
+            } else {
+                throw new IllegalArgumentException("Invalid alert condition: unexpected '" + c + "'");
+            }
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Invalid alert condition: empty");
+        }
+        return tokens;
+    }
+}
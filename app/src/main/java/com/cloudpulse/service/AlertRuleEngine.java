@@ -0,0 +1,289 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.FiringAlert;
+import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.model.AlertRule;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.AlertRuleRepository;
+import com.cloudpulse.repository.IncidentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates the enabled alert rules against every recorded health check.
+ *
+ * Rules are compiled once into {@link AlertCondition} predicate trees and
+ * indexed by resource id and by (resource type, environment), so a check is
+ * only tested against the rules that can apply to its resource. Each rule
+ * keeps a sliding window per resource as a bit history in one {@code long};
+ * when the condition has held for {@code matchCount} of the last
+ * {@code windowSize} checks the rule fires and opens an incident, once,
+ * until it clears again.
+ *
+ * Windows move only once the check's transaction commits, so a rolled-back
+ * check never counts. The incident of a rule that starts firing is opened in
+ * its own transaction under a lock on the rule's row, and reuses the rule's
+ * still-open incident on the resource if there is one, so instances whose
+ * windows fire for the same resource open it once between them.
+ *
+ * A reload compiles the new rule set aside and swaps it in, so evaluation
+ * never waits for it. Rules whose definition did not change keep their
+ * windows. Rule changes reload the instance that made them at once; every
+ * instance also compares a fingerprint of the rules table every
+ * {@code cloudpulse.alerts.refresh-ms} and reloads when it moved. Window
+ * state is in memory and per instance.
+ */
+@Service
+@Slf4j
+public class AlertRuleEngine {
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final IncidentService incidentService;
+    private final IncidentRepository incidentRepository;
+    private final TransactionTemplate newTransaction;
+
+    private volatile RuleSet rules = new RuleSet(Map.of(), Map.of(), Map.of());
+    private List<Object> fingerprint;
+
+    public AlertRuleEngine(AlertRuleRepository alertRuleRepository, IncidentService incidentService,
+            IncidentRepository incidentRepository, PlatformTransactionManager transactionManager) {
+        this.alertRuleRepository = alertRuleRepository;
+        this.incidentService = incidentService;
+        this.incidentRepository = incidentRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reloads when the rules changed on another instance.
+     */
+    @Scheduled(fixedDelayString = "${cloudpulse.alerts.refresh-ms:30000}",
+            initialDelayString = "${cloudpulse.alerts.refresh-ms:30000}")
+    public synchronized void refresh() {
+        if (!fingerprint().equals(fingerprint)) {
+            reload();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        fingerprint = fingerprint(); // taken first: a change made during the load is seen next time
+        Map<Long, CompiledRule> previous = rules.byId();
+        Map<Long, CompiledRule> byId = new HashMap<>();
+        Map<Long, List<CompiledRule>> byResource = new HashMap<>();
+        Map<Scope, List<CompiledRule>> byScope = new HashMap<>();
+        for (AlertRule rule : alertRuleRepository.findByEnabledTrue()) {
+            CompiledRule compiled = previous.get(rule.getId());
+            if (compiled == null || !compiled.version.equals(rule.getVersion())) {
+                try {
+                    compiled = new CompiledRule(rule);
+                } catch (IllegalArgumentException e) {
+                    log.error("Skipping alert rule {} ({}): {}", rule.getId(), rule.getName(), e.getMessage());
+                    continue;
+                }
+            }
+            byId.put(rule.getId(), compiled);
+            if (rule.getResourceId() != null) {
+                byResource.computeIfAbsent(rule.getResourceId(), k -> new ArrayList<>()).add(compiled);
+            } else {
+                byScope.computeIfAbsent(new Scope(rule.getResourceType(), rule.getEnvironment()),
+                        k -> new ArrayList<>()).add(compiled);
+            }
+        }
+        rules = new RuleSet(byId, byResource, byScope);
+        log.info("Alert rules loaded: {} enabled", byId.size());
+    }
+
+    /**
+     * Tests the check against every applicable rule and, once the check's
+     * transaction commits, feeds the outcomes into the windows; opens an
+     * incident for each rule that starts firing.
+     */
+    public void evaluate(Resource resource, HealthCheck check) {
+        RuleSet current = rules;
+        if (current.byId().isEmpty()) {
+            return;
+        }
+        List<CompiledRule> candidates = current.candidates(resource);
+        boolean[] matched = new boolean[candidates.size()];
+        for (int i = 0; i < matched.length; i++) {
+            matched[i] = candidates.get(i).condition.test(check);
+        }
+        Long resourceId = resource.getId();
+        String resourceName = resource.getName();
+        AfterCommit.run(() -> {
+            for (int i = 0; i < matched.length; i++) {
+                record(candidates.get(i), resourceId, resourceName, matched[i]);
+            }
+        });
+    }
+
+    private void record(CompiledRule rule, Long resourceId, String resourceName, boolean matched) {
+        Window window = rule.windows.computeIfAbsent(resourceId, k -> new Window());
+        if (!window.record(matched, rule.windowSize, rule.matchCount)) {
+            return;
+        }
+        try {
+            Long incidentId = newTransaction.execute(status -> openIncident(rule, resourceId, resourceName));
+            synchronized (window) {
+                window.incidentId = incidentId;
+            }
+            log.warn("Alert rule '{}' firing on resource {}", rule.name, resourceName);
+        } catch (RuntimeException e) {
+            synchronized (window) {
+                window.firing = false; // fire again on the next matching check
+            }
+            log.error("Alert rule '{}': opening the incident for resource {} failed: {}",
+                    rule.name, resourceName, e.getMessage());
+        }
+    }
+
+    /**
+     * The rule's open incident on the resource, opened now if there is none.
+     * The rule's row lock makes instances firing at once take turns.
+     */
+    private Long openIncident(CompiledRule rule, Long resourceId, String resourceName) {
+        if (alertRuleRepository.lockById(rule.id).isEmpty()) {
+            return null; // deleted meanwhile; the next reload drops it
+        }
+        List<Long> open = incidentRepository.findActiveIdsForAlertRule(rule.id, resourceId);
+        if (!open.isEmpty()) {
+            return open.get(0);
+        }
+        return incidentService.createAlertIncident(rule.id, IncidentRequest.builder()
+                .title("Alert '" + rule.name + "' firing on " + resourceName)
+                .description(rule.description)
+                .severity(rule.severity)
+                .resourceId(resourceId)
+                .build()).getId();
+    }
+
+    public List<FiringAlert> getFiring() {
+        List<FiringAlert> firing = new ArrayList<>();
+        for (CompiledRule rule : rules.byId().values()) {
+            rule.windows.forEach((resourceId, window) -> {
+                synchronized (window) {
+                    if (window.firing) {
+                        firing.add(FiringAlert.builder()
+                                .ruleId(rule.id)
+                                .ruleName(rule.name)
+                                .severity(rule.severity)
+                                .resourceId(resourceId)
+                                .matched(Long.bitCount(window.bits))
+                                .windowSize(rule.windowSize)
+                                .since(window.since)
+                                .incidentId(window.incidentId)
+                                .build());
+                    }
+                }
+            });
+        }
+        firing.sort(Comparator.comparing(FiringAlert::getSince));
+        return firing;
+    }
+
+    /**
+     * Drops the windows of a deleted resource.
+     */
+    public void remove(Long resourceId) {
+        rules.byId().values().forEach(rule -> rule.windows.remove(resourceId));
+    }
+
+    private List<Object> fingerprint() {
+        return Arrays.asList(alertRuleRepository.findFingerprint().get(0));
+    }
+
+    private record Scope(ResourceType type, String environment) {
+    }
+
+    private record RuleSet(Map<Long, CompiledRule> byId, Map<Long, List<CompiledRule>> byResource,
+            Map<Scope, List<CompiledRule>> byScope) {
+
+        List<CompiledRule> candidates(Resource resource) {
+            List<CompiledRule> candidates = new ArrayList<>(byResource.getOrDefault(resource.getId(), List.of()));
+            ResourceType type = resource.getResourceType();
+            String environment = resource.getEnvironment();
+            candidates.addAll(byScope.getOrDefault(new Scope(null, null), List.of()));
+            if (type != null) {
+                candidates.addAll(byScope.getOrDefault(new Scope(type, null), List.of()));
+            }
+            if (environment != null) {
+                candidates.addAll(byScope.getOrDefault(new Scope(null, environment), List.of()));
+                if (type != null) {
+                    candidates.addAll(byScope.getOrDefault(new Scope(type, environment), List.of()));
+                }
+            }
+            return candidates;
+        }
+    }
+
+    private static final class CompiledRule {
+
+        private final Long id;
+        private final Long version;
+        private final String name;
+        private final String description;
+        private final Incident.Severity severity;
+        private final AlertCondition.Node condition;
+        private final int matchCount;
+        private final int windowSize;
+        private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+
+        CompiledRule(AlertRule rule) {
+            this.id = rule.getId();
+            this.version = rule.getVersion();
+            this.name = rule.getName();
+            this.description = String.format("%s held for %d of the last %d checks",
+                    rule.getCondition(), rule.getMatchCount(), rule.getWindowSize());
+            this.severity = rule.getSeverity();
+            this.condition = AlertCondition.compile(rule.getCondition());
+            this.matchCount = rule.getMatchCount();
+            this.windowSize = rule.getWindowSize();
+        }
+    }
+
+    /**
+     * Outcomes of the last checks of one resource, newest in the lowest bit.
+     */
+    private static final class Window {
+
+        private long bits;
+        private boolean firing;
+        private LocalDateTime since;
+        private Long incidentId;
+
+        /**
+         * Returns true when this check makes the rule start firing.
+         */
+        synchronized boolean record(boolean matched, int windowSize, int matchCount) {
+            long mask = windowSize == Long.SIZE ? -1L : (1L << windowSize) - 1;
+            bits = ((bits << 1) | (matched ? 1 : 0)) & mask;
+            boolean holds = Long.bitCount(bits) >= matchCount;
+            if (holds == firing) {
+                return false;
+            }
+            firing = holds;
+            since = holds ? LocalDateTime.now() : null;
+            incidentId = null;
+            return holds;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.AlertRuleRequest;
+import com.cloudpulse.exception.ResourceNotFoundException;
+import com.cloudpulse.model.AlertRule;
+import com.cloudpulse.repository.AlertRuleRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * CRUD for alert rules. Conditions are compiled on write, so a rule that
+ * does not parse is rejected; every committed change reloads the
+ * {@link AlertRuleEngine}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlertRuleService {
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final ResourceRepository resourceRepository;
+    private final AlertRuleEngine alertRuleEngine;
+
+    public List<AlertRule> getAllRules() {
+        return alertRuleRepository.findAll();
+    }
+
+    public AlertRule getRuleById(Long id) {
+        return alertRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Alert rule", id));
+    }
+
+    @Transactional
+    public AlertRule createRule(AlertRuleRequest request) {
+        AlertRule rule = new AlertRule();
+        apply(rule, request);
+        AlertRule saved = alertRuleRepository.save(rule);
+        AfterCommit.run(alertRuleEngine::reload);
+        log.info("Created alert rule: {} ({})", saved.getName(), saved.getCondition());
+        return saved;
+    }
+
+    @Transactional
+    public AlertRule updateRule(Long id, AlertRuleRequest request) {
+        AlertRule rule = getRuleById(id);
+        apply(rule, request);
+        AlertRule saved = alertRuleRepository.saveAndFlush(rule); // bumps the version the engine compares
+        AfterCommit.run(alertRuleEngine::reload);
+        log.info("Updated alert rule: {} ({})", saved.getName(), saved.getCondition());
+        return saved;
+    }
+
+    @Transactional
+    public void deleteRule(Long id) {
+        AlertRule rule = getRuleById(id);
+        alertRuleRepository.delete(rule);
+        AfterCommit.run(alertRuleEngine::reload);
+        log.info("Deleted alert rule: {}", rule.getName());
+    }
+
+    private void apply(AlertRule rule, AlertRuleRequest request) {
+        AlertCondition.compile(request.getCondition());
+        if (request.getMatchCount() > request.getWindowSize()) {
+            throw new IllegalArgumentException("'matchCount' must not exceed 'windowSize'");
+        }
+        if (request.getResourceId() != null && resourceRepository.findById(request.getResourceId()).isEmpty()) {
+            throw new ResourceNotFoundException("Resource", request.getResourceId());
+        }
+        rule.setName(request.getName());
+        rule.setCondition(request.getCondition());
+        rule.setResourceType(request.getResourceType());
+        rule.setEnvironment(request.getEnvironment());
+        rule.setResourceId(request.getResourceId());
+        rule.setMatchCount(request.getMatchCount());
+        rule.setWindowSize(request.getWindowSize());
+        rule.setSeverity(request.getSeverity());
+        rule.setEnabled(request.getEnabled() == null || request.getEnabled());
+    }
+}
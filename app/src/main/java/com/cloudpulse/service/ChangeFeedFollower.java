@@ -0,0 +1,128 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ChangeFeedPage;
+import com.cloudpulse.model.ChangeLogEntry;
+import com.cloudpulse.model.ChangeLogEntry.ChangeType;
+import com.cloudpulse.model.ChangeLogEntry.EntityType;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.repository.ChangeLogRepository;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps this instance's in-memory indexes in step with writes made by
+ * every instance.
+ *
+ * Each index is loaded from the database at startup and updated directly
+ * after local commits; changes committed by other pods reach it only
+ * through the change log. The same goes for escalation timers and the
+ * incident analytics. This follower tails the log (through
+ * {@link ChangeLogService}, so it never steps past an entry that is still
+ * committing) and reloads the changed rows by id. A row that is gone is
+ * dropped from the indexes; a resource's DELETED entry drops it without
+ * the reload. The cursor is taken before the indexes are
+ * built, so a change made while they load is applied again rather than
+ * missed; applying the current row twice is harmless.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedFollower {
+
+    private final ChangeLogService changeLogService;
+    private final ChangeLogRepository changeLogRepository;
+    private final IncidentRepository incidentRepository;
+    private final ActiveIncidentIndex activeIncidentIndex;
+    private final IncidentSearchIndex incidentSearchIndex;
+    private final EscalationScheduler escalationScheduler;
+    private final IncidentAnalyticsService incidentAnalyticsService;
+    private final ResourceRepository resourceRepository;
+    private final ResourceTypeaheadIndex resourceTypeaheadIndex;
+    private final HealthCheckHotStore healthCheckHotStore;
+
+    private long cursor;
+
+    @PostConstruct
+    void startFromHead() {
+        Long head = changeLogRepository.findMaxSeq();
+        cursor = head != null ? head : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${cloudpulse.changes.follow-interval-ms:2000}")
+    public synchronized void follow() {
+        try {
+            ChangeFeedPage page;
+            do {
+                page = changeLogService.getChanges(cursor, ChangeLogService.MAX_LIMIT, null).join();
+                apply(page.getChanges());
+                cursor = page.getNextCursor();
+            } while (page.getChanges().size() == ChangeLogService.MAX_LIMIT);
+        } catch (RuntimeException e) {
+            log.warn("Change feed: applying changes after {} failed: {}", cursor, e.getMessage());
+        }
+    }
+
+    private void apply(List<ChangeLogEntry> changes) {
+        Set<Long> incidentIds = new HashSet<>();
+        Set<Long> resourceIds = new HashSet<>();
+        Set<Long> deletedResourceIds = new HashSet<>();
+        for (ChangeLogEntry change : changes) {
+            if (change.getEntityType() == EntityType.INCIDENT) {
+                incidentIds.add(change.getEntityId());
+            } else if (change.getChangeType() == ChangeType.DELETED) {
+                // nothing left to reload: drop it without a query
+                deletedResourceIds.add(change.getEntityId());
+                resourceIds.remove(change.getEntityId());
+            } else if (!deletedResourceIds.contains(change.getEntityId())) {
+                resourceIds.add(change.getEntityId());
+            }
+        }
+        if (!incidentIds.isEmpty()) {
+            applyIncidents(incidentIds);
+        }
+        deletedResourceIds.forEach(this::forgetResource);
+        if (!resourceIds.isEmpty()) {
+            applyResources(resourceIds);
+        }
+    }
+
+    private void applyIncidents(Set<Long> ids) {
+        Set<Long> missing = new HashSet<>(ids);
+        for (Incident incident : incidentRepository.findAllById(ids)) {
+            missing.remove(incident.getId());
+            activeIncidentIndex.update(ActiveIncidentIndex.Entry.from(incident));
+            incidentSearchIndex.index(IncidentSearchIndex.Document.from(incident));
+            escalationScheduler.track(incident);
+            incidentAnalyticsService.record(incident);
+        }
+        missing.forEach(id -> {
+            activeIncidentIndex.remove(id);
+            incidentSearchIndex.remove(id);
+            escalationScheduler.forget(id);
+        });
+    }
+
+    private void applyResources(Set<Long> ids) {
+        Set<Long> missing = new HashSet<>(ids);
+        for (Resource resource : resourceRepository.findAllById(ids)) { // skips resources pending deletion
+            missing.remove(resource.getId());
+            resourceTypeaheadIndex.update(resource);
+        }
+        missing.forEach(this::forgetResource);
+    }
+
+    private void forgetResource(Long id) {
+        resourceTypeaheadIndex.remove(id);
+        healthCheckHotStore.remove(id);
+    }
+}
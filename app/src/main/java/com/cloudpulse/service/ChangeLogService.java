@@ -0,0 +1,176 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ChangeFeedPage;
+import com.cloudpulse.model.ChangeLogEntry;
+import com.cloudpulse.model.ChangeLogEntry.ChangeType;
+import com.cloudpulse.model.ChangeLogEntry.EntityType;
+import com.cloudpulse.repository.ChangeLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only change feed for downstream consumers.
+ *
+ * Each resource and incident write appends an entry in its own
+ * transaction, so the feed holds exactly the committed changes, in
+ * sequence order. Sequence numbers are handed out at insert but commit in
+ * any order, on any instance; the feed therefore stops at the first gap in
+ * the sequence until the entry after it is older than the commit lag. By
+ * then the missing sequence has either committed or will never appear
+ * (rolled back), so a consumer never steps past an entry that shows up
+ * later. The lag must exceed the longest writing transaction plus the
+ * clock skew between pods. Entries still uncommitted on this instance are
+ * held back as well, without waiting for the lag.
+ *
+ * Waiting readers (long-poll) are released when a change commits here, or
+ * when the periodic re-query sees the feed move on, which is how commits
+ * made by other instances reach them; otherwise when their wait runs out.
+ */
+@Service
+@Slf4j
+public class ChangeLogService {
+
+    static final int MAX_LIMIT = 1000;
+    static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private final ChangeLogRepository changeLogRepository;
+    private final Duration retention;
+    private final Duration commitLag;
+    private final ExecutorService pollExecutor =
+            Executors.newFixedThreadPool(2, new CustomizableThreadFactory("change-feed-"));
+
+    private final NavigableSet<Long> uncommitted = new ConcurrentSkipListSet<>();
+    private volatile CompletableFuture<Void> nextCommit = new CompletableFuture<>();
+    private volatile long lastSeenSeq;
+    private volatile boolean heldAtGap;
+
+    public ChangeLogService(ChangeLogRepository changeLogRepository,
+            @Value("${cloudpulse.changes.retention:7d}") Duration retention,
+            @Value("${cloudpulse.changes.commit-lag:10s}") Duration commitLag) {
+        this.changeLogRepository = changeLogRepository;
+        this.retention = retention;
+        this.commitLag = commitLag;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pollExecutor.shutdownNow();
+    }
+
+    /**
+     * Appends a change in the caller's transaction.
+     */
+    public void record(EntityType entityType, Long entityId, ChangeType changeType, Enum<?> status) {
+        ChangeLogEntry entry = changeLogRepository.save(ChangeLogEntry.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .changeType(changeType)
+                .status(status != null ? status.name() : null)
+                .build());
+        Long seq = entry.getSeq();
+        uncommitted.add(seq);
+        AfterCommit.onRollback(() -> uncommitted.remove(seq));
+        AfterCommit.run(() -> {
+            uncommitted.remove(seq);
+            signalCommit();
+        });
+    }
+
+    /**
+     * Changes after {@code after}; with a {@code wait}, an empty result is
+     * held back until a change commits or the wait runs out.
+     */
+    public CompletableFuture<ChangeFeedPage> getChanges(long after, int limit, Duration wait) {
+        if (after < 0) {
+            throw new IllegalArgumentException("'after' must not be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_LIMIT);
+        }
+        if (wait != null && (wait.isNegative() || wait.compareTo(MAX_WAIT) > 0)) {
+            throw new IllegalArgumentException("'wait' must be between 0 and " + MAX_WAIT.toSeconds() + "s");
+        }
+        long deadline = System.nanoTime() + (wait != null ? wait.toNanos() : 0);
+        return poll(after, limit, deadline);
+    }
+
+    /**
+     * Releases long-poll waiters when the feed has moved on in the database,
+     * whichever instance committed the change. Skipped while nobody waits.
+     */
+    @Scheduled(fixedDelayString = "${cloudpulse.changes.poll-interval-ms:1000}")
+    public void pollForCommits() {
+        if (nextCommit.getNumberOfDependents() == 0) {
+            return;
+        }
+        Long latest = changeLogRepository.findMaxSeq();
+        if ((latest != null && latest > lastSeenSeq) || heldAtGap) {
+            lastSeenSeq = latest != null ? latest : lastSeenSeq;
+            signalCommit();
+        }
+    }
+
+    @Scheduled(cron = "${cloudpulse.changes.cleanup-cron:0 15 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = changeLogRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Change log: {} entries older than {} removed", deleted, retention);
+        }
+    }
+
+    private CompletableFuture<ChangeFeedPage> poll(long after, int limit, long deadline) {
+        CompletableFuture<Void> commit = nextCommit; // taken before reading, so no commit is missed
+        ChangeFeedPage page = read(after, limit);
+        long remaining = deadline - System.nanoTime();
+        if (!page.getChanges().isEmpty() || remaining <= 0) {
+            return CompletableFuture.completedFuture(page);
+        }
+        return commit.copy()
+                .completeOnTimeout(null, remaining, TimeUnit.NANOSECONDS)
+                .thenComposeAsync(ignored -> poll(after, limit, deadline), pollExecutor);
+    }
+
+    private ChangeFeedPage read(long after, int limit) {
+        Long lowestUncommitted = uncommitted.isEmpty() ? null : uncommitted.first();
+        long upTo = lowestUncommitted != null ? lowestUncommitted - 1 : Long.MAX_VALUE;
+        List<ChangeLogEntry> rows = upTo > after
+                ? changeLogRepository.findRange(after, upTo, PageRequest.of(0, limit))
+                : List.of();
+        LocalDateTime settled = LocalDateTime.now().minus(commitLag);
+        List<ChangeLogEntry> changes = new ArrayList<>(rows.size());
+        long next = after;
+        for (ChangeLogEntry row : rows) {
+            if (row.getSeq() != next + 1 && row.getOccurredAt().isAfter(settled)) {
+                break; // a lower sequence may still be committing, possibly on another instance
+            }
+            changes.add(row);
+            next = row.getSeq();
+        }
+        heldAtGap = changes.size() < rows.size();
+        return ChangeFeedPage.builder().changes(changes).nextCursor(next).build();
+    }
+
+    private synchronized void signalCommit() {
+        CompletableFuture<Void> released = nextCommit;
+        nextCommit = new CompletableFuture<>();
+        released.complete(null);
+    }
+}
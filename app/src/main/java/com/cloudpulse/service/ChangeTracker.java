@@ -0,0 +1,134 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.CollectionVersion;
+import com.cloudpulse.repository.CollectionVersionRepository;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Versions behind the ETags of polled GET endpoints, read from the
+ * database so every instance computes the same tag.
+ *
+ * A collection's version is a counter row in {@code collection_versions},
+ * bumped once by each transaction that writes to the collection. The bump
+ * runs just before commit, so the row lock is held only for the commit
+ * itself, and a rolled-back write leaves the counter alone. An item's
+ * version is the row's own: the incident's optimistic-lock version, the
+ * resource's update timestamp. Answering If-None-Match costs one primary
+ * key read and never loads the entity.
+ */
+@Component
+public class ChangeTracker {
+
+    public enum Collection {
+        RESOURCES, INCIDENTS
+    }
+
+    private final CollectionVersionRepository collectionVersionRepository;
+    private final ResourceRepository resourceRepository;
+    private final IncidentRepository incidentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ChangeTracker(CollectionVersionRepository collectionVersionRepository,
+            ResourceRepository resourceRepository,
+            IncidentRepository incidentRepository,
+            PlatformTransactionManager transactionManager) {
+        this.collectionVersionRepository = collectionVersionRepository;
+        this.resourceRepository = resourceRepository;
+        this.incidentRepository = incidentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Creates the counter rows on first start; another pod may win the race.
+     */
+    @PostConstruct
+    void createCounters() {
+        for (Collection collection : Collection.values()) {
+            if (!collectionVersionRepository.existsById(collection.name())) {
+                try {
+                    collectionVersionRepository.save(new CollectionVersion(collection.name(), 0));
+                } catch (DataIntegrityViolationException e) {
+                    // created concurrently
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a write to the collection; the counter moves when the
+     * surrounding transaction commits, or at once without one.
+     */
+    public void changed(Collection collection) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> increment(collection));
+            return;
+        }
+        PendingBumps pending = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingBumps.class::isInstance).map(PendingBumps.class::cast)
+                .findFirst().orElse(null);
+        if (pending == null) {
+            pending = new PendingBumps();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.collections.add(collection);
+    }
+
+    public long version(Collection collection) {
+        return collectionVersionRepository.findVersion(collection.name()).orElse(0L);
+    }
+
+    /**
+     * Version of one item as stored; 0 if it does not exist.
+     */
+    public long version(Collection collection, Long id) {
+        return switch (collection) {
+            case RESOURCES -> resourceRepository.findUpdatedAt(id)
+                    .map(updatedAt -> updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000
+                            + updatedAt.getNano() / 1000)
+                    .orElse(0L);
+            case INCIDENTS -> incidentRepository.findVersion(id).orElse(0L);
+        };
+    }
+
+    /**
+     * A strong ETag built from the given versions.
+     */
+    public String etag(Object... versions) {
+        return Stream.of(versions).map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    private void increment(Collection collection) {
+        if (collectionVersionRepository.increment(collection.name()) == 0) {
+            collectionVersionRepository.save(new CollectionVersion(collection.name(), 1));
+        }
+    }
+
+    /**
+     * Collections written by one transaction, bumped in enum order so two
+     * transactions never take the counter rows in opposite order.
+     */
+    private final class PendingBumps implements TransactionSynchronization {
+
+        private final Set<Collection> collections = EnumSet.noneOf(Collection.class);
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            collections.forEach(ChangeTracker.this::increment);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentNotification;
+import com.cloudpulse.model.ChangeLogEntry.ChangeType;
+import com.cloudpulse.model.ChangeLogEntry.EntityType;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Escalates CRITICAL and HIGH incidents left unacknowledged past their
+ * severity's timeout.
+ *
+ * Each such incident gets one timer on a {@link HashedWheelTimer}, armed
+ * when {@link IncidentService} records it and cancelled once it is
+ * acknowledged, resolved or deleted, so arming, cancelling and firing are
+ * O(1). Timers are per instance: they are rebuilt from the OPEN, not yet
+ * escalated incidents once at startup (ones already overdue fire on the
+ * next tick), and from then on follow local writes directly and writes
+ * made on other instances through {@link ChangeFeedFollower}, so every
+ * instance holds a timer for every pending incident without polling the
+ * table. Escalation stamps {@code escalatedAt} with a
+ * conditional UPDATE, so it happens once however many instances try and an
+ * acknowledgement racing the timer wins; it then refreshes the incident in
+ * the in-memory indexes once that commits, and enqueues an
+ * INCIDENT_ESCALATED notification.
+ */
+@Component
+@Slf4j
+public class EscalationScheduler {
+
+    private record Armed(LocalDateTime deadline, HashedWheelTimer.Timeout timeout) {
+    }
+
+    private final IncidentRepository incidentRepository;
+    private final NotificationService notificationService;
+    private final ChangeLogService changeLogService;
+    private final ChangeTracker changeTracker;
+    private final ActiveIncidentIndex activeIncidentIndex;
+    private final IncidentSearchIndex incidentSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Severity, Duration> timeouts = new EnumMap<>(Severity.class);
+    private final ExecutorService escalationExecutor;
+    private final HashedWheelTimer wheel;
+
+    private final Map<Long, Armed> timers = new ConcurrentHashMap<>();
+
+    public EscalationScheduler(IncidentRepository incidentRepository,
+            NotificationService notificationService,
+            ChangeLogService changeLogService,
+            ChangeTracker changeTracker,
+            ActiveIncidentIndex activeIncidentIndex,
+            IncidentSearchIndex incidentSearchIndex,
+            PlatformTransactionManager transactionManager,
+            @Value("${cloudpulse.escalation.critical-timeout:15m}") Duration criticalTimeout,
+            @Value("${cloudpulse.escalation.high-timeout:30m}") Duration highTimeout,
+            @Value("${cloudpulse.escalation.tick:1s}") Duration tick) {
+        this.incidentRepository = incidentRepository;
+        this.notificationService = notificationService;
+        this.changeLogService = changeLogService;
+        this.changeTracker = changeTracker;
+        this.activeIncidentIndex = activeIncidentIndex;
+        this.incidentSearchIndex = incidentSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timeouts.put(Severity.CRITICAL, criticalTimeout);
+        this.timeouts.put(Severity.HIGH, highTimeout);
+        this.escalationExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("escalation-"));
+        this.wheel = new HashedWheelTimer("escalation-wheel", tick, 512, escalationExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        escalationExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        timers.values().forEach(armed -> armed.timeout().cancel());
+        timers.clear();
+        List<Incident> pending = incidentRepository.findOpenUnescalated(timeouts.keySet());
+        pending.forEach(incident -> arm(incident.getId(), deadline(incident)));
+        log.info("Escalation timers armed for {} unacknowledged incidents", pending.size());
+    }
+
+    /**
+     * Arms, moves or cancels the timer of the incident to match the state
+     * being written, once the caller's transaction commits.
+     */
+    void track(Incident incident) {
+        Long id = incident.getId();
+        LocalDateTime deadline = incident.getStatus() == IncidentStatus.OPEN && incident.getEscalatedAt() == null
+                ? deadline(incident) : null;
+        AfterCommit.run(() -> {
+            if (deadline == null) {
+                cancel(id);
+            } else {
+                arm(id, deadline);
+            }
+        });
+    }
+
+    /**
+     * Cancels the incident's timer once the caller's transaction commits.
+     */
+    void forget(Long incidentId) {
+        AfterCommit.run(() -> cancel(incidentId));
+    }
+
+    int armedCount() {
+        return timers.size();
+    }
+
+    boolean isArmed(Long incidentId) {
+        return timers.containsKey(incidentId);
+    }
+
+    private LocalDateTime deadline(Incident incident) {
+        Duration timeout = timeouts.get(incident.getSeverity());
+        if (timeout == null) {
+            return null;
+        }
+        LocalDateTime createdAt = incident.getCreatedAt() != null ? incident.getCreatedAt() : LocalDateTime.now();
+        return createdAt.plus(timeout);
+    }
+
+    private void arm(Long id, LocalDateTime deadline) {
+        if (deadline == null) {
+            cancel(id);
+            return;
+        }
+        timers.compute(id, (key, armed) -> {
+            if (armed != null) {
+                if (armed.deadline().equals(deadline)) {
+                    return armed;
+                }
+                armed.timeout().cancel();
+            }
+            Duration delay = Duration.between(LocalDateTime.now(), deadline);
+            return new Armed(deadline, wheel.schedule(() -> escalate(id), delay));
+        });
+    }
+
+    private void cancel(Long id) {
+        Armed armed = timers.remove(id);
+        if (armed != null) {
+            armed.timeout().cancel();
+        }
+    }
+
+    private void escalate(Long id) {
+        timers.remove(id);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            Integer escalated = transactionTemplate.execute(status -> {
+                int n = incidentRepository.markEscalated(id, now);
+                if (n > 0) {
+                    changeTracker.changed(ChangeTracker.Collection.INCIDENTS);
+                    changeLogService.record(EntityType.INCIDENT, id, ChangeType.UPDATED, IncidentStatus.OPEN);
+                    incidentRepository.findById(id).ifPresent(incident -> {
+                        ActiveIncidentIndex.Entry entry = ActiveIncidentIndex.Entry.from(incident);
+                        IncidentSearchIndex.Document document = IncidentSearchIndex.Document.from(incident);
+                        AfterCommit.run(() -> {
+                            activeIncidentIndex.update(entry);
+                            incidentSearchIndex.index(document);
+                        });
+                        notificationService.incidentEvent(IncidentNotification.Event.INCIDENT_ESCALATED, incident);
+                    });
+                }
+                return n;
+            });
+            if (escalated != null && escalated > 0) {
+                log.warn("⏫ Incident {} escalated: still unacknowledged past its timeout", id);
+            }
+        } catch (RuntimeException e) {
+            log.error("Escalation of incident {} failed: {}", id, e.getMessage());
+        }
+    }
+}
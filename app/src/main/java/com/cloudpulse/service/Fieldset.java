@@ -0,0 +1,114 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The fields a list endpoint can return with {@code fields=}, each mapped to
+ * its JPQL path (for projected queries) and its getter (for rows already in
+ * memory). Related entities are exposed by id only.
+ */
+final class Fieldset<E> {
+
+    static final Fieldset<Resource> RESOURCE = new Fieldset<Resource>("Resource", "r")
+            .field("id", "r.id", Resource::getId)
+            .field("name", "r.name", Resource::getName)
+            .field("resourceType", "r.resourceType", Resource::getResourceType)
+            .field("provider", "r.provider", Resource::getProvider)
+            .field("region", "r.region", Resource::getRegion)
+            .field("resourceId", "r.resourceId", Resource::getResourceId)
+            .field("status", "r.status", Resource::getStatus)
+            .field("ipAddress", "r.ipAddress", Resource::getIpAddress)
+            .field("environment", "r.environment", Resource::getEnvironment)
+            .field("tags", "r.tags", Resource::getTags)
+            .field("metadata", "r.metadata", Resource::getMetadata)
+            .field("createdAt", "r.createdAt", Resource::getCreatedAt)
+            .field("updatedAt", "r.updatedAt", Resource::getUpdatedAt)
+            .field("lastCheckedAt", "r.lastCheckedAt", Resource::getLastCheckedAt);
+
+    static final Fieldset<Incident> INCIDENT = new Fieldset<Incident>("Incident", "i")
+            .field("id", "i.id", Incident::getId)
+            .field("title", "i.title", Incident::getTitle)
+            .field("description", "i.description", Incident::getDescription)
+            .field("severity", "i.severity", Incident::getSeverity)
+            .field("status", "i.status", Incident::getStatus)
+            .field("resourceId", "i.resource.id", i -> i.getResource() != null ? i.getResource().getId() : null)
+            .field("assignedTo", "i.assignedTo", Incident::getAssignedTo)
+            .field("correlationKey", "i.correlationKey", Incident::getCorrelationKey)
+            .field("rootCause", "i.rootCause", Incident::getRootCause)
+            .field("resolution", "i.resolution", Incident::getResolution)
+            .field("createdAt", "i.createdAt", Incident::getCreatedAt)
+            .field("updatedAt", "i.updatedAt", Incident::getUpdatedAt)
+            .field("acknowledgedAt", "i.acknowledgedAt", Incident::getAcknowledgedAt)
+            .field("resolvedAt", "i.resolvedAt", Incident::getResolvedAt)
+            .field("version", "i.version", Incident::getVersion);
+
+    static final Fieldset<HealthCheck> HEALTH_CHECK = new Fieldset<HealthCheck>("HealthCheck", "h")
+            .field("id", "h.id", HealthCheck::getId)
+            .field("resourceId", "h.resource.id", h -> h.getResource() != null ? h.getResource().getId() : null)
+            .field("status", "h.status", HealthCheck::getStatus)
+            .field("responseTimeMs", "h.responseTimeMs", HealthCheck::getResponseTimeMs)
+            .field("statusCode", "h.statusCode", HealthCheck::getStatusCode)
+            .field("message", "h.message", HealthCheck::getMessage)
+            .field("details", "h.details", HealthCheck::getDetails)
+            .field("checkedAt", "h.checkedAt", HealthCheck::getCheckedAt);
+
+    record Field<E>(String name, String path, Function<E, Object> getter) {
+    }
+
+    private final String entity;
+    private final String alias;
+    private final Map<String, Field<E>> fields = new LinkedHashMap<>();
+
+    private Fieldset(String entity, String alias) {
+        this.entity = entity;
+        this.alias = alias;
+    }
+
+    private Fieldset<E> field(String name, String path, Function<E, Object> getter) {
+        fields.put(name, new Field<>(name, path, getter));
+        return this;
+    }
+
+    String entity() {
+        return entity;
+    }
+
+    String alias() {
+        return alias;
+    }
+
+    /**
+     * Parses a comma-separated {@code fields=} value, keeping request order
+     * and dropping duplicates.
+     *
+     * @throws IllegalArgumentException on an empty list or an unknown field
+     */
+    List<Field<E>> select(String spec) {
+        Map<String, Field<E>> selected = new LinkedHashMap<>();
+        for (String name : spec.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Field<E> field = fields.get(trimmed);
+            if (field == null) {
+                throw new IllegalArgumentException(String.format("Unknown field '%s'; allowed: %s",
+                        trimmed, String.join(",", fields.keySet())));
+            }
+            selected.putIfAbsent(trimmed, field);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("'fields' must name at least one field");
+        }
+        return Collections.unmodifiableList(new ArrayList<>(selected.values()));
+    }
+}
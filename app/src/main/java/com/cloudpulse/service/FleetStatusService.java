@@ -0,0 +1,106 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.FleetStatusEntry;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.LatestHealthCheck;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.HealthCheckRepository;
+import com.cloudpulse.repository.LatestHealthCheckRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fleet status: every resource with its newest check, read from the
+ * {@code latest_health_check} table in one scan joined to the resource
+ * catalog.
+ *
+ * A resource gets its row when registered and each recorded check moves it
+ * forward in the same transaction, creating the row if it is missing. At
+ * startup, rows are added for resources that have none (seeded, or
+ * registered before the table existed) and filled from
+ * {@code health_checks} in chunks, once per resource.
+ */
+@Service
+@Slf4j
+public class FleetStatusService {
+
+    private static final int BACKFILL_CHUNK = 500;
+
+    private final LatestHealthCheckRepository latestHealthCheckRepository;
+    private final HealthCheckRepository healthCheckRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+
+    public FleetStatusService(LatestHealthCheckRepository latestHealthCheckRepository,
+            HealthCheckRepository healthCheckRepository,
+            PlatformTransactionManager transactionManager) {
+        this.latestHealthCheckRepository = latestHealthCheckRepository;
+        this.healthCheckRepository = healthCheckRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Moves the resource's row to the check, in the caller's transaction.
+     * A resource without a row (registered by a node that predates the
+     * table, or added between startup backfills) gets one first. The row is
+     * inserted in its own transaction, so when another instance inserts it
+     * at the same time the duplicate key fails only that insert, not the
+     * caller's transaction, and both then advance the same row.
+     */
+    public void recordCheck(HealthCheck check) {
+        Long resourceId = check.getResource().getId();
+        if (advance(check) > 0 || latestHealthCheckRepository.existsById(resourceId)) {
+            return; // moved, or already holds a newer check
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> latestHealthCheckRepository.saveAndFlush(
+                    LatestHealthCheck.builder().resourceId(resourceId).build()));
+        } catch (DataIntegrityViolationException e) {
+            // inserted concurrently
+        }
+        advance(check);
+    }
+
+    private int advance(HealthCheck check) {
+        return latestHealthCheckRepository.advance(check.getResource().getId(), check.getId(), check.getStatus(),
+                check.getResponseTimeMs(), check.getStatusCode(), check.getCheckedAt());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Integer added = transactionTemplate.execute(status -> latestHealthCheckRepository.insertMissing());
+        long filled = 0;
+        Long after = 0L;
+        List<Long> ids;
+        while (!(ids = latestHealthCheckRepository.findUncheckedIdsAfter(after,
+                PageRequest.of(0, BACKFILL_CHUNK))).isEmpty()) {
+            List<Long> chunk = ids;
+            filled += transactionTemplate.execute(status -> {
+                int n = 0;
+                for (HealthCheck check : healthCheckRepository.findNewestByResourceIdIn(chunk)) {
+                    n += advance(check);
+                }
+                return n;
+            });
+            after = ids.get(ids.size() - 1);
+        }
+        if ((added != null && added > 0) || filled > 0) {
+            log.info("Latest-check table backfilled: {} rows added, {} filled from history", added, filled);
+        }
+    }
+
+    public List<FleetStatusEntry> getFleetStatus(ResourceType type, String region, String environment) {
+        return latestHealthCheckRepository.findFleetStatus(type, region, environment);
+    }
+}
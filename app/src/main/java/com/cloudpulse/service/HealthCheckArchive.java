@@ -0,0 +1,233 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * On-disk archive of old health checks: one immutable
+ * {@link HealthCheckSegment} file per resource and day, at
+ * {@code <dir>/<resourceId>/<yyyy-MM-dd>.seg}, read through memory mapping.
+ *
+ * The set of archived days per resource is held in memory, so reads for
+ * ranges the archive does not cover never touch the disk. The directory may
+ * be shared by several instances, with whichever holds the archive lease
+ * writing to it, so the set is rescanned periodically; a segment removed
+ * by another instance reads as empty.
+ */
+@Component
+@Slf4j
+public class HealthCheckArchive {
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path root;
+    private final Map<Long, NavigableSet<LocalDate>> days = new ConcurrentHashMap<>();
+
+    public HealthCheckArchive(@Value("${cloudpulse.archive.dir:data/archive}") Path root) {
+        this.root = root;
+    }
+
+    @PostConstruct
+    public void loadIndex() {
+        refreshIndex();
+        log.info("Health check archive at {} holds {} resource-days", root,
+                days.values().stream().mapToInt(NavigableSet::size).sum());
+    }
+
+    /**
+     * Rescans the directory and replaces the in-memory set of days, picking
+     * up segments written or removed by other instances.
+     */
+    @Scheduled(fixedDelayString = "${cloudpulse.archive.refresh-ms:300000}",
+            initialDelayString = "${cloudpulse.archive.refresh-ms:300000}")
+    public synchronized void refreshIndex() {
+        Map<Long, NavigableSet<LocalDate>> scanned = new HashMap<>();
+        if (Files.isDirectory(root)) {
+            try (DirectoryStream<Path> resources = Files.newDirectoryStream(root)) {
+                for (Path resourceDir : resources) {
+                    Long resourceId = parseResourceId(resourceDir);
+                    if (resourceId != null) {
+                        scanned.put(resourceId, scanDays(resourceDir));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not scan health check archive " + root, e);
+            }
+        }
+        days.keySet().retainAll(scanned.keySet());
+        days.putAll(scanned);
+    }
+
+    /**
+     * Writes (or extends) the segment for one resource-day. Rows already in
+     * the segment are kept; rows with the same id are replaced. The file is
+     * swapped in atomically, so readers see the old or the new segment.
+     */
+    public synchronized void write(Long resourceId, LocalDate day, List<HealthCheck> checks) {
+        Path file = segmentPath(resourceId, day);
+        Map<Long, HealthCheck> rows = new LinkedHashMap<>();
+        if (Files.exists(file)) {
+            readSegment(file).forEach(check -> rows.put(check.getId(), check));
+        }
+        checks.forEach(check -> rows.put(check.getId(), check));
+
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = ByteBuffer.wrap(HealthCheckSegment.encode(new ArrayList<>(rows.values())));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive segment " + file, e);
+        }
+        daysOf(resourceId).add(day);
+    }
+
+    /**
+     * Archived checks of a resource with {@code from <= checkedAt < to},
+     * oldest first.
+     */
+    public List<HealthCheck> read(Long resourceId, LocalDateTime from, LocalDateTime to) {
+        NavigableSet<LocalDate> archived = days.get(resourceId);
+        if (archived == null) {
+            return List.of();
+        }
+        List<HealthCheck> result = new ArrayList<>();
+        for (LocalDate day : archived.subSet(from.toLocalDate(), true, to.toLocalDate(), true)) {
+            for (HealthCheck check : readSegment(segmentPath(resourceId, day))) {
+                if (!check.getCheckedAt().isBefore(from) && check.getCheckedAt().isBefore(to)) {
+                    result.add(check);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The newest {@code limit} archived checks of a resource, newest first.
+     */
+    public List<HealthCheck> latest(Long resourceId, int limit) {
+        NavigableSet<LocalDate> archived = days.get(resourceId);
+        if (archived == null || limit <= 0) {
+            return List.of();
+        }
+        List<HealthCheck> result = new ArrayList<>(limit);
+        for (LocalDate day : archived.descendingSet()) {
+            List<HealthCheck> segment = readSegment(segmentPath(resourceId, day));
+            Collections.reverse(segment);
+            for (HealthCheck check : segment) {
+                result.add(check);
+                if (result.size() == limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops every archived day of a resource.
+     */
+    public synchronized void remove(Long resourceId) {
+        days.remove(resourceId);
+        Path dir = root.resolve(resourceId.toString());
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(dir)) {
+            for (Path segment : segments) {
+                Files.deleteIfExists(segment);
+            }
+            Files.deleteIfExists(dir);
+        } catch (NoSuchFileException e) {
+            // removed concurrently
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not remove archive of resource " + resourceId, e);
+        }
+    }
+
+    public boolean isEmpty(Long resourceId) {
+        NavigableSet<LocalDate> archived = days.get(resourceId);
+        return archived == null || archived.isEmpty();
+    }
+
+    private NavigableSet<LocalDate> scanDays(Path resourceDir) throws IOException {
+        NavigableSet<LocalDate> found = new ConcurrentSkipListSet<>();
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(resourceDir, "*" + SUFFIX)) {
+            for (Path segment : segments) {
+                String name = segment.getFileName().toString();
+                try {
+                    found.add(LocalDate.parse(name.substring(0, name.length() - SUFFIX.length())));
+                } catch (DateTimeParseException e) {
+                    log.warn("Ignoring unexpected archive file {}", segment);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // removed by another instance while scanning
+        }
+        return found;
+    }
+
+    private List<HealthCheck> readSegment(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return HealthCheckSegment.decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (NoSuchFileException e) {
+            return new ArrayList<>(); // removed by another instance since the last rescan
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + file, e);
+        }
+    }
+
+    private Path segmentPath(Long resourceId, LocalDate day) {
+        return root.resolve(resourceId.toString()).resolve(day + SUFFIX);
+    }
+
+    private NavigableSet<LocalDate> daysOf(Long resourceId) {
+        return days.computeIfAbsent(resourceId, k -> new ConcurrentSkipListSet<>());
+    }
+
+    private static Long parseResourceId(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(dir.getFileName().toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.repository.HealthCheckRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves health checks older than the retention cutoff from the hot table
+ * into {@link HealthCheckArchive} segments, one resource-day at a time.
+ *
+ * The segment is written and synced before its rows are deleted, and
+ * deletion runs in short chunked transactions. A crash in between leaves
+ * rows in both places; readers de-duplicate by id and the next run
+ * re-archives them into the same segment.
+ *
+ * Every instance schedules the run, but it takes a {@link JobLeases}
+ * lease first and renews it after each resource-day, so one instance at a
+ * time archives into the shared directory and deletes the rows. Another
+ * instance takes over if the holder dies mid-run.
+ */
+@Service
+@ConditionalOnProperty(name = "cloudpulse.archive.enabled", havingValue = "true")
+@Slf4j
+public class HealthCheckArchiver {
+
+    static final String LEASE = "health-check-archive";
+
+    private final HealthCheckRepository healthCheckRepository;
+    private final HealthCheckArchive archive;
+    private final JobLeases jobLeases;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int deleteChunkSize;
+    private final Duration lease;
+
+    public HealthCheckArchiver(HealthCheckRepository healthCheckRepository,
+            HealthCheckArchive archive,
+            JobLeases jobLeases,
+            PlatformTransactionManager transactionManager,
+            @Value("${cloudpulse.archive.retention-days:30}") int retentionDays,
+            @Value("${cloudpulse.archive.delete-chunk-size:500}") int deleteChunkSize,
+            @Value("${cloudpulse.archive.lease:10m}") Duration lease) {
+        if (retentionDays < 1 || deleteChunkSize < 1) {
+            throw new IllegalArgumentException("Invalid archive retention/chunk settings");
+        }
+        this.healthCheckRepository = healthCheckRepository;
+        this.archive = archive;
+        this.jobLeases = jobLeases;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.deleteChunkSize = deleteChunkSize;
+        this.lease = lease;
+    }
+
+    @Scheduled(cron = "${cloudpulse.archive.cron:0 30 3 * * *}")
+    public void archiveOldChecks() {
+        archiveBefore(LocalDate.now().minusDays(retentionDays).atStartOfDay());
+    }
+
+    /**
+     * Archives every check older than {@code cutoff}; returns how many rows
+     * left the hot table. Returns 0 without archiving while another
+     * instance holds the lease, and stops early if the lease is lost.
+     */
+    public long archiveBefore(LocalDateTime cutoff) {
+        if (!jobLeases.tryAcquire(LEASE, lease)) {
+            log.info("Health check archiving skipped: running on another instance");
+            return 0;
+        }
+        long archived = 0;
+        int days = 0;
+        try {
+            for (Long resourceId : healthCheckRepository.findResourceIdsWithChecksBefore(cutoff)) {
+                LocalDateTime oldest;
+                while ((oldest = healthCheckRepository.findOldestCheckedAtBefore(resourceId, cutoff)) != null) {
+                    if (!jobLeases.tryAcquire(LEASE, lease)) {
+                        log.warn("Health check archiving stopped: lease lost after {} resource-days", days);
+                        return archived;
+                    }
+                    LocalDateTime dayStart = oldest.toLocalDate().atStartOfDay();
+                    LocalDateTime dayEnd = dayStart.plusDays(1).isAfter(cutoff) ? cutoff : dayStart.plusDays(1);
+                    archived += archiveDay(resourceId, dayStart, dayEnd);
+                    days++;
+                }
+            }
+        } finally {
+            jobLeases.release(LEASE);
+        }
+        if (archived > 0) {
+            log.info("Archived {} health checks in {} resource-days older than {}", archived, days, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveDay(Long resourceId, LocalDateTime dayStart, LocalDateTime dayEnd) {
+        List<HealthCheck> checks = healthCheckRepository.findByResourceIdBetween(resourceId, dayStart, dayEnd);
+        archive.write(resourceId, dayStart.toLocalDate(), checks);
+
+        List<Long> ids = checks.stream().map(HealthCheck::getId).toList();
+        for (int i = 0; i < ids.size(); i += deleteChunkSize) {
+            List<Long> chunk = ids.subList(i, Math.min(ids.size(), i + deleteChunkSize));
+            transactionTemplate.executeWithoutResult(status -> healthCheckRepository.deleteAllByIdInBatch(chunk));
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,280 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk export of health-check history as gzip-compressed CSV.
+ *
+ * Rows are read in (checked_at, id) order — the order of the checked_at
+ * index — through one forward-only, read-only cursor with a large fetch
+ * size, and each row is written to the compressed stream as it arrives, so
+ * at most one fetch batch is held in memory however long the range. The
+ * query runs in a read-only transaction and so goes to the replica when
+ * one is configured.
+ *
+ * Checks older than the archive cutoff have left the table for
+ * {@link HealthCheckArchive}. Archived days of the selected resources are
+ * read one day at a time and merged into the cursor's stream in the same
+ * (checked_at, id) order; a row found in both (an archive run interrupted
+ * between writing a segment and deleting its rows) is written once. Only
+ * that one day of archived rows is held in memory.
+ *
+ * The first two columns of every line, checked_at and id, are the resume
+ * checkpoint: pass those of the last complete line as
+ * {@code afterCheckedAt}/{@code afterId} to continue an interrupted export
+ * with the next row. An export still streaming after
+ * {@code spring.mvc.async.request-timeout} (30m) is cut off there and has to
+ * be resumed the same way.
+ */
+@Service
+@Slf4j
+public class HealthCheckExportService {
+
+    static final String HEADER = "checked_at,id,resource_id,resource_name,status,response_time_ms,status_code,message";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final HealthCheckArchive archive;
+
+    public HealthCheckExportService(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            HealthCheckArchive archive,
+            @Value("${cloudpulse.export.fetch-size:5000}") int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Invalid export fetch size: " + fetchSize);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archive = archive;
+    }
+
+    /**
+     * Checks of visible resources with {@code from <= checked_at < to},
+     * optionally limited to the listed resources and/or a type, region and
+     * environment, starting after the given checkpoint.
+     */
+    public StreamingResponseBody export(LocalDateTime from, LocalDateTime to, Collection<Long> resourceIds,
+            ResourceType type, String region, String environment, LocalDateTime afterCheckedAt, Long afterId) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' and 'to' are required and 'from' must be before 'to'");
+        }
+        if ((afterCheckedAt == null) != (afterId == null)) {
+            throw new IllegalArgumentException("'afterCheckedAt' and 'afterId' must be given together");
+        }
+
+        StringBuilder filter = new StringBuilder("r.deletion_requested_at IS NULL");
+        List<Object> filterParams = new ArrayList<>();
+        if (resourceIds != null && !resourceIds.isEmpty()) {
+            filter.append(" AND r.id IN (").append("?,".repeat(resourceIds.size() - 1)).append("?)");
+            filterParams.addAll(resourceIds);
+        }
+        if (type != null) {
+            filter.append(" AND r.resource_type = ?");
+            filterParams.add(type.name());
+        }
+        if (region != null) {
+            filter.append(" AND r.region = ?");
+            filterParams.add(region);
+        }
+        if (environment != null) {
+            filter.append(" AND r.environment = ?");
+            filterParams.add(environment);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT hc.checked_at, hc.id, hc.resource_id, r.name, hc.status, "
+                + "hc.response_time_ms, hc.status_code, hc.message FROM health_checks hc "
+                + "JOIN resources r ON r.id = hc.resource_id "
+                + "WHERE ").append(filter).append(" AND hc.checked_at >= ? AND hc.checked_at < ?");
+        List<Object> params = new ArrayList<>(filterParams);
+        params.addAll(List.of(from, to));
+        if (afterCheckedAt != null) {
+            sql.append(" AND (hc.checked_at > ? OR (hc.checked_at = ? AND hc.id > ?))");
+            params.addAll(List.of(afterCheckedAt, afterCheckedAt, afterId));
+        }
+        sql.append(" ORDER BY hc.checked_at, hc.id");
+        LocalDateTime archivedFrom = afterCheckedAt != null && afterCheckedAt.isAfter(from) ? afterCheckedAt : from;
+
+        return out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write(HEADER);
+            writer.write('\n');
+            long[] rows = new long[1];
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    ArchivedRows archived = new ArchivedRows(archivedResources(filter, filterParams),
+                            archivedFrom, to, afterCheckedAt, afterId);
+                    jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        for (int i = 0; i < params.size(); i++) {
+                            statement.setObject(i + 1, params.get(i));
+                        }
+                        return statement;
+                    }, (RowCallbackHandler) rs -> {
+                        LocalDateTime checkedAt = rs.getObject(1, LocalDateTime.class);
+                        long id = rs.getLong(2);
+                        rows[0] += archived.writeBefore(writer, checkedAt, id);
+                        writeLine(writer, checkedAt, id, rs.getObject(3), rs.getObject(4), rs.getObject(5),
+                                rs.getObject(6), rs.getObject(7), rs.getObject(8));
+                        rows[0]++;
+                    });
+                    rows[0] += archived.writeBefore(writer, null, 0);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // client went away; the last complete line is its checkpoint
+            }
+            writer.flush();
+            gzip.finish();
+            log.info("Exported {} health checks from {} to {}", rows[0], from, to);
+        };
+    }
+
+    /**
+     * Names of the selected resources that have archived days.
+     */
+    private Map<Long, String> archivedResources(CharSequence filter, List<Object> filterParams) {
+        Map<Long, String> names = new TreeMap<>();
+        jdbcTemplate.query("SELECT r.id, r.name FROM resources r WHERE " + filter, (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            if (!archive.isEmpty(id)) {
+                names.put(id, rs.getString(2));
+            }
+        }, filterParams.toArray());
+        return names;
+    }
+
+    /**
+     * Archived checks of the selected resources in (checked_at, id) order,
+     * loaded one day at a time as the live cursor passes that day.
+     */
+    private final class ArchivedRows {
+
+        private final Map<Long, String> resources;
+        private final LocalDateTime to;
+        private final LocalDateTime afterCheckedAt;
+        private final Long afterId;
+        private final Deque<HealthCheck> day = new ArrayDeque<>();
+        private LocalDateTime nextDay;
+
+        ArchivedRows(Map<Long, String> resources, LocalDateTime from, LocalDateTime to,
+                LocalDateTime afterCheckedAt, Long afterId) {
+            this.resources = resources;
+            this.to = to;
+            this.afterCheckedAt = afterCheckedAt;
+            this.afterId = afterId;
+            this.nextDay = resources.isEmpty() ? to : from;
+        }
+
+        /**
+         * Writes the archived rows ordered before the live row at
+         * (checkedAt, id), or all remaining ones if checkedAt is null, and
+         * drops an archived copy of that live row. Returns the rows written.
+         */
+        int writeBefore(Writer writer, LocalDateTime checkedAt, long id) {
+            int written = 0;
+            while (true) {
+                if (day.isEmpty() && !loadNextDay(checkedAt)) {
+                    return written;
+                }
+                HealthCheck next = day.peekFirst();
+                int order = checkedAt == null ? -1 : compare(next.getCheckedAt(), next.getId(), checkedAt, id);
+                if (order > 0) {
+                    return written;
+                }
+                day.removeFirst();
+                if (order < 0) {
+                    writeLine(writer, next.getCheckedAt(), next.getId(), next.getResource().getId(),
+                            resources.get(next.getResource().getId()), next.getStatus(), next.getResponseTimeMs(),
+                            next.getStatusCode(), next.getMessage());
+                    written++;
+                }
+            }
+        }
+
+        /**
+         * Loads the next archived day that starts at or before {@code upTo}
+         * (any, if null); false once there is none.
+         */
+        private boolean loadNextDay(LocalDateTime upTo) {
+            while (day.isEmpty() && nextDay.isBefore(to) && (upTo == null || !nextDay.isAfter(upTo))) {
+                LocalDateTime dayEnd = nextDay.toLocalDate().plusDays(1).atStartOfDay();
+                LocalDateTime end = dayEnd.isAfter(to) ? to : dayEnd;
+                List<HealthCheck> checks = new ArrayList<>();
+                for (Map.Entry<Long, String> resource : resources.entrySet()) {
+                    for (HealthCheck check : archive.read(resource.getKey(), nextDay, end)) {
+                        if (afterCheckedAt == null || compare(check.getCheckedAt(), check.getId(),
+                                afterCheckedAt, afterId) > 0) {
+                            check.setResource(Resource.builder().id(resource.getKey()).build());
+                            checks.add(check);
+                        }
+                    }
+                }
+                checks.sort(Comparator.comparing(HealthCheck::getCheckedAt).thenComparing(HealthCheck::getId));
+                day.addAll(checks);
+                nextDay = end;
+            }
+            return !day.isEmpty();
+        }
+    }
+
+    private static int compare(LocalDateTime checkedAt, long id, LocalDateTime otherCheckedAt, long otherId) {
+        int order = checkedAt.compareTo(otherCheckedAt);
+        return order != 0 ? order : Long.compare(id, otherId);
+    }
+
+    private static void writeLine(Writer writer, LocalDateTime checkedAt, Object... columns) {
+        try {
+            writer.write(checkedAt.toString());
+            for (Object value : columns) {
+                writer.write(',');
+                if (value != null) {
+                    writer.write(csv(value.toString()));
+                }
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,530 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.repository.HealthCheckRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent health checks per resource, kept in a memory-mapped file off the
+ * heap. History and average-latency reads are answered from the records
+ * themselves, without touching the database.
+ *
+ * The file holds a fixed number of regions, each a circular buffer of the
+ * last {@code slots} checks of one resource in id order:
+ * <pre>
+ * header  int magic, int version, int slots, int regions,
+ *         long cursor (id of the last followed check, -1 = none)
+ * region  long resourceId (0 = free), long sequence (checks held so far),
+ *         long seeded (1 once loaded from the table),
+ *         then slots x 24-byte records:
+ *         long id, long checkedAt (epoch millis, LocalDateTime read as UTC),
+ *         int latency (MIN_VALUE = null), short statusCode (-1 = null),
+ *         byte status ordinal, byte padding
+ * </pre>
+ * Two writers keep the regions current. This instance appends its own
+ * checks after their transaction commits, so they are readable at once, and
+ * {@link #follow} tails {@code health_checks} by id for checks written by
+ * every instance, holding back at an id gap the same way the change feed
+ * does ({@code cloudpulse.changes.commit-lag}). Both insert by id, so a
+ * check arriving twice is stored once. A region is loaded from the table
+ * once, on the first read of its resource; until the follower has reached
+ * the head of the table, reads return null and callers use the table.
+ *
+ * Persistence is best effort. The Kubernetes deployment mounts an emptyDir
+ * at /app/data, which survives container restarts but not a rescheduled or
+ * replaced pod; nothing is reloaded at startup either way. A restarted
+ * container resumes following from the stored cursor; a new pod, or one
+ * that fell more than {@link #MAX_REPLAY} checks behind, starts empty and
+ * refills one resource at a time as it is read.
+ */
+@Component
+@Slf4j
+public class HealthCheckHotStore {
+
+    /** Field names of a health check that the records hold. */
+    public static final Set<String> FIELDS = Set.of("id", "resourceId", "status", "responseTimeMs",
+            "statusCode", "checkedAt");
+
+    static final int MAX_REPLAY = 100_000;
+
+    private static final int MAGIC = 0x43504853;
+    private static final int VERSION = 2;
+    private static final int CURSOR = 16;
+    private static final int HEADER_BYTES = 24;
+    private static final int REGION_HEADER_BYTES = 24;
+    private static final int RECORD_BYTES = 24;
+    private static final int FOLLOW_PAGE = 1000;
+    private static final int NULL_LATENCY = Integer.MIN_VALUE;
+    private static final HealthStatus[] STATUSES = HealthStatus.values();
+
+    private final HealthCheckRepository healthCheckRepository;
+    private final Path file;
+    private final int slots;
+    private final int regions;
+    private final int regionBytes;
+    private final Duration commitLag;
+
+    private MappedByteBuffer buffer;
+    private boolean fullWarned;
+    private volatile boolean caughtUp;
+    private final ConcurrentHashMap<Long, Integer> regionOf = new ConcurrentHashMap<>();
+    private final Object[] locks;
+
+    public HealthCheckHotStore(HealthCheckRepository healthCheckRepository,
+            @Value("${cloudpulse.hotstore.file:data/hotstore.dat}") Path file,
+            @Value("${cloudpulse.hotstore.slots:512}") int slots,
+            @Value("${cloudpulse.hotstore.max-resources:2048}") int regions,
+            @Value("${cloudpulse.changes.commit-lag:10s}") Duration commitLag) {
+        this.healthCheckRepository = healthCheckRepository;
+        this.file = file;
+        this.slots = slots;
+        this.regions = regions;
+        this.commitLag = commitLag;
+        this.regionBytes = REGION_HEADER_BYTES + slots * RECORD_BYTES;
+        if (slots < 1 || regions < 1 || (long) regions * regionBytes + HEADER_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid hot store slots/max-resources settings");
+        }
+        this.locks = new Object[regions];
+        for (int i = 0; i < regions; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void open() {
+        long size = HEADER_BYTES + (long) regions * regionBytes;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            boolean compatible = Files.exists(file) && Files.size(file) == size;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            compatible = compatible && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION
+                    && buffer.getInt(8) == slots && buffer.getInt(12) == regions;
+            if (!compatible) {
+                for (int region = 0; region < regions; region++) {
+                    buffer.putLong(regionOffset(region), 0);
+                }
+                buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, slots).putInt(12, regions)
+                        .putLong(CURSOR, -1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open health check hot store " + file, e);
+        }
+        for (int region = 0; region < regions; region++) {
+            long resourceId = buffer.getLong(regionOffset(region));
+            if (resourceId != 0) {
+                regionOf.put(resourceId, region);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Appends checks committed since the stored cursor, a page at a time.
+     * On the first pass, a cursor that is unknown or too far behind to
+     * replay is moved to the head of the table and every region emptied.
+     */
+    @Scheduled(fixedDelayString = "${cloudpulse.hotstore.follow-interval-ms:2000}")
+    public synchronized void follow() {
+        try {
+            long cursor = buffer.getLong(CURSOR);
+            if (!caughtUp) {
+                Long head = healthCheckRepository.findMaxId();
+                long top = head != null ? head : 0;
+                // a cursor past the head belongs to another database
+                if (cursor < 0 || cursor > top || top - cursor > MAX_REPLAY) {
+                    clear();
+                    cursor = top;
+                    buffer.putLong(CURSOR, cursor);
+                }
+            }
+            boolean heldAtGap = false;
+            List<Object[]> rows;
+            do {
+                rows = healthCheckRepository.findRecordsAfter(cursor, PageRequest.of(0, FOLLOW_PAGE));
+                LocalDateTime settled = LocalDateTime.now().minus(commitLag);
+                for (Object[] row : rows) {
+                    long id = (Long) row[0];
+                    LocalDateTime checkedAt = (LocalDateTime) row[2];
+                    if (id != cursor + 1 && checkedAt.isAfter(settled)) {
+                        heldAtGap = true; // a lower id may still be committing, possibly on another instance
+                        break;
+                    }
+                    Integer region = regionOf.get((Long) row[1]);
+                    if (region == null) {
+                        region = claim((Long) row[1]);
+                    }
+                    if (region != null) {
+                        insert(region, id, HealthCheckSegment.toMillis(checkedAt), latency((Integer) row[3]),
+                                statusCode((Integer) row[4]), (HealthStatus) row[5]);
+                    }
+                    cursor = id;
+                }
+                buffer.putLong(CURSOR, cursor);
+            } while (rows.size() == FOLLOW_PAGE && !heldAtGap);
+            if (!caughtUp) {
+                log.info("Health check hot store caught up at check {} ({} resources held)", cursor, regionOf.size());
+                caughtUp = true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Health check hot store could not follow the table: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a check this instance just committed, claiming a free region for
+     * a resource seen for the first time. Ignored once every region is taken.
+     */
+    public void append(Long resourceId, HealthCheck check) {
+        Integer region = regionOf.get(resourceId);
+        if (region == null && (region = claim(resourceId)) == null) {
+            return;
+        }
+        insert(region, check.getId(), HealthCheckSegment.toMillis(check.getCheckedAt()),
+                latency(check.getResponseTimeMs()), statusCode(check.getStatusCode()), check.getStatus());
+    }
+
+    /**
+     * Up to {@code limit} newest checks of the resource, newest first. Null
+     * when the store cannot answer: not caught up yet, no free region,
+     * {@code limit} above the buffer size, or fewer than {@code limit}
+     * checks held while older ones exist outside the table
+     * ({@code olderElsewhere}, e.g. in the archive) or have wrapped out.
+     */
+    public Records latest(Long resourceId, int limit, boolean olderElsewhere) {
+        if (limit > slots) {
+            return null;
+        }
+        Integer region = seededRegion(resourceId);
+        if (region == null) {
+            return null;
+        }
+        int base = regionOffset(region);
+        synchronized (locks[region]) {
+            long sequence = buffer.getLong(base + 8);
+            // a seeded buffer that never filled up holds every check the table has
+            boolean complete = sequence < slots && !olderElsewhere;
+            if (sequence < limit && !complete) {
+                return null;
+            }
+            int n = (int) Math.min(limit, Math.min(sequence, slots));
+            return copy(resourceId, base, sequence, n);
+        }
+    }
+
+    /**
+     * Every check held for the resource, newest first, whether or not the
+     * region is complete or current; empty when the resource is not held.
+     * Reads only the file, for seeding in-memory state at startup.
+     */
+    public Records held(Long resourceId) {
+        Integer region = regionOf.get(resourceId);
+        if (region == null) {
+            return new Records(resourceId, new byte[0], 0);
+        }
+        int base = regionOffset(region);
+        synchronized (locks[region]) {
+            long sequence = buffer.getLong(base + 8);
+            return copy(resourceId, base, sequence, (int) Math.min(sequence, slots));
+        }
+    }
+
+    /**
+     * Id of the newest check of the resource, empty when the store cannot
+     * tell (not caught up yet, or not holding any check of the resource).
+     */
+    public OptionalLong newestId(Long resourceId) {
+        Integer region = regionOf.get(resourceId);
+        if (!caughtUp || region == null) {
+            return OptionalLong.empty();
+        }
+        int base = regionOffset(region);
+        synchronized (locks[region]) {
+            long sequence = buffer.getLong(base + 8);
+            return sequence > 0 ? OptionalLong.of(buffer.getLong(recordOffset(base, sequence - 1)))
+                    : OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Average latency of checks at or after {@code sinceMillis}; empty when
+     * the store cannot answer (see {@link #latest}) or the buffer has
+     * wrapped past that point, NaN when no check in the window has a latency.
+     */
+    public OptionalDouble averageLatencySince(Long resourceId, long sinceMillis) {
+        Integer region = seededRegion(resourceId);
+        if (region == null) {
+            return OptionalDouble.empty();
+        }
+        int base = regionOffset(region);
+        synchronized (locks[region]) {
+            long sequence = buffer.getLong(base + 8);
+            long oldest = Math.max(0, sequence - slots);
+            boolean covered = sequence < slots
+                    || buffer.getLong(recordOffset(base, oldest) + 8) < sinceMillis;
+            if (!covered) {
+                return OptionalDouble.empty();
+            }
+            long sum = 0;
+            long samples = 0;
+            for (long s = sequence - 1; s >= oldest; s--) {
+                int at = recordOffset(base, s);
+                if (buffer.getLong(at + 8) < sinceMillis) {
+                    continue; // ids are not strictly time-ordered across instances, so keep scanning
+                }
+                int latency = buffer.getInt(at + 16);
+                if (latency != NULL_LATENCY) {
+                    sum += latency;
+                    samples++;
+                }
+            }
+            return OptionalDouble.of(samples > 0 ? (double) sum / samples : Double.NaN);
+        }
+    }
+
+    public Set<Long> resourceIds() {
+        return Set.copyOf(regionOf.keySet());
+    }
+
+    public void remove(Long resourceId) {
+        Integer region = regionOf.remove(resourceId);
+        if (region != null) {
+            synchronized (locks[region]) {
+                buffer.putLong(regionOffset(region) + 8, 0);
+                buffer.putLong(regionOffset(region) + 16, 0);
+                buffer.putLong(regionOffset(region), 0);
+            }
+        }
+    }
+
+    /**
+     * The region of the resource, loaded from the table on its first read.
+     * Null when the store cannot answer for it; a resource without checks
+     * gives its region back, so unknown ids do not fill the store.
+     */
+    private Integer seededRegion(Long resourceId) {
+        if (!caughtUp) {
+            return null;
+        }
+        Integer region = regionOf.get(resourceId);
+        if (region != null && buffer.getLong(regionOffset(region) + 16) != 0) {
+            return region;
+        }
+        if (region == null && (region = claim(resourceId)) == null) {
+            return null;
+        }
+        List<Object[]> rows = healthCheckRepository.findLatestRecords(resourceId, PageRequest.of(0, slots));
+        int base = regionOffset(region);
+        synchronized (locks[region]) {
+            if (buffer.getLong(base) != resourceId || buffer.getLong(base + 16) != 0) {
+                return buffer.getLong(base) == resourceId ? region : null; // removed or seeded meanwhile
+            }
+            // checks appended while the query ran are newer than the ones it returned
+            long sequence = buffer.getLong(base + 8);
+            long newestLoaded = rows.isEmpty() ? 0 : (Long) rows.get(0)[0];
+            int kept = 0;
+            for (long s = sequence - 1; s >= Math.max(0, sequence - slots); s--) {
+                if (buffer.getLong(recordOffset(base, s)) > newestLoaded) {
+                    kept++;
+                }
+            }
+            Records appended = copy(resourceId, base, sequence, kept);
+            buffer.putLong(base + 8, 0);
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                Object[] row = rows.get(i);
+                insert(region, (Long) row[0], HealthCheckSegment.toMillis((LocalDateTime) row[1]),
+                        latency((Integer) row[2]), statusCode((Integer) row[3]), (HealthStatus) row[4]);
+            }
+            for (int i = appended.size() - 1; i >= 0; i--) {
+                insert(region, appended.id(i), appended.checkedAtMillis(i), appended.data.getInt(i * RECORD_BYTES + 16),
+                        appended.data.getShort(i * RECORD_BYTES + 20), appended.status(i));
+            }
+            if (buffer.getLong(base + 8) == 0) {
+                remove(resourceId);
+                return null;
+            }
+            buffer.putLong(base + 16, 1);
+            return region;
+        }
+    }
+
+    /**
+     * Inserts a record at its place in id order, shifting newer ones up;
+     * a record already held, or older than a full buffer's oldest, is
+     * dropped. Appends are nearly always in order, so the shift is short.
+     */
+    private void insert(int region, long id, long checkedAtMillis, int latency, short statusCode,
+            HealthStatus status) {
+        int base = regionOffset(region);
+        synchronized (locks[region]) {
+            long sequence = buffer.getLong(base + 8);
+            long oldest = Math.max(0, sequence - slots);
+            long at = sequence;
+            while (at > oldest) {
+                long previous = buffer.getLong(recordOffset(base, at - 1));
+                if (previous == id) {
+                    return;
+                }
+                if (previous < id) {
+                    break;
+                }
+                at--;
+            }
+            if (at == oldest && sequence >= slots) {
+                return;
+            }
+            for (long s = sequence; s > at; s--) {
+                int to = recordOffset(base, s);
+                int from = recordOffset(base, s - 1);
+                buffer.putLong(to, buffer.getLong(from));
+                buffer.putLong(to + 8, buffer.getLong(from + 8));
+                buffer.putLong(to + 16, buffer.getLong(from + 16));
+            }
+            int to = recordOffset(base, at);
+            buffer.putLong(to, id);
+            buffer.putLong(to + 8, checkedAtMillis);
+            buffer.putInt(to + 16, latency);
+            buffer.putShort(to + 20, statusCode);
+            buffer.put(to + 22, (byte) status.ordinal());
+            buffer.putLong(base + 8, sequence + 1);
+        }
+    }
+
+    private static int latency(Integer latency) {
+        return latency != null ? latency : NULL_LATENCY;
+    }
+
+    private static short statusCode(Integer statusCode) {
+        return statusCode != null ? (short) (int) statusCode : -1;
+    }
+
+    private Records copy(Long resourceId, int base, long sequence, int n) {
+        byte[] data = new byte[n * RECORD_BYTES];
+        for (int k = 0; k < n; k++) {
+            buffer.get(recordOffset(base, sequence - 1 - k), data, k * RECORD_BYTES, RECORD_BYTES);
+        }
+        return new Records(resourceId, data, n);
+    }
+
+    private void clear() {
+        for (Long resourceId : List.copyOf(regionOf.keySet())) {
+            remove(resourceId);
+        }
+    }
+
+    private synchronized Integer claim(Long resourceId) {
+        Integer existing = regionOf.get(resourceId);
+        if (existing != null) {
+            return existing;
+        }
+        for (int region = 0; region < regions; region++) {
+            if (buffer.getLong(regionOffset(region)) == 0) {
+                buffer.putLong(regionOffset(region) + 8, 0);
+                buffer.putLong(regionOffset(region) + 16, 0);
+                buffer.putLong(regionOffset(region), resourceId);
+                regionOf.put(resourceId, region);
+                return region;
+            }
+        }
+        if (!fullWarned) {
+            log.warn("Health check hot store is full ({} resources); others are served from the table", regions);
+            fullWarned = true;
+        }
+        return null;
+    }
+
+    private int regionOffset(int region) {
+        return HEADER_BYTES + region * regionBytes;
+    }
+
+    private int recordOffset(int base, long sequence) {
+        return base + REGION_HEADER_BYTES + (int) (sequence % slots) * RECORD_BYTES;
+    }
+
+    /**
+     * A copy of some records of one resource, newest first, read through
+     * primitive accessors.
+     */
+    public static final class Records {
+
+        private final long resourceId;
+        private final ByteBuffer data;
+        private final int size;
+
+        private Records(long resourceId, byte[] data, int size) {
+            this.resourceId = resourceId;
+            this.data = ByteBuffer.wrap(data);
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long resourceId() {
+            return resourceId;
+        }
+
+        public long id(int index) {
+            return data.getLong(index * RECORD_BYTES);
+        }
+
+        public long checkedAtMillis(int index) {
+            return data.getLong(index * RECORD_BYTES + 8);
+        }
+
+        public boolean hasLatency(int index) {
+            return data.getInt(index * RECORD_BYTES + 16) != NULL_LATENCY;
+        }
+
+        /** Latency in ms; only meaningful when {@link #hasLatency}. */
+        public int latency(int index) {
+            return data.getInt(index * RECORD_BYTES + 16);
+        }
+
+        public boolean hasStatusCode(int index) {
+            return data.getShort(index * RECORD_BYTES + 20) != -1;
+        }
+
+        public int statusCode(int index) {
+            return data.getShort(index * RECORD_BYTES + 20);
+        }
+
+        public HealthStatus status(int index) {
+            return STATUSES[data.get(index * RECORD_BYTES + 22)];
+        }
+    }
+}
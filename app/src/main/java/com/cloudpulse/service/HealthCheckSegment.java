@@ -0,0 +1,237 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar encoding of one resource-day of health checks.
+ *
+ * Layout (all varints are LEB128, signed ones zigzag-encoded):
+ * <pre>
+ * int   magic "CPSG", byte version, int rowCount
+ * long  first id, long first checkedAt (epoch millis, LocalDateTime read as UTC)
+ * dict  varint size, then varint length + UTF-8 bytes per distinct message/details string
+ * ids   signed varint delta to the previous id
+ * time  signed varint first delta, then delta-of-delta (0 for a steady probe interval)
+ * status     one byte per row (enum ordinal)
+ * statusCode signed varint + 1, 0 for null
+ * latency    signed varint + 1, 0 for null
+ * message    varint dictionary index + 1, 0 for null
+ * details    varint dictionary index + 1, 0 for null
+ * </pre>
+ * Rows are stored in (checkedAt, id) order.
+ */
+final class HealthCheckSegment {
+
+    private static final int MAGIC = 0x43505347;
+    private static final byte VERSION = 1;
+    private static final HealthStatus[] STATUSES = HealthStatus.values();
+
+    static final Comparator<HealthCheck> ORDER = Comparator
+            .comparing(HealthCheck::getCheckedAt)
+            .thenComparing(HealthCheck::getId);
+
+    private HealthCheckSegment() {
+    }
+
+    static byte[] encode(List<HealthCheck> checks) {
+        List<HealthCheck> rows = new ArrayList<>(checks);
+        rows.sort(ORDER);
+        int n = rows.size();
+
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (HealthCheck check : rows) {
+            if (check.getMessage() != null) {
+                dictionary.putIfAbsent(check.getMessage(), dictionary.size());
+            }
+            if (check.getDetails() != null) {
+                dictionary.putIfAbsent(check.getDetails(), dictionary.size());
+            }
+        }
+
+        Output out = new Output(64 + n * 8);
+        out.writeInt(MAGIC);
+        out.write(VERSION);
+        out.writeInt(n);
+        out.writeLong(n > 0 ? rows.get(0).getId() : 0);
+        out.writeLong(n > 0 ? toMillis(rows.get(0).getCheckedAt()) : 0);
+
+        out.writeVarint(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeVarint(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        for (int i = 1; i < n; i++) {
+            out.writeSignedVarint(rows.get(i).getId() - rows.get(i - 1).getId());
+        }
+        long previousDelta = 0;
+        for (int i = 1; i < n; i++) {
+            long delta = toMillis(rows.get(i).getCheckedAt()) - toMillis(rows.get(i - 1).getCheckedAt());
+            out.writeSignedVarint(i == 1 ? delta : delta - previousDelta);
+            previousDelta = delta;
+        }
+        for (HealthCheck check : rows) {
+            out.write(check.getStatus().ordinal());
+        }
+        for (HealthCheck check : rows) {
+            out.writeNullable(check.getStatusCode());
+        }
+        for (HealthCheck check : rows) {
+            out.writeNullable(check.getResponseTimeMs());
+        }
+        for (HealthCheck check : rows) {
+            out.writeVarint(check.getMessage() != null ? dictionary.get(check.getMessage()) + 1 : 0);
+        }
+        for (HealthCheck check : rows) {
+            out.writeVarint(check.getDetails() != null ? dictionary.get(check.getDetails()) + 1 : 0);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a segment into detached {@link HealthCheck}s (resource unset),
+     * in (checkedAt, id) order.
+     */
+    static List<HealthCheck> decode(ByteBuffer in) {
+        if (in.getInt() != MAGIC || in.get() != VERSION) {
+            throw new IllegalStateException("Not a health check segment");
+        }
+        int n = in.getInt();
+        long[] ids = new long[n];
+        long[] millis = new long[n];
+        long firstId = in.getLong();
+        long firstMillis = in.getLong();
+
+        String[] dictionary = new String[readVarint(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] bytes = new byte[readVarint(in)];
+            in.get(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        if (n > 0) {
+            ids[0] = firstId;
+            millis[0] = firstMillis;
+        }
+        for (int i = 1; i < n; i++) {
+            ids[i] = ids[i - 1] + readSignedVarint(in);
+        }
+        long delta = 0;
+        for (int i = 1; i < n; i++) {
+            long value = readSignedVarint(in);
+            delta = i == 1 ? value : delta + value;
+            millis[i] = millis[i - 1] + delta;
+        }
+
+        List<HealthCheck> checks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            HealthCheck check = new HealthCheck();
+            check.setId(ids[i]);
+            check.setCheckedAt(fromMillis(millis[i]));
+            check.setStatus(STATUSES[in.get()]);
+            checks.add(check);
+        }
+        for (HealthCheck check : checks) {
+            check.setStatusCode(readNullable(in));
+        }
+        for (HealthCheck check : checks) {
+            check.setResponseTimeMs(readNullable(in));
+        }
+        for (HealthCheck check : checks) {
+            int index = readVarint(in);
+            check.setMessage(index > 0 ? dictionary[index - 1] : null);
+        }
+        for (HealthCheck check : checks) {
+            int index = readVarint(in);
+            check.setDetails(index > 0 ? dictionary[index - 1] : null);
+        }
+        return checks;
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.get(ChronoField.MILLI_OF_SECOND);
+    }
+
+    static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static Integer readNullable(ByteBuffer in) {
+        long value = readSignedVarint(in);
+        return value == 0 ? null : (int) (value > 0 ? value - 1 : value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        return (int) readUnsignedVarint(in);
+    }
+
+    private static long readSignedVarint(ByteBuffer in) {
+        long raw = readUnsignedVarint(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static long readUnsignedVarint(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+
+        Output(int size) {
+            super(size);
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * Shifts non-negative values up by one so 0 can stand for null;
+         * negative values are left as they are.
+         */
+        void writeNullable(Integer value) {
+            writeSignedVarint(value == null ? 0 : value >= 0 ? value + 1L : value);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.cloudpulse.service;
 
+import com.cloudpulse.dto.HealthCheckSeries;
+import com.cloudpulse.dto.ResourceStats;
+import com.cloudpulse.exception.ResourceNotFoundException;
+import com.cloudpulse.model.ChangeLogEntry.ChangeType;
+import com.cloudpulse.model.ChangeLogEntry.EntityType;
 import com.cloudpulse.model.HealthCheck;
 import com.cloudpulse.model.HealthCheck.HealthStatus;
 import com.cloudpulse.model.Resource;
 import com.cloudpulse.model.Resource.ResourceStatus;
 import com.cloudpulse.repository.HealthCheckRepository;
+import com.cloudpulse.repository.LatestHealthCheckRepository;
 import com.cloudpulse.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,43 +18,226 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
 import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class HealthCheckService {
 
+    static final int MAX_SERIES_BUCKETS = 10_000;
+
     private final HealthCheckRepository healthCheckRepository;
+    private final LatestHealthCheckRepository latestHealthCheckRepository;
+    private final FleetStatusService fleetStatusService;
     private final ResourceRepository resourceRepository;
+    private final IncidentCorrelationService incidentCorrelationService;
+    private final AlertRuleEngine alertRuleEngine;
+    private final HealthCheckArchive healthCheckArchive;
+    private final HealthCheckHotStore healthCheckHotStore;
+    private final ResourceStatsTable resourceStatsTable;
+    private final SparseFieldsetWriter sparseFieldsetWriter;
+    private final ChangeLogService changeLogService;
+    private final ChangeTracker changeTracker;
     private final Random random = new Random();
 
+    /** Fields of the default check history: those the hot store holds. */
+    static final String HISTORY_FIELDS = "id,resourceId,status,responseTimeMs,statusCode,checkedAt";
+
     /**
-     * Returns the latest N health checks for a specific resource.
+     * Returns the latest N health checks for a specific resource from the
+     * table, continuing into the archive when the table holds fewer than N.
      */
+    @Transactional(readOnly = true)
     public List<HealthCheck> getChecksForResource(Long resourceId, int limit) {
-        return healthCheckRepository.findLatestByResourceId(resourceId, PageRequest.of(0, limit));
+        List<HealthCheck> live = healthCheckRepository.findLatestByResourceId(resourceId, PageRequest.of(0, limit));
+        if (live.size() >= limit || healthCheckArchive.isEmpty(resourceId)) {
+            return live;
+        }
+
+        List<HealthCheck> merged = new ArrayList<>(live);
+        Set<Long> liveIds = live.stream().map(HealthCheck::getId).collect(Collectors.toSet());
+        Resource resource = resourceRepository.getReferenceById(resourceId);
+        for (HealthCheck archived : healthCheckArchive.latest(resourceId, limit)) {
+            if (merged.size() == limit) {
+                break;
+            }
+            if (!liveIds.contains(archived.getId())) {
+                archived.setResource(resource);
+                merged.add(archived);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Id of the newest check of a resource, from the hot store when it can
+     * tell, otherwise from the latest-check table; empty before its first
+     * check.
+     */
+    public Optional<Long> getNewestCheckId(Long resourceId) {
+        OptionalLong hot = healthCheckHotStore.newestId(resourceId);
+        return hot.isPresent() ? Optional.of(hot.getAsLong()) : latestHealthCheckRepository.findCheckId(resourceId);
+    }
+
+    /**
+     * The newest check of a resource, if it has any.
+     */
+    @Transactional(readOnly = true)
+    public Optional<HealthCheck> getLatestCheck(Long resourceId) {
+        return getChecksForResource(resourceId, 1).stream().findFirst();
+    }
+
+    /**
+     * The newest check of each resource that has one, keyed by resource id:
+     * one IN-list query, then the archive for resources without live checks.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, HealthCheck> getLatestChecks(Collection<Resource> resources) {
+        Map<Long, HealthCheck> latest = new HashMap<>();
+        if (resources.isEmpty()) {
+            return latest;
+        }
+        Map<Long, Resource> byId = new HashMap<>();
+        resources.forEach(resource -> byId.put(resource.getId(), resource));
+        for (HealthCheck check : healthCheckRepository.findNewestByResourceIdIn(byId.keySet())) {
+            latest.put(check.getResource().getId(), check);
+        }
+        byId.forEach((id, resource) -> {
+            if (!latest.containsKey(id) && !healthCheckArchive.isEmpty(id)) {
+                healthCheckArchive.latest(id, 1).forEach(check -> {
+                    check.setResource(resource);
+                    latest.put(id, check);
+                });
+            }
+        });
+        return latest;
+    }
+
+    /**
+     * Writes the selected fields (by default {@link #HISTORY_FIELDS}) of the
+     * newest checks of a resource. Written straight from the hot store's
+     * records when it holds the selected fields and enough checks; message
+     * and details, or a store that cannot answer, go through
+     * {@link #getChecksForResource}.
+     */
+    public StreamingResponseBody streamChecksForResource(String fields, Long resourceId, int limit) {
+        String spec = fields != null ? fields : HISTORY_FIELDS;
+        List<Fieldset.Field<HealthCheck>> selected = Fieldset.HEALTH_CHECK.select(spec);
+        if (selected.stream().allMatch(field -> HealthCheckHotStore.FIELDS.contains(field.name()))) {
+            HealthCheckHotStore.Records records = healthCheckHotStore.latest(resourceId, limit,
+                    !healthCheckArchive.isEmpty(resourceId));
+            if (records != null) {
+                return sparseFieldsetWriter.write(selected, records);
+            }
+        }
+        return sparseFieldsetWriter.write(Fieldset.HEALTH_CHECK, spec, getChecksForResource(resourceId, limit));
+    }
+
+    public StreamingResponseBody streamRecentChecks(String fields, int hours) {
+        return sparseFieldsetWriter.query(Fieldset.HEALTH_CHECK, fields, "h.checkedAt >= :since",
+                Map.of("since", LocalDateTime.now().minusHours(hours)), "h.checkedAt DESC", null);
     }
 
     /**
      * Returns all health checks from the last N hours.
      */
+    @Transactional(readOnly = true)
     public List<HealthCheck> getRecentChecks(int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
         return healthCheckRepository.findRecentChecks(since);
     }
 
     /**
-     * Returns the average response time for a resource over the last N hours.
+     * Returns the average response time for a resource over the last N hours,
+     * from the hot store when its buffer reaches back that far.
+     *
+     * Not answered from {@link ResourceStatsTable}: its latency is an EWMA
+     * over the checks this instance has recorded since it started, which is
+     * neither a mean nor bounded by the window, and misses checks written by
+     * other instances. The hot store keeps the samples themselves, followed
+     * from every instance.
      */
     public Double getAvgResponseTime(Long resourceId, int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
+        OptionalDouble hot = healthCheckHotStore.averageLatencySince(resourceId, HealthCheckSegment.toMillis(since));
+        if (hot.isPresent()) {
+            return Double.isNaN(hot.getAsDouble()) ? null : hot.getAsDouble();
+        }
         return healthCheckRepository.avgResponseTimeByResourceSince(resourceId, since);
     }
 
+    /**
+     * Returns the running latency/status statistics for a resource from the
+     * in-memory stats table.
+     */
+    public ResourceStats getStats(Long resourceId) {
+        ResourceStats stats = resourceStatsTable.get(resourceId);
+        if (stats == null) {
+            throw new ResourceNotFoundException("No health check statistics for resource: " + resourceId);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns fixed-step latency/status buckets for a resource, aggregated in
+     * the database so the payload is bounded by the bucket count rather than
+     * the number of checks in the range. With {@code maxPoints}, the buckets
+     * are further reduced with LTTB to at most that many points.
+     */
+    @Transactional(readOnly = true)
+    public HealthCheckSeries getSeries(Long resourceId, LocalDateTime from, LocalDateTime to,
+            Duration step, Integer maxPoints) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        long stepSeconds = step.toSeconds();
+        if (stepSeconds < 1) {
+            throw new IllegalArgumentException("'step' must be at least one second");
+        }
+        long buckets = (Duration.between(from, to).toSeconds() + stepSeconds - 1) / stepSeconds;
+        if (buckets > MAX_SERIES_BUCKETS) {
+            throw new IllegalArgumentException(String.format(
+                    "Range/step yields %d buckets; at most %d are allowed", buckets, MAX_SERIES_BUCKETS));
+        }
+        if (maxPoints != null && maxPoints < 3) {
+            throw new IllegalArgumentException("'points' must be at least 3");
+        }
+
+        List<Object[]> rows = new ArrayList<>(healthCheckRepository.aggregateSeries(resourceId, from, to, stepSeconds));
+        rows.addAll(aggregateArchived(resourceId, from, to, stepSeconds));
+        List<HealthCheckSeries.Point> points = toPoints(rows, from, stepSeconds);
+        boolean downsampled = maxPoints != null && points.size() > maxPoints;
+        if (downsampled) {
+            points = downsample(points, maxPoints);
+        }
+
+        return HealthCheckSeries.builder()
+                .resourceId(resourceId)
+                .from(from)
+                .to(to)
+                .stepSeconds(stepSeconds)
+                .downsampled(downsampled)
+                .points(points)
+                .build();
+    }
+
     /**
      * Performs a health check on a specific resource and records the result.
      * In a real implementation, this would ping the actual resource.
@@ -70,13 +259,25 @@ public class HealthCheckService {
                 .build();
 
         HealthCheck saved = healthCheckRepository.save(check);
+        fleetStatusService.recordCheck(saved);
+        AfterCommit.run(() -> {
+            healthCheckHotStore.append(resource.getId(), saved);
+            resourceStatsTable.record(resource.getId(), responseTime, status,
+                    HealthCheckSegment.toMillis(saved.getCheckedAt()));
+        });
 
         // Update the resource status based on this health check
         ResourceStatus newStatus = mapToResourceStatus(status);
+        if (newStatus != resource.getStatus()) {
+            changeLogService.record(EntityType.RESOURCE, resource.getId(), ChangeType.STATUS_CHANGED, newStatus);
+        }
         resource.setStatus(newStatus);
         resource.setLastCheckedAt(LocalDateTime.now());
         resourceRepository.save(resource);
+        changeTracker.changed(ChangeTracker.Collection.RESOURCES);
 
+        incidentCorrelationService.recordCheck(resource, status);
+        alertRuleEngine.evaluate(resource, saved);
         return saved;
     }
 
@@ -101,6 +302,85 @@ public class HealthCheckService {
         log.info("Scheduled health checks completed");
     }
 
+    /**
+     * Folds the (bucket, status) rows of {@link HealthCheckRepository#aggregateSeries}
+     * into one point per bucket.
+     */
+    private List<HealthCheckSeries.Point> toPoints(List<Object[]> rows, LocalDateTime from, long stepSeconds) {
+        Map<Long, HealthCheckSeries.Point> byBucket = new TreeMap<>();
+        Map<Long, Double> latencySums = new LinkedHashMap<>();
+        Map<Long, Long> latencySamples = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            long bucket = ((Number) row[0]).longValue();
+            long count = ((Number) row[2]).longValue();
+            Double avg = row[3] != null ? ((Number) row[3]).doubleValue() : null;
+            Integer max = row[4] != null ? ((Number) row[4]).intValue() : null;
+            long samples = ((Number) row[5]).longValue(); // checks with a latency, which avg is over
+
+            HealthCheckSeries.Point point = byBucket.computeIfAbsent(bucket, b -> HealthCheckSeries.Point.builder()
+                    .timestamp(from.plusSeconds(b * stepSeconds))
+                    .statusCounts(new LinkedHashMap<>())
+                    .build());
+            point.setChecks(point.getChecks() + count);
+            point.getStatusCounts().merge(row[1].toString(), count, Long::sum);
+            if (avg != null) {
+                latencySums.merge(bucket, avg * samples, Double::sum);
+                latencySamples.merge(bucket, samples, Long::sum);
+            }
+            if (max != null && (point.getMaxResponseTimeMs() == null || max > point.getMaxResponseTimeMs())) {
+                point.setMaxResponseTimeMs(max);
+            }
+        }
+        byBucket.forEach((bucket, point) -> {
+            Double sum = latencySums.get(bucket);
+            if (sum != null) {
+                point.setAvgResponseTimeMs(Math.round(sum / latencySamples.get(bucket) * 100.0) / 100.0);
+            }
+        });
+        return new ArrayList<>(byBucket.values());
+    }
+
+    /**
+     * Archived checks in the range, aggregated into the same (bucket, status,
+     * count, avg, max, latency samples) rows {@link HealthCheckRepository#aggregateSeries} returns.
+     */
+    private List<Object[]> aggregateArchived(Long resourceId, LocalDateTime from, LocalDateTime to,
+            long stepSeconds) {
+        Map<List<Object>, long[]> groups = new LinkedHashMap<>();
+        for (HealthCheck check : healthCheckArchive.read(resourceId, from, to)) {
+            long bucket = Duration.between(from, check.getCheckedAt()).toSeconds() / stepSeconds;
+            // count, latency samples, latency sum, latency max
+            long[] acc = groups.computeIfAbsent(List.of(bucket, check.getStatus()),
+                    k -> new long[] { 0, 0, 0, Long.MIN_VALUE });
+            acc[0]++;
+            if (check.getResponseTimeMs() != null) {
+                acc[1]++;
+                acc[2] += check.getResponseTimeMs();
+                acc[3] = Math.max(acc[3], check.getResponseTimeMs());
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, acc) -> rows.add(new Object[] { key.get(0), key.get(1), acc[0],
+                acc[1] > 0 ? (double) acc[2] / acc[1] : null,
+                acc[1] > 0 ? (int) acc[3] : null, acc[1] }));
+        return rows;
+    }
+
+    private List<HealthCheckSeries.Point> downsample(List<HealthCheckSeries.Point> points, int maxPoints) {
+        double[] x = new double[points.size()];
+        double[] y = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            HealthCheckSeries.Point point = points.get(i);
+            x[i] = Duration.between(points.get(0).getTimestamp(), point.getTimestamp()).toSeconds();
+            y[i] = point.getAvgResponseTimeMs() != null ? point.getAvgResponseTimeMs() : 0;
+        }
+        List<HealthCheckSeries.Point> selected = new ArrayList<>(maxPoints);
+        for (int index : Lttb.select(x, y, maxPoints)) {
+            selected.add(points.get(index));
+        }
+        return selected;
+    }
+
     // ---- Simulation helpers (replace with real probes in production) ----
 
     private HealthStatus simulateHealthCheck() {
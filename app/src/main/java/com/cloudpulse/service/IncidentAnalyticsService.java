@@ -0,0 +1,269 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentAnalyticsReport;
+import com.cloudpulse.dto.IncidentAnalyticsReport.TransitionStats;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incremental MTTA/MTTR analytics.
+ *
+ * Keeps per-severity, per-day aggregates (count, sum and a fixed-bucket
+ * histogram) of time-to-acknowledge and time-to-resolve, updated on each
+ * lifecycle transition. Reports over 1d/7d/30d merge at most 30 day buckets
+ * per severity and never query the incidents table; the only table read is
+ * a one-off warm-up of the retained days at startup.
+ *
+ * Transitions made on this instance are recorded once they commit, and
+ * those made on any instance arrive through {@link ChangeFeedFollower}, so
+ * every instance converges on the same figures. Each day keeps the ids it
+ * has counted, so a transition reaching it twice (its own commit and the
+ * feed, or the feed and the warm-up) is counted once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IncidentAnalyticsService {
+
+    static final int[] WINDOW_DAYS = { 1, 7, 30 };
+
+    private static final int RETAINED_DAYS = 32;
+
+    // Histogram upper bounds in seconds: 1m .. 7d, then an overflow bucket
+    private static final long[] BUCKET_BOUNDS = {
+            60, 120, 300, 600, 900, 1800, 2700, 3600, 5400, 7200, 10800, 14400,
+            21600, 28800, 43200, 64800, 86400, 172800, 259200, 604800 };
+
+    private final IncidentRepository incidentRepository;
+
+    private final Map<Severity, DailySeries> timeToAck = new EnumMap<>(Severity.class);
+    private final Map<Severity, DailySeries> timeToResolve = new EnumMap<>(Severity.class);
+
+    {
+        for (Severity severity : Severity.values()) {
+            timeToAck.put(severity, new DailySeries());
+            timeToResolve.put(severity, new DailySeries());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime since = LocalDate.now().minusDays(RETAINED_DAYS - 1).atStartOfDay();
+        List<Incident> incidents = incidentRepository.findTransitionedSince(since);
+        incidents.forEach(this::record);
+        log.info("Incident analytics warmed up from {} incidents", incidents.size());
+    }
+
+    /**
+     * Records whichever transitions the incident has been through.
+     */
+    public void record(Incident incident) {
+        if (incident.getAcknowledgedAt() != null) {
+            recordAcknowledged(incident.getId(), incident.getSeverity(), incident.getCreatedAt(),
+                    incident.getAcknowledgedAt());
+        }
+        if (incident.getResolvedAt() != null) {
+            recordResolved(incident.getId(), incident.getSeverity(), incident.getCreatedAt(),
+                    incident.getResolvedAt());
+        }
+    }
+
+    public void recordAcknowledged(Long incidentId, Severity severity, LocalDateTime createdAt,
+            LocalDateTime acknowledgedAt) {
+        record(timeToAck.get(severity), incidentId, createdAt, acknowledgedAt);
+    }
+
+    public void recordResolved(Long incidentId, Severity severity, LocalDateTime createdAt,
+            LocalDateTime resolvedAt) {
+        record(timeToResolve.get(severity), incidentId, createdAt, resolvedAt);
+    }
+
+    public IncidentAnalyticsReport getReport() {
+        return getReport(LocalDate.now());
+    }
+
+    IncidentAnalyticsReport getReport(LocalDate today) {
+        Map<String, Map<String, TransitionStats>> windows = new LinkedHashMap<>();
+        for (int days : WINDOW_DAYS) {
+            Map<String, TransitionStats> bySeverity = new LinkedHashMap<>();
+            Aggregate allAck = new Aggregate();
+            Aggregate allResolve = new Aggregate();
+            for (Severity severity : Severity.values()) {
+                Aggregate ack = timeToAck.get(severity).aggregate(today, days);
+                Aggregate resolve = timeToResolve.get(severity).aggregate(today, days);
+                allAck.merge(ack);
+                allResolve.merge(resolve);
+                bySeverity.put(severity.name(), toStats(ack, resolve));
+            }
+            bySeverity.put("ALL", toStats(allAck, allResolve));
+            windows.put(days + "d", bySeverity);
+        }
+        return IncidentAnalyticsReport.builder()
+                .generatedAt(LocalDateTime.now())
+                .windows(windows)
+                .build();
+    }
+
+    /**
+     * Mean time to resolution in minutes over the last {@code days} calendar
+     * days, across all severities; null when nothing was resolved.
+     */
+    public Double getMttrMinutes(int days) {
+        LocalDate today = LocalDate.now();
+        Aggregate all = new Aggregate();
+        timeToResolve.values().forEach(series -> all.merge(series.aggregate(today, days)));
+        return all.meanMinutes();
+    }
+
+    private void record(DailySeries series, Long incidentId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            return;
+        }
+        series.record(to.toLocalDate().toEpochDay(), incidentId, Duration.between(from, to).toSeconds());
+    }
+
+    private TransitionStats toStats(Aggregate ack, Aggregate resolve) {
+        return TransitionStats.builder()
+                .acknowledged(ack.count)
+                .mttaMinutes(ack.meanMinutes())
+                .mttaP90Minutes(ack.percentileMinutes(0.9))
+                .resolved(resolve.count)
+                .mttrMinutes(resolve.meanMinutes())
+                .mttrP90Minutes(resolve.percentileMinutes(0.9))
+                .build();
+    }
+
+    private static int bucketOf(long seconds) {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (seconds <= BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS.length;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Ring of per-day aggregates for one severity and one transition, with
+     * the incidents each day has counted. A slot is reset lazily when a newer
+     * day lands on it.
+     */
+    private static final class DailySeries {
+
+        private final long[] epochDays = new long[RETAINED_DAYS];
+        private final long[] counts = new long[RETAINED_DAYS];
+        private final long[] sums = new long[RETAINED_DAYS];
+        private final long[][] histograms = new long[RETAINED_DAYS][BUCKET_BOUNDS.length + 1];
+        private final List<Set<Long>> counted = new ArrayList<>(RETAINED_DAYS);
+
+        DailySeries() {
+            Arrays.fill(epochDays, Long.MIN_VALUE);
+            for (int slot = 0; slot < RETAINED_DAYS; slot++) {
+                counted.add(new HashSet<>());
+            }
+        }
+
+        synchronized void record(long epochDay, Long incidentId, long seconds) {
+            int slot = (int) Math.floorMod(epochDay, (long) RETAINED_DAYS);
+            if (epochDays[slot] != epochDay) {
+                if (epochDays[slot] > epochDay) {
+                    return; // older than the retained range
+                }
+                epochDays[slot] = epochDay;
+                counts[slot] = 0;
+                sums[slot] = 0;
+                Arrays.fill(histograms[slot], 0);
+                counted.get(slot).clear();
+            }
+            if (!counted.get(slot).add(incidentId)) {
+                return;
+            }
+            counts[slot]++;
+            sums[slot] += seconds;
+            histograms[slot][bucketOf(seconds)]++;
+        }
+
+        synchronized Aggregate aggregate(LocalDate today, int days) {
+            Aggregate result = new Aggregate();
+            long last = today.toEpochDay();
+            for (long day = last - days + 1; day <= last; day++) {
+                int slot = (int) Math.floorMod(day, (long) RETAINED_DAYS);
+                if (epochDays[slot] == day) {
+                    result.add(counts[slot], sums[slot], histograms[slot]);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Aggregate {
+
+        private long count;
+        private long sum;
+        private final long[] histogram = new long[BUCKET_BOUNDS.length + 1];
+
+        void add(long count, long sum, long[] histogram) {
+            this.count += count;
+            this.sum += sum;
+            for (int i = 0; i < histogram.length; i++) {
+                this.histogram[i] += histogram[i];
+            }
+        }
+
+        void merge(Aggregate other) {
+            add(other.count, other.sum, other.histogram);
+        }
+
+        Double meanMinutes() {
+            return count > 0 ? round((double) sum / count / 60.0) : null;
+        }
+
+        /**
+         * Estimates the percentile by interpolating linearly inside the
+         * histogram bucket that contains it.
+         */
+        Double percentileMinutes(double quantile) {
+            if (count == 0) {
+                return null;
+            }
+            double rank = quantile * count;
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                if (histogram[i] == 0) {
+                    continue;
+                }
+                if (seen + histogram[i] >= rank) {
+                    long lower = i == 0 ? 0 : BUCKET_BOUNDS[i - 1];
+                    if (i == BUCKET_BOUNDS.length) {
+                        return round(lower / 60.0);
+                    }
+                    double fraction = (rank - seen) / histogram[i];
+                    return round((lower + fraction * (BUCKET_BOUNDS[i] - lower)) / 60.0);
+                }
+                seen += histogram[i];
+            }
+            return round(BUCKET_BOUNDS[BUCKET_BOUNDS.length - 1] / 60.0);
+        }
+    }
+}
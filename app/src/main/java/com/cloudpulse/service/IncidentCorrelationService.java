@@ -0,0 +1,276 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.IncidentResourceLinkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Groups near-simultaneous check failures into one incident.
+ *
+ * Failures are counted per correlation key (provider/region/resource type)
+ * in a ring of time buckets covering the sliding window. Once the number of
+ * distinct failing resources in the window reaches the threshold, a single
+ * parent incident is opened and every failing resource — including later
+ * ones — is linked to it instead of paging once per resource. Each bucket
+ * keeps the resources first counted in it, and a bucket that leaves the
+ * window is dropped whole, so each check costs a map lookup and a
+ * fixed-size bucket scan with one set lookup per bucket.
+ *
+ * The per-key monitor guards only the in-memory state; incidents and links
+ * are written after it is released. Windows are per instance, so opening a
+ * parent takes a {@link JobLeases} lease on the key and first looks for an
+ * open parent with the same correlation key in the database: an instance
+ * that reaches the threshold after another links its failures to that
+ * parent instead of opening a second one.
+ */
+@Service
+@Slf4j
+public class IncidentCorrelationService {
+
+    private final IncidentService incidentService;
+    private final IncidentRepository incidentRepository;
+    private final IncidentResourceLinkRepository incidentResourceLinkRepository;
+    private final ActiveIncidentIndex activeIncidentIndex;
+    private final JobLeases jobLeases;
+
+    private final long windowSeconds;
+    private final long bucketSeconds;
+    private final int threshold;
+
+    private final Map<String, KeyState> states = new ConcurrentHashMap<>();
+
+    public IncidentCorrelationService(IncidentService incidentService,
+            IncidentRepository incidentRepository,
+            IncidentResourceLinkRepository incidentResourceLinkRepository,
+            ActiveIncidentIndex activeIncidentIndex,
+            JobLeases jobLeases,
+            @Value("${cloudpulse.correlation.window-seconds:120}") long windowSeconds,
+            @Value("${cloudpulse.correlation.bucket-seconds:10}") long bucketSeconds,
+            @Value("${cloudpulse.correlation.threshold:5}") int threshold) {
+        if (windowSeconds < bucketSeconds || bucketSeconds < 1 || threshold < 2) {
+            throw new IllegalArgumentException("Invalid correlation window/bucket/threshold settings");
+        }
+        this.incidentService = incidentService;
+        this.incidentRepository = incidentRepository;
+        this.incidentResourceLinkRepository = incidentResourceLinkRepository;
+        this.activeIncidentIndex = activeIncidentIndex;
+        this.jobLeases = jobLeases;
+        this.windowSeconds = windowSeconds;
+        this.bucketSeconds = bucketSeconds;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Re-attaches still-open storm incidents so failures after a restart keep
+     * linking to them instead of opening a second parent.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOpenStorms() {
+        for (Incident incident : incidentRepository.findActiveCorrelatedIncidents()) {
+            KeyState state = states.computeIfAbsent(incident.getCorrelationKey(), k -> new KeyState());
+            synchronized (state) {
+                state.parentIncidentId = incident.getId();
+                state.linked.addAll(incidentResourceLinkRepository.findResourceIdsByIncidentId(incident.getId()));
+            }
+        }
+    }
+
+    /**
+     * Feeds one check result into the correlator. Only failures count.
+     */
+    public void recordCheck(Resource resource, HealthStatus status) {
+        if (status != HealthStatus.DOWN && status != HealthStatus.TIMEOUT && status != HealthStatus.UNREACHABLE) {
+            return;
+        }
+        recordFailure(resource, System.currentTimeMillis() / 1000);
+    }
+
+    void recordFailure(Resource resource, long nowSeconds) {
+        String key = correlationKey(resource);
+        KeyState state = states.computeIfAbsent(key, k -> new KeyState());
+        Long linkTo = null;
+        List<Long> storm = null;
+        synchronized (state) {
+            int failing = state.record(resource.getId(), nowSeconds);
+
+            if (state.parentIncidentId != null && !state.pending
+                    && activeIncidentIndex.get(state.parentIncidentId).isEmpty()) {
+                state.closeStorm(); // parent resolved: the next storm gets a fresh incident
+            }
+
+            if (state.parentIncidentId != null) {
+                if (state.linked.add(resource.getId())) {
+                    linkTo = state.parentIncidentId;
+                }
+            } else if (failing >= threshold && !state.opening) {
+                state.opening = true;
+                storm = state.failing();
+            }
+        }
+        if (linkTo != null) {
+            link(state, linkTo, resource.getId());
+        } else if (storm != null) {
+            openStorm(key, resource, state, storm);
+        }
+    }
+
+    private void link(KeyState state, Long parentId, Long resourceId) {
+        AfterCommit.onRollback(() -> {
+            synchronized (state) {
+                state.linked.remove(resourceId);
+            }
+        });
+        incidentService.linkResources(parentId, List.of(resourceId));
+    }
+
+    /**
+     * Opens the parent incident of a storm, or joins the one another
+     * instance opened for the key. Gives up for now when another instance
+     * holds the key's lease; the next failure tries again.
+     */
+    private void openStorm(String key, Resource trigger, KeyState state, List<Long> failingIds) {
+        String lease = "storm:" + key;
+        if (!jobLeases.tryAcquire(lease, Duration.ofSeconds(windowSeconds))) {
+            synchronized (state) {
+                state.opening = false;
+            }
+            return;
+        }
+        Long parentId;
+        try {
+            List<Long> open = incidentRepository.findActiveIdsByCorrelationKey(key);
+            if (!open.isEmpty()) {
+                parentId = open.get(0);
+                incidentService.linkResources(parentId, failingIds);
+                log.info("Failure storm on {}: joining incident {} opened by another instance", key, parentId);
+            } else {
+                parentId = createParent(key, trigger, failingIds).getId();
+            }
+        } catch (RuntimeException e) {
+            synchronized (state) {
+                state.opening = false;
+            }
+            jobLeases.release(lease);
+            throw e;
+        }
+        synchronized (state) {
+            state.parentIncidentId = parentId;
+            state.linked.addAll(failingIds);
+            state.pending = true;
+            state.opening = false;
+        }
+        AfterCommit.run(() -> {
+            synchronized (state) {
+                state.pending = false;
+            }
+            jobLeases.release(lease);
+        });
+        AfterCommit.onRollback(() -> {
+            synchronized (state) {
+                state.closeStorm();
+            }
+            jobLeases.release(lease);
+        });
+    }
+
+    private Incident createParent(String key, Resource trigger, List<Long> failingIds) {
+        log.warn("Failure storm on {}: {} resources failing within {}s", key, failingIds.size(), windowSeconds);
+        String title = String.format("Correlated failures: %d %s resources in %s/%s",
+                failingIds.size(), trigger.getResourceType(), trigger.getProvider(), trigger.getRegion());
+        String description = String.format("%d %s resources in %s/%s failed health checks within %d seconds.",
+                failingIds.size(), trigger.getResourceType(), trigger.getProvider(), trigger.getRegion(),
+                windowSeconds);
+        return incidentService.createCorrelatedIncident(key, Severity.HIGH, title, description, failingIds);
+    }
+
+    static String correlationKey(Resource resource) {
+        return resource.getProvider() + "/" + resource.getRegion() + "/" + resource.getResourceType();
+    }
+
+    /**
+     * Sliding-window state for one correlation key. Guarded by its own monitor.
+     */
+    private final class KeyState {
+
+        private final int bucketCount = (int) ((windowSeconds + bucketSeconds - 1) / bucketSeconds);
+        private final long[] bucketIds = new long[bucketCount];
+        // Resources first counted in each bucket: a resource is counted once while a live bucket holds it
+        private final List<Set<Long>> bucketResources = new ArrayList<>(bucketCount);
+
+        private Long parentIncidentId;
+        private boolean pending;
+        private boolean opening; // a parent is being opened outside the monitor
+        private final Set<Long> linked = new HashSet<>();
+
+        KeyState() {
+            Arrays.fill(bucketIds, -1);
+            for (int i = 0; i < bucketCount; i++) {
+                bucketResources.add(new HashSet<>());
+            }
+        }
+
+        /**
+         * Counts the failure unless this resource was already counted inside
+         * the window, then returns the number of failures in the window.
+         * Buckets that fell out of the window are emptied as the scan passes
+         * them, so memory stays bounded by the resources failing in it.
+         */
+        int record(Long resourceId, long nowSeconds) {
+            long oldestBucket = (nowSeconds - windowSeconds) / bucketSeconds;
+            boolean counted = false;
+            for (int i = 0; i < bucketCount; i++) {
+                if (bucketIds[i] <= oldestBucket) {
+                    bucketResources.get(i).clear();
+                } else if (bucketResources.get(i).contains(resourceId)) {
+                    counted = true;
+                }
+            }
+            if (!counted) {
+                long bucketId = nowSeconds / bucketSeconds;
+                int slot = (int) (bucketId % bucketCount);
+                if (bucketIds[slot] != bucketId) {
+                    bucketIds[slot] = bucketId;
+                    bucketResources.get(slot).clear();
+                }
+                bucketResources.get(slot).add(resourceId);
+            }
+
+            int total = 0;
+            for (int i = 0; i < bucketCount; i++) {
+                if (bucketIds[i] > oldestBucket) {
+                    total += bucketResources.get(i).size();
+                }
+            }
+            return total;
+        }
+
+        List<Long> failing() {
+            List<Long> failing = new ArrayList<>();
+            bucketResources.forEach(failing::addAll); // expired buckets were emptied by record
+            return failing;
+        }
+
+        void closeStorm() {
+            parentIncidentId = null;
+            pending = false;
+            linked.clear();
+        }
+    }
+}
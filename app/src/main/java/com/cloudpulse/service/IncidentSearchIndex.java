@@ -0,0 +1,444 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over incident title, description, root cause
+ * and resolution.
+ *
+ * Text is lower-cased and split into alphanumeric terms. Each term maps to
+ * postings held as two parallel int arrays: ascending document numbers and
+ * field-weighted term frequencies (title counts 3, root cause and
+ * resolution 2, description 1). Document numbers only grow, so indexing
+ * appends to the postings and they stay sorted; when the text of an
+ * incident changes (its SHA-256 differs) it gets a new number and the old
+ * one is marked dead, and the index is compacted once a quarter of the
+ * documents are dead. A change of status or severity alone is applied in
+ * place. Each postings list also counts its live documents, which is the
+ * document frequency BM25 uses, so dead documents stop weighing on IDF as
+ * soon as they die rather than at the next compaction.
+ *
+ * Queries intersect the postings of their terms, rarest first, filter by
+ * severity/status from per-document arrays and rank with BM25. The index
+ * is built from the incidents table at startup, in pages, and kept current
+ * by {@link IncidentService} and {@link EscalationScheduler} for local
+ * writes and by {@link ChangeFeedFollower} for other instances'.
+ */
+@Component
+@Slf4j
+public class IncidentSearchIndex {
+
+    private static final int REBUILD_PAGE = 1000;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int ROOT_CAUSE_WEIGHT = 2;
+    private static final int RESOLUTION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on",
+            "or", "the", "to", "was", "were", "with");
+
+    /**
+     * Text and filter fields of one incident, copied so the index never
+     * holds on to the entity.
+     */
+    public record Document(Long id, String title, String description, String rootCause, String resolution,
+            Severity severity, IncidentStatus status) {
+
+        public static Document from(Incident incident) {
+            return new Document(incident.getId(), incident.getTitle(), incident.getDescription(),
+                    incident.getRootCause(), incident.getResolution(), incident.getSeverity(), incident.getStatus());
+        }
+
+        /**
+         * SHA-256 over the text fields, each length-prefixed; unlike a 32-bit
+         * hash, equal digests can be taken for equal text.
+         */
+        byte[] textDigest() {
+            MessageDigest sha;
+            try {
+                sha = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+            for (String field : new String[] { title, description, rootCause, resolution }) {
+                if (field == null) {
+                    sha.update((byte) 0);
+                    continue;
+                }
+                byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                sha.update((byte) 1);
+                sha.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+                sha.update(bytes);
+            }
+            return sha.digest();
+        }
+    }
+
+    public record Hit(Long incidentId, double score) {
+    }
+
+    public record Result(long total, List<Hit> hits) {
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+        private int live; // postings of documents not yet dead: the document frequency
+
+        void append(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+            live++;
+        }
+    }
+
+    private final IncidentRepository incidentRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Postings> terms = new HashMap<>();
+    private final Map<Long, Integer> docOf = new HashMap<>();
+    private long[] incidentIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private byte[][] textDigests = new byte[1024][];
+    private Postings[][] docPostings = new Postings[1024][]; // every postings list a document is in
+    private byte[] severities = new byte[1024];
+    private byte[] statuses = new byte[1024];
+    private final BitSet dead = new BitSet();
+    private int nextDoc;
+    private int deadCount;
+    private long totalLength;
+
+    public IncidentSearchIndex(IncidentRepository incidentRepository) {
+        this.incidentRepository = incidentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            long after = 0;
+            List<Incident> page;
+            while (!(page = incidentRepository.findPageAfter(after, PageRequest.of(0, REBUILD_PAGE))).isEmpty()) {
+                page.forEach(incident -> {
+                    Document document = Document.from(incident);
+                    add(document, document.textDigest());
+                });
+                after = page.get(page.size() - 1).getId();
+            }
+            log.info("Incident search index built: {} incidents, {} terms", docOf.size(), terms.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Document document) {
+        byte[] digest = document.textDigest();
+        lock.writeLock().lock();
+        try {
+            Integer doc = docOf.get(document.id());
+            if (doc != null && Arrays.equals(textDigests[doc], digest)) {
+                severities[doc] = (byte) document.severity().ordinal();
+                statuses[doc] = (byte) document.status().ordinal();
+                return;
+            }
+            if (doc != null) {
+                kill(doc);
+            }
+            add(document, digest);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long incidentId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docOf.remove(incidentId);
+            if (doc != null) {
+                kill(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Incidents containing every term of the query, best first. Null filters
+     * match all.
+     */
+    public Result search(String query, Set<Severity> severities, Set<IncidentStatus> statuses, int limit) {
+        List<String> queryTerms = tokenize(query).keySet().stream().toList();
+        if (queryTerms.isEmpty()) {
+            throw new IllegalArgumentException("'q' must contain at least one searchable word");
+        }
+        lock.readLock().lock();
+        try {
+            List<Postings> postings = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Postings p = terms.get(term);
+                if (p == null || p.live == 0) {
+                    return new Result(0, List.of());
+                }
+                postings.add(p);
+            }
+            postings.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            int liveDocs = docOf.size();
+            double avgLength = liveDocs > 0 ? (double) totalLength / liveDocs : 1;
+            double[] idf = new double[postings.size()];
+            for (int t = 0; t < postings.size(); t++) {
+                int df = postings.get(t).live;
+                idf[t] = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>((a, b) -> Double.compare(a.score(), b.score()));
+            long total = 0;
+            int[] cursors = new int[postings.size()];
+            Postings rarest = postings.get(0);
+            candidates:
+            for (int i = 0; i < rarest.size; i++) {
+                int doc = rarest.docs[i];
+                if (dead.get(doc) || !matches(doc, severities, statuses)) {
+                    continue;
+                }
+                double score = bm25(rarest.weights[i], idf[0], doc, avgLength);
+                for (int t = 1; t < postings.size(); t++) {
+                    Postings p = postings.get(t);
+                    int at = advance(p, cursors[t], doc);
+                    cursors[t] = at;
+                    if (at == p.size) {
+                        break candidates;
+                    }
+                    if (p.docs[at] != doc) {
+                        continue candidates;
+                    }
+                    score += bm25(p.weights[at], idf[t], doc, avgLength);
+                }
+                total++;
+                top.add(new Hit(incidentIds[doc], score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+            return new Result(total, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * First position at or after {@code from} whose document is at least
+     * {@code doc}: galloping, then binary search.
+     */
+    private static int advance(Postings p, int from, int doc) {
+        int bound = 1;
+        while (from + bound < p.size && p.docs[from + bound] < doc) {
+            bound <<= 1;
+        }
+        int low = from + (bound >> 1);
+        int high = Math.min(from + bound, p.size - 1);
+        if (low >= p.size || p.docs[high] < doc) {
+            return p.size;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (p.docs[mid] < doc) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private double bm25(int tf, double idf, int doc, double avgLength) {
+        return idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[doc] / avgLength));
+    }
+
+    private boolean matches(int doc, Set<Severity> severityFilter, Set<IncidentStatus> statusFilter) {
+        return (severityFilter == null || severityFilter.contains(Severity.values()[severities[doc]]))
+                && (statusFilter == null || statusFilter.contains(IncidentStatus.values()[statuses[doc]]));
+    }
+
+    private void add(Document document, byte[] digest) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        addField(weights, document.title(), TITLE_WEIGHT);
+        addField(weights, document.rootCause(), ROOT_CAUSE_WEIGHT);
+        addField(weights, document.resolution(), RESOLUTION_WEIGHT);
+        addField(weights, document.description(), DESCRIPTION_WEIGHT);
+
+        int doc = nextDoc++;
+        ensureCapacity(doc);
+        int length = weights.values().stream().mapToInt(Integer::intValue).sum();
+        incidentIds[doc] = document.id();
+        lengths[doc] = length;
+        textDigests[doc] = digest;
+        severities[doc] = (byte) document.severity().ordinal();
+        statuses[doc] = (byte) document.status().ordinal();
+        totalLength += length;
+        docOf.put(document.id(), doc);
+        Postings[] in = new Postings[weights.size()];
+        int[] next = { 0 };
+        weights.forEach((term, weight) -> {
+            Postings postings = terms.computeIfAbsent(term, k -> new Postings());
+            postings.append(doc, weight);
+            in[next[0]++] = postings;
+        });
+        docPostings[doc] = in;
+    }
+
+    private void kill(int doc) {
+        dead.set(doc);
+        deadCount++;
+        totalLength -= lengths[doc];
+        for (Postings postings : docPostings[doc]) {
+            postings.live--;
+        }
+        docPostings[doc] = null;
+        textDigests[doc] = null;
+    }
+
+    /**
+     * Drops dead documents from the postings and renumbers the live ones
+     * densely, in their existing order so the postings stay sorted.
+     */
+    private void compactIfNeeded() {
+        if (deadCount < 1024 || deadCount * 4 < nextDoc) {
+            return;
+        }
+        int[] renumbered = new int[nextDoc];
+        int[] termCounts = new int[nextDoc];
+        int live = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (dead.get(doc)) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = live;
+            incidentIds[live] = incidentIds[doc];
+            lengths[live] = lengths[doc];
+            textDigests[live] = textDigests[doc];
+            termCounts[live] = docPostings[doc].length;
+            severities[live] = severities[doc];
+            statuses[live] = statuses[doc];
+            docOf.put(incidentIds[live], live);
+            live++;
+        }
+        Postings[][] remapped = new Postings[docPostings.length][];
+        for (int doc = 0; doc < live; doc++) {
+            remapped[doc] = new Postings[termCounts[doc]];
+        }
+        int[] filled = new int[live];
+        Map<String, Postings> compacted = new HashMap<>(terms.size());
+        terms.forEach((term, postings) -> {
+            Postings kept = new Postings();
+            for (int i = 0; i < postings.size; i++) {
+                int doc = renumbered[postings.docs[i]];
+                if (doc >= 0) {
+                    kept.append(doc, postings.weights[i]);
+                    remapped[doc][filled[doc]++] = kept;
+                }
+            }
+            if (kept.size > 0) {
+                compacted.put(term, kept);
+            }
+        });
+        terms = compacted;
+        docPostings = remapped;
+        Arrays.fill(textDigests, live, nextDoc, null);
+        dead.clear();
+        deadCount = 0;
+        nextDoc = live;
+        log.debug("Incident search index compacted: {} incidents, {} terms", live, terms.size());
+    }
+
+    private void ensureCapacity(int doc) {
+        if (doc < incidentIds.length) {
+            return;
+        }
+        int capacity = incidentIds.length * 2;
+        incidentIds = Arrays.copyOf(incidentIds, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        textDigests = Arrays.copyOf(textDigests, capacity);
+        docPostings = Arrays.copyOf(docPostings, capacity);
+        severities = Arrays.copyOf(severities, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+
+    private void clear() {
+        terms = new HashMap<>();
+        docOf.clear();
+        dead.clear();
+        nextDoc = 0;
+        deadCount = 0;
+        totalLength = 0;
+    }
+
+    private static void addField(Map<String, Integer> weights, String text, int weight) {
+        tokenize(text).forEach((term, count) -> weights.merge(term, count * weight, Integer::sum));
+    }
+
+    /**
+     * Lower-cased alphanumeric terms of at least two characters, minus stop
+     * words, with their counts.
+     */
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        if (text == null) {
+            return counts;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean word = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                String term = lower.substring(start, i);
+                if (term.length() > 1 && !STOP_WORDS.contains(term)) {
+                    counts.merge(term, 1, Integer::sum);
+                }
+                start = -1;
+            }
+        }
+        return counts;
+    }
+}
@@ -1,38 +1,95 @@
 package com.cloudpulse.service;
 
+import com.cloudpulse.dto.IncidentNotification;
 import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.dto.IncidentSearchResult;
+import com.cloudpulse.exception.IncidentStateConflictException;
 import com.cloudpulse.exception.ResourceNotFoundException;
+import com.cloudpulse.model.ChangeLogEntry.ChangeType;
+import com.cloudpulse.model.ChangeLogEntry.EntityType;
 import com.cloudpulse.model.Incident;
 import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.IncidentResourceLink;
 import com.cloudpulse.model.Resource;
 import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.IncidentResourceLinkRepository;
 import com.cloudpulse.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class IncidentService {
 
+    private static final String ACTIVE_CONDITION = "i.status NOT IN ('RESOLVED', 'CLOSED')";
+    // Severity is stored by name; rank it by enum order (most severe first)
+    private static final String SEVERITY_RANK = Arrays.stream(Severity.values())
+            .map(s -> "WHEN '" + s.name() + "' THEN " + s.ordinal())
+            .collect(Collectors.joining(" ", "CASE i.severity ", " END"));
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final IncidentRepository incidentRepository;
     private final ResourceRepository resourceRepository;
+    private final IncidentResourceLinkRepository incidentResourceLinkRepository;
+    private final ActiveIncidentIndex activeIncidentIndex;
+    private final IncidentSearchIndex incidentSearchIndex;
+    private final IncidentAnalyticsService incidentAnalyticsService;
+    private final SparseFieldsetWriter sparseFieldsetWriter;
+    private final EscalationScheduler escalationScheduler;
+    private final NotificationService notificationService;
+    private final ChangeLogService changeLogService;
+    private final ChangeTracker changeTracker;
 
     public List<Incident> getAllIncidents() {
         return incidentRepository.findAll();
     }
 
+    /**
+     * Returns active incidents ordered by severity, then age. The ordering
+     * comes from the in-memory index, so the database only does a key lookup.
+     */
     public List<Incident> getActiveIncidents() {
-        return incidentRepository.findActiveIncidents();
+        return loadInOrder(activeIncidentIndex.activeIds());
     }
 
     public List<Incident> getActiveCriticalIncidents() {
-        return incidentRepository.findActiveCriticalIncidents();
+        return loadInOrder(activeIncidentIndex.activeIds(Severity.CRITICAL));
+    }
+
+    public StreamingResponseBody streamAllIncidents(String fields) {
+        return sparseFieldsetWriter.query(Fieldset.INCIDENT, fields, null, Map.of(), "i.id", null);
+    }
+
+    /**
+     * Streams the selected fields of active incidents in the same order as
+     * {@link #getActiveIncidents()}: severity, then age.
+     */
+    public StreamingResponseBody streamActiveIncidents(String fields) {
+        return sparseFieldsetWriter.query(Fieldset.INCIDENT, fields, ACTIVE_CONDITION, Map.of(),
+                SEVERITY_RANK + ", i.createdAt, i.id", null);
+    }
+
+    public StreamingResponseBody streamActiveCriticalIncidents(String fields) {
+        return sparseFieldsetWriter.query(Fieldset.INCIDENT, fields,
+                ACTIVE_CONDITION + " AND i.severity = 'CRITICAL'", Map.of(), "i.createdAt, i.id", null);
     }
 
     public Incident getIncidentById(Long id) {
@@ -44,6 +101,30 @@ public class IncidentService {
         return incidentRepository.findByResourceId(resourceId);
     }
 
+    public List<Incident> getActiveIncidentsByResource(Long resourceId) {
+        return loadInOrder(activeIncidentIndex.activeIdsForResource(resourceId));
+    }
+
+    /**
+     * Active incidents of each given resource, keyed by resource id; one
+     * IN-list query for all of them, none if none is active.
+     */
+    public Map<Long, List<Incident>> getActiveIncidentsByResources(Collection<Long> resourceIds) {
+        Map<Long, List<Long>> idsByResource = new HashMap<>();
+        List<Long> allIds = new ArrayList<>();
+        for (Long resourceId : resourceIds) {
+            List<Long> ids = activeIncidentIndex.activeIdsForResource(resourceId);
+            idsByResource.put(resourceId, ids);
+            allIds.addAll(ids);
+        }
+        Map<Long, Incident> byId = incidentRepository.findAllById(allIds).stream()
+                .collect(Collectors.toMap(Incident::getId, Function.identity()));
+        Map<Long, List<Incident>> result = new HashMap<>();
+        idsByResource.forEach((resourceId, ids) -> result.put(resourceId,
+                ids.stream().map(byId::get).filter(IncidentService::isActive).toList()));
+        return result;
+    }
+
     @Transactional
     public Incident createIncident(IncidentRequest request) {
         Incident.IncidentBuilder builder = Incident.builder()
@@ -61,34 +142,149 @@ public class IncidentService {
 
         Incident incident = builder.build();
         Incident saved = incidentRepository.save(incident);
+        reindex(saved, ChangeType.CREATED);
+        notificationService.incidentEvent(IncidentNotification.Event.INCIDENT_CREATED, saved);
         log.warn("🚨 Incident created: [{}] {} (Severity: {})",
                 saved.getId(), saved.getTitle(), saved.getSeverity());
         return saved;
     }
 
+    /**
+     * Opens an incident for a firing alert rule, tagged with the rule so the
+     * rule's open incident on the resource can be found again.
+     */
+    @Transactional
+    public Incident createAlertIncident(Long alertRuleId, IncidentRequest request) {
+        Incident saved = createIncident(request);
+        saved.setAlertRuleId(alertRuleId);
+        return saved;
+    }
+
+    /**
+     * Creates one parent incident for a storm of correlated failures and
+     * links every affected resource to it.
+     */
+    @Transactional
+    public Incident createCorrelatedIncident(String correlationKey, Severity severity, String title,
+            String description, Collection<Long> resourceIds) {
+        Incident saved = incidentRepository.save(Incident.builder()
+                .title(title)
+                .description(description)
+                .severity(severity)
+                .correlationKey(correlationKey)
+                .build());
+        linkResources(saved.getId(), resourceIds);
+        reindex(saved, ChangeType.CREATED);
+        notificationService.incidentEvent(IncidentNotification.Event.INCIDENT_CREATED, saved);
+        log.warn("🚨 Correlated incident created: [{}] {} ({} resources)",
+                saved.getId(), saved.getTitle(), resourceIds.size());
+        return saved;
+    }
+
+    /**
+     * Links the resources to the incident, skipping those already linked
+     * (another instance may have linked them to the same storm).
+     */
+    @Transactional
+    public void linkResources(Long incidentId, Collection<Long> resourceIds) {
+        Incident incident = incidentRepository.getReferenceById(incidentId);
+        Set<Long> linked = new HashSet<>(incidentResourceLinkRepository.findResourceIdsByIncidentId(incidentId));
+        for (Long resourceId : resourceIds) {
+            if (!linked.add(resourceId)) {
+                continue;
+            }
+            incidentResourceLinkRepository.save(IncidentResourceLink.builder()
+                    .incident(incident)
+                    .resource(resourceRepository.getReferenceById(resourceId))
+                    .build());
+        }
+    }
+
+    public List<Resource> getLinkedResources(Long incidentId) {
+        getIncidentById(incidentId);
+        return incidentResourceLinkRepository.findResourcesByIncidentId(incidentId);
+    }
+
+    /**
+     * Acknowledges an OPEN incident with a single conditional UPDATE, so two
+     * responders acting at once cannot overwrite each other.
+     */
     @Transactional
     public Incident acknowledgeIncident(Long id) {
-        Incident incident = getIncidentById(id);
-        incident.setStatus(IncidentStatus.ACKNOWLEDGED);
-        incident.setAcknowledgedAt(LocalDateTime.now());
-        log.info("Incident {} acknowledged", id);
-        return incidentRepository.save(incident);
+        List<Incident> acknowledged = acknowledgeIncidents(List.of(id));
+        if (acknowledged.isEmpty()) {
+            throw transitionConflict(id, "acknowledged");
+        }
+        return acknowledged.get(0);
+    }
+
+    /**
+     * Acknowledges every OPEN incident among {@code ids} in one statement and
+     * returns the ones that actually transitioned. No rows are locked up
+     * front: the UPDATE's WHERE clause is the guard, and only the rows it
+     * stamped are re-read.
+     */
+    @Transactional
+    public List<Incident> acknowledgeIncidents(Collection<Long> ids) {
+        LocalDateTime now = transitionTime();
+        if (ids.isEmpty() || incidentRepository.acknowledgeOpen(ids, now) == 0) {
+            return List.of();
+        }
+        List<Incident> acknowledged = incidentRepository.findTransitioned(ids, IncidentStatus.ACKNOWLEDGED, now);
+        for (Incident incident : acknowledged) {
+            reindex(incident, ChangeType.STATUS_CHANGED);
+            Long id = incident.getId();
+            Severity severity = incident.getSeverity();
+            LocalDateTime createdAt = incident.getCreatedAt();
+            AfterCommit.run(() -> incidentAnalyticsService.recordAcknowledged(id, severity, createdAt, now));
+        }
+        log.info("Incident(s) {} acknowledged", acknowledged.stream().map(Incident::getId).toList());
+        return acknowledged;
     }
 
+    /**
+     * Resolves an unresolved incident with a single conditional UPDATE.
+     */
     @Transactional
     public Incident resolveIncident(Long id, String rootCause, String resolution) {
-        Incident incident = getIncidentById(id);
-        incident.setStatus(IncidentStatus.RESOLVED);
-        incident.setRootCause(rootCause);
-        incident.setResolution(resolution);
-        incident.setResolvedAt(LocalDateTime.now());
-        log.info("Incident {} resolved: {}", id, resolution);
-        return incidentRepository.save(incident);
+        List<Incident> resolved = resolveIncidents(List.of(id), rootCause, resolution);
+        if (resolved.isEmpty()) {
+            throw transitionConflict(id, "resolved");
+        }
+        return resolved.get(0);
+    }
+
+    /**
+     * Resolves every unresolved incident among {@code ids} in one statement
+     * and returns the ones that actually transitioned. A null root cause or
+     * resolution keeps what the incident already has.
+     */
+    @Transactional
+    public List<Incident> resolveIncidents(Collection<Long> ids, String rootCause, String resolution) {
+        LocalDateTime now = transitionTime();
+        if (ids.isEmpty() || incidentRepository.resolveUnresolved(ids, now, rootCause, resolution) == 0) {
+            return List.of();
+        }
+        List<Incident> resolved = incidentRepository.findTransitioned(ids, IncidentStatus.RESOLVED, now);
+        for (Incident incident : resolved) {
+            reindex(incident, ChangeType.STATUS_CHANGED);
+            Long id = incident.getId();
+            Severity severity = incident.getSeverity();
+            LocalDateTime createdAt = incident.getCreatedAt();
+            AfterCommit.run(() -> incidentAnalyticsService.recordResolved(id, severity, createdAt, now));
+            notificationService.incidentEvent(IncidentNotification.Event.INCIDENT_RESOLVED, incident);
+        }
+        log.info("Incident(s) {} resolved: {}", resolved.stream().map(Incident::getId).toList(), resolution);
+        return resolved;
     }
 
     @Transactional
     public Incident updateIncident(Long id, IncidentRequest request) {
         Incident incident = getIncidentById(id);
+        if (request.getVersion() != null && !request.getVersion().equals(incident.getVersion())) {
+            throw new IncidentStateConflictException(String.format(
+                    "Incident %d is at version %d, not %d", id, incident.getVersion(), request.getVersion()));
+        }
         incident.setTitle(request.getTitle());
         incident.setDescription(request.getDescription());
         incident.setSeverity(request.getSeverity());
@@ -102,21 +298,112 @@ public class IncidentService {
         if (request.getResolution() != null) {
             incident.setResolution(request.getResolution());
         }
-        return incidentRepository.save(incident);
+        Incident saved = incidentRepository.save(incident);
+        reindex(saved, ChangeType.UPDATED);
+        return saved;
     }
 
     @Transactional
     public void deleteIncident(Long id) {
         Incident incident = getIncidentById(id);
+        incidentResourceLinkRepository.deleteByIncidentId(id);
         incidentRepository.delete(incident);
+        AfterCommit.run(() -> {
+            activeIncidentIndex.remove(id);
+            incidentSearchIndex.remove(id);
+        });
+        escalationScheduler.forget(id);
+        changeTracker.changed(ChangeTracker.Collection.INCIDENTS);
+        changeLogService.record(EntityType.INCIDENT, id, ChangeType.DELETED, null);
         log.info("Incident {} deleted", id);
     }
 
+    /**
+     * Deletes a chunk of incidents, with their resource links, in one short
+     * transaction. Used by the resource deletion pipeline.
+     */
+    @Transactional
+    public int purgeIncidents(List<Long> ids) {
+        incidentResourceLinkRepository.deleteByIncidentIdIn(ids);
+        incidentRepository.deleteAllByIdInBatch(ids);
+        AfterCommit.run(() -> ids.forEach(id -> {
+            activeIncidentIndex.remove(id);
+            incidentSearchIndex.remove(id);
+        }));
+        ids.forEach(escalationScheduler::forget);
+        ids.forEach(id -> {
+            changeTracker.changed(ChangeTracker.Collection.INCIDENTS);
+            changeLogService.record(EntityType.INCIDENT, id, ChangeType.DELETED, null);
+        });
+        return ids.size();
+    }
+
+    /**
+     * Full-text search over title, description, root cause and resolution,
+     * ranked by relevance; the matching rows are then loaded in one query.
+     */
+    public IncidentSearchResult search(String query, Set<Severity> severities, Set<IncidentStatus> statuses,
+            int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        IncidentSearchIndex.Result result = incidentSearchIndex.search(query, severities, statuses, limit);
+        Map<Long, Incident> byId = incidentRepository
+                .findAllById(result.hits().stream().map(IncidentSearchIndex.Hit::incidentId).toList()).stream()
+                .collect(Collectors.toMap(Incident::getId, Function.identity()));
+        List<IncidentSearchResult.Hit> hits = result.hits().stream()
+                .filter(hit -> byId.containsKey(hit.incidentId()))
+                .map(hit -> new IncidentSearchResult.Hit(hit.score(), byId.get(hit.incidentId())))
+                .toList();
+        return IncidentSearchResult.builder().total(result.total()).hits(hits).build();
+    }
+
     public long getActiveCount() {
-        return incidentRepository.findActiveIncidents().size();
+        return activeIncidentIndex.activeCount();
     }
 
     public long getCriticalCount() {
-        return incidentRepository.findActiveCriticalIncidents().size();
+        return activeIncidentIndex.count(Severity.CRITICAL);
+    }
+
+    private void reindex(Incident incident, ChangeType changeType) {
+        ActiveIncidentIndex.Entry entry = ActiveIncidentIndex.Entry.from(incident);
+        IncidentSearchIndex.Document document = IncidentSearchIndex.Document.from(incident);
+        AfterCommit.run(() -> {
+            activeIncidentIndex.update(entry);
+            incidentSearchIndex.index(document);
+        });
+        escalationScheduler.track(incident);
+        changeTracker.changed(ChangeTracker.Collection.INCIDENTS);
+        changeLogService.record(EntityType.INCIDENT, incident.getId(), changeType, incident.getStatus());
+    }
+
+    // matched against the stored value when re-reading, so no finer than the column keeps
+    private static LocalDateTime transitionTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private IncidentStateConflictException transitionConflict(Long id, String action) {
+        Incident current = getIncidentById(id);
+        return new IncidentStateConflictException(String.format(
+                "Incident %d cannot be %s from status %s", id, action, current.getStatus()));
+    }
+
+    /**
+     * Loads the index's ids in the index's order, dropping any row that is
+     * gone or no longer active — the index may trail another pod's commit.
+     */
+    private List<Incident> loadInOrder(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Incident> byId = incidentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Incident::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(IncidentService::isActive).toList();
+    }
+
+    private static boolean isActive(Incident incident) {
+        return incident != null && incident.getStatus() != IncidentStatus.RESOLVED
+                && incident.getStatus() != IncidentStatus.CLOSED;
     }
 }
@@ -0,0 +1,62 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.JobLease;
+import com.cloudpulse.repository.JobLeaseRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database leases for jobs every instance schedules but only one may run
+ * at a time. A lease is taken and renewed with a conditional UPDATE; if
+ * its holder dies, it lapses and the next instance to ask gets it. Leases
+ * are taken and released in their own transactions, so a caller inside a
+ * transaction neither holds the lease row nor loses its transaction to a
+ * concurrent insert.
+ */
+@Component
+public class JobLeases {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public JobLeases(JobLeaseRepository jobLeaseRepository, PlatformTransactionManager transactionManager) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Takes the lease, or renews it if this instance holds it; false while
+     * another instance does.
+     */
+    public boolean tryAcquire(String job, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer taken = transactionTemplate.execute(status ->
+                jobLeaseRepository.acquire(job, owner, now, now.plus(lease)));
+        if (taken != null && taken > 0) {
+            return true;
+        }
+        if (jobLeaseRepository.existsById(job)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jobLeaseRepository.save(new JobLease(job, owner, now.plus(lease))));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false; // created by another instance first
+        }
+    }
+
+    public void release(String job) {
+        transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.release(job, owner));
+    }
+}
@@ -0,0 +1,66 @@
+package com.cloudpulse.service;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling.
+ *
+ * Picks {@code threshold} of the input points so that the plotted line keeps
+ * its peaks and troughs: the first and last points are always kept, and from
+ * each intermediate bucket the point forming the largest triangle with the
+ * previously selected point and the next bucket's average wins.
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Returns the indexes of the selected points, in ascending order.
+     * {@code x} must be sorted ascending.
+     */
+    static int[] select(double[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (threshold >= n || threshold < 3) {
+            int[] all = new int[n];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        selected[0] = 0;
+
+        for (int i = 0; i < threshold - 2; i++) {
+            int nextStart = (int) Math.floor((i + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((i + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            int nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            int start = (int) Math.floor(i * bucketSize) + 1;
+            int end = (int) Math.floor((i + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int chosen = start;
+            for (int j = start; j < end; j++) {
+                double area = Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+            }
+            selected[i + 1] = chosen;
+            a = chosen;
+        }
+
+        selected[threshold - 1] = n - 1;
+        return selected;
+    }
+}
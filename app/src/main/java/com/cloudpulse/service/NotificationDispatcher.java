@@ -0,0 +1,285 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.OutboxMessage;
+import com.cloudpulse.repository.OutboxMessageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox rows to their webhook endpoints.
+ *
+ * Each tick reads the due rows, but only when woken by a commit or when the
+ * earliest retry has come due, so an idle outbox costs no queries. It lists
+ * the endpoints with due rows, leaving out those with a batch in flight or
+ * an open circuit, then reads up to {@code batch-size} rows for each, so a
+ * dead endpoint's backlog never hides another endpoint's rows. Rows are
+ * batched per endpoint into one POST of a JSON array, sent with a shared
+ * {@link HttpClient} (pooled keep-alive connections, non-blocking sends),
+ * with at most one batch in flight per endpoint. A delivered batch is
+ * deleted; a failed one is retried with exponential backoff and jitter until
+ * {@code max-attempts}. After {@code failure-threshold} consecutive failures
+ * an endpoint's circuit opens and it is left alone for {@code open-duration},
+ * then tried again with one batch. Rows that ran out of attempts are kept
+ * for {@code failed-retention}, then purged.
+ *
+ * Every instance runs a dispatcher over the same table. A batch is claimed
+ * before it is sent, with a conditional UPDATE that stamps the instance and
+ * a claim expiry ({@code claim}, longer than a request); rows another
+ * instance claimed first are skipped, so a notification goes out once
+ * unless its sender dies mid-request, in which case it is sent again after
+ * the claim lapses. Commits wake only the local dispatcher, and the circuit
+ * breakers are per instance, so besides waking for due rows each instance
+ * also polls at least every {@code fallback-poll}: rows written by other
+ * instances or left by a dead one are picked up within that.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService httpExecutor;
+    private final HttpClient httpClient;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final Duration requestTimeout;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Duration claim;
+    private final Duration fallbackPoll;
+    private final Duration failedRetention;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final AtomicBoolean woken = new AtomicBoolean(true);
+    private volatile LocalDateTime nextDue = LocalDateTime.MIN;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public NotificationDispatcher(OutboxMessageRepository outboxMessageRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${cloudpulse.notifications.batch-size:50}") int batchSize,
+            @Value("${cloudpulse.notifications.max-attempts:10}") int maxAttempts,
+            @Value("${cloudpulse.notifications.backoff-base:1s}") Duration backoffBase,
+            @Value("${cloudpulse.notifications.backoff-max:5m}") Duration backoffMax,
+            @Value("${cloudpulse.notifications.request-timeout:10s}") Duration requestTimeout,
+            @Value("${cloudpulse.notifications.failure-threshold:5}") int failureThreshold,
+            @Value("${cloudpulse.notifications.open-duration:30s}") Duration openDuration,
+            @Value("${cloudpulse.notifications.claim:1m}") Duration claim,
+            @Value("${cloudpulse.notifications.fallback-poll:30s}") Duration fallbackPoll,
+            @Value("${cloudpulse.notifications.failed-retention:7d}") Duration failedRetention) {
+        if (batchSize < 1 || maxAttempts < 1 || failureThreshold < 1) {
+            throw new IllegalArgumentException("Invalid notification batch/attempt/breaker settings");
+        }
+        if (claim.compareTo(requestTimeout) <= 0) {
+            throw new IllegalArgumentException("'claim' must be longer than 'request-timeout'");
+        }
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.httpExecutor = Executors.newFixedThreadPool(2, new CustomizableThreadFactory("webhook-"));
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .executor(httpExecutor)
+                .build();
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+        this.requestTimeout = requestTimeout;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.claim = claim;
+        this.fallbackPoll = fallbackPoll;
+        this.failedRetention = failedRetention;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpExecutor.shutdownNow();
+    }
+
+    /**
+     * Makes the next tick look for due rows.
+     */
+    public void wake() {
+        woken.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${cloudpulse.notifications.poll-ms:500}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!woken.getAndSet(false) && now.isBefore(nextDue)) {
+            return;
+        }
+        Set<String> blocked = new HashSet<>(inFlight);
+        blocked.add(""); // never an endpoint; an empty NOT IN list would match no row
+        breakers.forEach((endpoint, breaker) -> {
+            if (!breaker.allows(now)) {
+                blocked.add(endpoint);
+            }
+        });
+        for (String endpoint : outboxMessageRepository.findDueEndpoints(now, blocked)) {
+            CircuitBreaker breaker = breakers.computeIfAbsent(endpoint, k -> new CircuitBreaker());
+            if (!inFlight.add(endpoint)) {
+                continue;
+            }
+            List<OutboxMessage> due = outboxMessageRepository.findDue(endpoint, now, PageRequest.of(0, batchSize));
+            List<OutboxMessage> batch = due.isEmpty() ? due : claim(due, now);
+            if (batch.isEmpty()) {
+                inFlight.remove(endpoint); // claimed by another instance meanwhile
+                continue;
+            }
+            send(endpoint, batch, breaker);
+        }
+
+        LocalDateTime next = outboxMessageRepository.findNextAttemptAt();
+        if (next != null && !next.isAfter(now)) {
+            // Rows still due are waiting on a batch in flight, whose completion wakes us, or on an open circuit
+            next = breakers.values().stream()
+                    .map(breaker -> breaker.openUntil)
+                    .filter(until -> until != null && until.isAfter(now))
+                    .min(Comparator.naturalOrder())
+                    .orElse(null);
+        }
+        LocalDateTime fallback = now.plus(fallbackPoll);
+        nextDue = next != null && next.isBefore(fallback) ? next : fallback;
+    }
+
+    @Scheduled(cron = "${cloudpulse.notifications.cleanup-cron:0 45 * * * *}")
+    public void purgeFailed() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(failedRetention);
+        Integer deleted = transactionTemplate.execute(status -> outboxMessageRepository.deleteFailedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Notification outbox: {} undeliverable notifications older than {} removed",
+                    deleted, failedRetention);
+        }
+    }
+
+    /**
+     * The rows of the batch this instance managed to claim.
+     */
+    private List<OutboxMessage> claim(List<OutboxMessage> batch, LocalDateTime now) {
+        List<Long> ids = batch.stream().map(OutboxMessage::getId).toList();
+        LocalDateTime until = now.plus(claim).truncatedTo(ChronoUnit.MICROS); // compared as stored
+        return transactionTemplate.execute(status -> {
+            if (outboxMessageRepository.claim(ids, owner, now, until) == 0) {
+                return List.of();
+            }
+            return outboxMessageRepository.findClaimed(ids, owner, until);
+        });
+    }
+
+    private void send(String endpoint, List<OutboxMessage> batch, CircuitBreaker breaker) {
+        List<Long> ids = batch.stream().map(OutboxMessage::getId).toList();
+        int attempts = batch.stream().mapToInt(OutboxMessage::getAttempts).max().orElse(0) + 1;
+        String body = batch.stream().map(OutboxMessage::getPayload).collect(Collectors.joining(",", "[", "]"));
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(endpoint))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            completed(endpoint, ids, attempts, breaker, "Invalid endpoint: " + e.getMessage());
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    String failure = error != null ? String.valueOf(error.getMessage())
+                            : response.statusCode() / 100 != 2 ? "HTTP " + response.statusCode() : null;
+                    completed(endpoint, ids, attempts, breaker, failure);
+                });
+    }
+
+    private void completed(String endpoint, List<Long> ids, int attempts, CircuitBreaker breaker, String failure) {
+        try {
+            if (failure == null) {
+                transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.deleteAllByIdInBatch(ids));
+                breaker.success();
+                log.debug("Delivered {} notifications to {}", ids.size(), endpoint);
+            } else {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime next = now.plus(backoff(attempts));
+                String error = failure.length() > 1000 ? failure.substring(0, 1000) : failure;
+                Integer abandoned = transactionTemplate.execute(status -> {
+                    outboxMessageRepository.recordFailure(ids, next, error);
+                    return outboxMessageRepository.giveUp(ids, maxAttempts, now);
+                });
+                breaker.failure(now);
+                log.warn("Delivery of {} notifications to {} failed (attempt {}): {}{}", ids.size(), endpoint,
+                        attempts, failure, abandoned != null && abandoned > 0 ? "; giving up on " + abandoned : "");
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not record delivery outcome for {}: {}", endpoint, e.getMessage());
+        } finally {
+            inFlight.remove(endpoint);
+            wake();
+        }
+    }
+
+    /**
+     * base * 2^(attempt - 1), capped, with up to 20% jitter so endpoints that
+     * failed together do not retry in lockstep.
+     */
+    Duration backoff(int attempt) {
+        long millis = backoffBase.toMillis() << Math.min(attempt - 1, 20);
+        millis = Math.min(millis, backoffMax.toMillis());
+        return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(millis / 5 + 1));
+    }
+
+    /**
+     * Consecutive-failure circuit breaker for one endpoint. Only one batch per
+     * endpoint is ever in flight, so the first attempt after the open period
+     * is the single half-open trial.
+     */
+    private final class CircuitBreaker {
+
+        private int consecutiveFailures;
+        private volatile LocalDateTime openUntil;
+
+        boolean allows(LocalDateTime now) {
+            return openUntil == null || !now.isBefore(openUntil);
+        }
+
+        synchronized void success() {
+            consecutiveFailures = 0;
+            openUntil = null;
+        }
+
+        synchronized void failure(LocalDateTime now) {
+            consecutiveFailures++;
+            if (consecutiveFailures >= failureThreshold) {
+                openUntil = now.plus(openDuration);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentNotification;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.OutboxMessage;
+import com.cloudpulse.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Enqueues webhook notifications into the outbox, one row per configured
+ * endpoint, in the caller's transaction, so an event is only sent if the
+ * change it reports commits, and is never lost if it does. The
+ * {@link NotificationDispatcher} is woken after commit and delivers
+ * asynchronously; the caller never waits on a receiver.
+ */
+@Service
+public class NotificationService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ObjectMapper objectMapper;
+    private final List<String> endpoints;
+
+    public NotificationService(OutboxMessageRepository outboxMessageRepository,
+            NotificationDispatcher notificationDispatcher,
+            ObjectMapper objectMapper,
+            @Value("${cloudpulse.notifications.endpoints:}") String endpoints) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.objectMapper = objectMapper;
+        this.endpoints = Arrays.stream(endpoints.split(",")).map(String::trim).filter(e -> !e.isEmpty()).toList();
+    }
+
+    public void incidentEvent(IncidentNotification.Event event, Incident incident) {
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(IncidentNotification.of(event, incident));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notification", e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (String endpoint : endpoints) {
+            outboxMessageRepository.save(OutboxMessage.builder()
+                    .endpoint(endpoint)
+                    .payload(payload)
+                    .nextAttemptAt(now)
+                    .build());
+        }
+        AfterCommit.run(notificationDispatcher::wake);
+    }
+}
@@ -0,0 +1,223 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.BatchCheckRequest;
+import com.cloudpulse.dto.BatchCheckResult;
+import com.cloudpulse.exception.ProbeCapacityExceededException;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.Resource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * On-demand health checks with per-resource single-flight.
+ *
+ * Concurrent requests for the same resource share one in-flight probe and
+ * its result, so a burst of re-checks writes one row and one status update.
+ * With a {@code maxAge}, a check at least that recent is returned without
+ * probing at all. Coalescing is per instance.
+ *
+ * Probes run on a dedicated pool and callers get a future, so request
+ * threads never wait on a probe. At most {@code max-concurrent} probes run
+ * at once; single requests beyond that are refused rather than queued,
+ * while batches wait for a free slot. Each caller's future fails with a
+ * {@link TimeoutException} after the deadline, while the probe itself runs
+ * to completion and is recorded.
+ */
+@Service
+@Slf4j
+public class OnDemandCheckService {
+
+    private final HealthCheckService healthCheckService;
+    private final ResourceService resourceService;
+    private final ObjectMapper objectMapper;
+    private final Duration deadline;
+    private final int batchConcurrency;
+    private final Semaphore permits;
+    private final ExecutorService probeExecutor;
+
+    private final Map<Long, CompletableFuture<HealthCheck>> inFlight = new ConcurrentHashMap<>();
+
+    public OnDemandCheckService(HealthCheckService healthCheckService,
+            ResourceService resourceService,
+            ObjectMapper objectMapper,
+            @Value("${cloudpulse.ondemand.max-concurrent:16}") int maxConcurrent,
+            @Value("${cloudpulse.ondemand.batch-concurrency:8}") int batchConcurrency,
+            @Value("${cloudpulse.ondemand.deadline:35s}") Duration deadline) {
+        if (maxConcurrent < 1 || batchConcurrency < 1 || batchConcurrency > maxConcurrent
+                || deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("Invalid on-demand probe concurrency/deadline settings");
+        }
+        this.healthCheckService = healthCheckService;
+        this.resourceService = resourceService;
+        this.objectMapper = objectMapper;
+        this.deadline = deadline;
+        this.batchConcurrency = batchConcurrency;
+        this.permits = new Semaphore(maxConcurrent);
+        this.probeExecutor = Executors.newFixedThreadPool(maxConcurrent, new CustomizableThreadFactory("probe-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    public CompletableFuture<HealthCheck> run(Long resourceId, Duration maxAge) {
+        if (maxAge != null) {
+            if (maxAge.isNegative()) {
+                throw new IllegalArgumentException("'maxAge' must not be negative");
+            }
+            Optional<HealthCheck> recent = healthCheckService.getLatestCheck(resourceId);
+            LocalDateTime freshAfter = LocalDateTime.now().minus(maxAge);
+            if (recent.isPresent() && !recent.get().getCheckedAt().isBefore(freshAfter)) {
+                return CompletableFuture.completedFuture(recent.get());
+            }
+        }
+        return withDeadline(probe(resourceId, false));
+    }
+
+    /**
+     * Resolves the batch up front, then streams one NDJSON line per resource
+     * in completion order while at most {@code batch-concurrency} of its
+     * probes are in flight. Listed ids that do not exist get an error line.
+     * Each probe loads its resource when it starts, so a probe that waited
+     * for a slot checks the resource as it is then, and one deleted in the
+     * meantime gets an error line.
+     */
+    public StreamingResponseBody runBatch(BatchCheckRequest request) {
+        List<Resource> resources;
+        List<Long> missing = new ArrayList<>();
+        if (request.getResourceIds() != null && !request.getResourceIds().isEmpty()) {
+            Set<Long> ids = new LinkedHashSet<>(request.getResourceIds());
+            resources = resourceService.getByIds(ids);
+            resources.forEach(resource -> ids.remove(resource.getId()));
+            missing.addAll(ids);
+        } else if (request.getType() != null || request.getRegion() != null || request.getEnvironment() != null) {
+            resources = resourceService.getMatching(request.getType(), request.getRegion(), request.getEnvironment());
+        } else {
+            throw new IllegalArgumentException("Give 'resourceIds' or at least one of 'type', 'region', 'environment'");
+        }
+        log.info("Batch health check of {} resources", resources.size());
+
+        return out -> {
+            for (Long id : missing) {
+                writeLine(out, BatchCheckResult.builder().resourceId(id).error("Resource not found").build());
+            }
+            BlockingQueue<BatchCheckResult> completed = new LinkedBlockingQueue<>();
+            int next = 0;
+            int pending = 0;
+            try {
+                while (next < resources.size() || pending > 0) {
+                    while (next < resources.size() && pending < batchConcurrency) {
+                        Resource resource = resources.get(next++);
+                        pending++;
+                        withDeadline(probe(resource.getId(), true))
+                                .whenComplete((check, error) -> completed.add(toResult(resource, check, error)));
+                    }
+                    writeLine(out, completed.take());
+                    pending--;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private void writeLine(OutputStream out, BatchCheckResult result) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(result));
+        out.write('\n');
+        out.flush();
+    }
+
+    private CompletableFuture<HealthCheck> withDeadline(CompletableFuture<HealthCheck> probe) {
+        // a copy, so one caller's deadline never fails the probe shared with the others
+        return probe.copy().orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Joins the in-flight probe of the resource or starts one. Without a
+     * free slot a new probe fails fast, or with {@code waitForSlot} blocks
+     * the calling (non-request) thread until one frees up.
+     */
+    private CompletableFuture<HealthCheck> probe(Long resourceId, boolean waitForSlot) {
+        CompletableFuture<HealthCheck> probe = new CompletableFuture<>();
+        CompletableFuture<HealthCheck> running = inFlight.putIfAbsent(resourceId, probe);
+        if (running != null) {
+            log.debug("Joining in-flight check of resource {}", resourceId);
+            return running;
+        }
+        if (!acquire(waitForSlot)) {
+            inFlight.remove(resourceId, probe);
+            probe.completeExceptionally(new ProbeCapacityExceededException(
+                    "Too many on-demand health checks in progress, please retry shortly"));
+            return probe;
+        }
+        probeExecutor.execute(() -> {
+            try {
+                probe.complete(healthCheckService.performHealthCheck(resourceService.getResourceById(resourceId)));
+            } catch (RuntimeException e) {
+                probe.completeExceptionally(e);
+            } finally {
+                inFlight.remove(resourceId, probe);
+                permits.release();
+            }
+        });
+        return probe;
+    }
+
+    private boolean acquire(boolean wait) {
+        if (!wait) {
+            return permits.tryAcquire();
+        }
+        try {
+            permits.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static BatchCheckResult toResult(Resource resource, HealthCheck check, Throwable error) {
+        BatchCheckResult.BatchCheckResultBuilder result = BatchCheckResult.builder()
+                .resourceId(resource.getId())
+                .resourceName(resource.getName());
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            return result.error(cause instanceof TimeoutException
+                    ? "Health check did not finish before the deadline" : cause.getMessage()).build();
+        }
+        return result.checkId(check.getId())
+                .status(check.getStatus().name())
+                .responseTimeMs(check.getResponseTimeMs())
+                .statusCode(check.getStatusCode())
+                .message(check.getMessage())
+                .checkedAt(check.getCheckedAt())
+                .build();
+    }
+}
@@ -0,0 +1,234 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ResourceDeletionStatus;
+import com.cloudpulse.exception.ResourceNotFoundException;
+import com.cloudpulse.model.ChangeLogEntry.ChangeType;
+import com.cloudpulse.model.ChangeLogEntry.EntityType;
+import com.cloudpulse.model.ResourceDeletion;
+import com.cloudpulse.repository.HealthCheckRepository;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.IncidentResourceLinkRepository;
+import com.cloudpulse.repository.LatestHealthCheckRepository;
+import com.cloudpulse.repository.ResourceDeletionRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Purges deleted resources in the background.
+ *
+ * A delete request only marks the resource TERMINATED and stamps
+ * {@code deletion_requested_at}, which hides it from the resource queries.
+ * Each scheduler tick then removes one bounded chunk of the oldest pending
+ * resource's incidents, then its health checks, in its own short
+ * transaction; the tick interval is the throttle. The resource row goes
+ * last, together with its latest-check row and any rows a probe wrote while
+ * the purge ran, and the resource is then dropped from the hot store, stats
+ * table, archive and alert windows.
+ *
+ * Progress lives in {@code resource_deletions}, so any instance can report
+ * it. Every instance ticks, but each purge is run by one at a time: the
+ * instance claims the row with a conditional UPDATE and renews the claim
+ * on every chunk. If that instance stops, the claim lapses after the lease
+ * and another one picks the purge up where it stopped. A failed chunk
+ * gives the claim up for a short delay, so other purges go first.
+ */
+@Service
+@Slf4j
+public class ResourceDeletionService {
+
+    private static final Duration KEEP_COMPLETED = Duration.ofHours(1);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final ResourceRepository resourceRepository;
+    private final HealthCheckRepository healthCheckRepository;
+    private final IncidentRepository incidentRepository;
+    private final IncidentResourceLinkRepository incidentResourceLinkRepository;
+    private final LatestHealthCheckRepository latestHealthCheckRepository;
+    private final IncidentService incidentService;
+    private final HealthCheckHotStore healthCheckHotStore;
+    private final ResourceStatsTable resourceStatsTable;
+    private final HealthCheckArchive healthCheckArchive;
+    private final AlertRuleEngine alertRuleEngine;
+    private final ChangeLogService changeLogService;
+    private final ChangeTracker changeTracker;
+    private final ResourceDeletionRepository resourceDeletionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+
+    public ResourceDeletionService(ResourceRepository resourceRepository,
+            HealthCheckRepository healthCheckRepository,
+            IncidentRepository incidentRepository,
+            IncidentResourceLinkRepository incidentResourceLinkRepository,
+            LatestHealthCheckRepository latestHealthCheckRepository,
+            IncidentService incidentService,
+            HealthCheckHotStore healthCheckHotStore,
+            ResourceStatsTable resourceStatsTable,
+            HealthCheckArchive healthCheckArchive,
+            AlertRuleEngine alertRuleEngine,
+            ChangeLogService changeLogService,
+            ChangeTracker changeTracker,
+            ResourceDeletionRepository resourceDeletionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${cloudpulse.deletion.chunk-size:500}") int chunkSize,
+            @Value("${cloudpulse.deletion.lease:30s}") Duration lease) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid deletion chunk size: " + chunkSize);
+        }
+        this.resourceRepository = resourceRepository;
+        this.healthCheckRepository = healthCheckRepository;
+        this.incidentRepository = incidentRepository;
+        this.incidentResourceLinkRepository = incidentResourceLinkRepository;
+        this.latestHealthCheckRepository = latestHealthCheckRepository;
+        this.incidentService = incidentService;
+        this.healthCheckHotStore = healthCheckHotStore;
+        this.resourceStatsTable = resourceStatsTable;
+        this.healthCheckArchive = healthCheckArchive;
+        this.alertRuleEngine = alertRuleEngine;
+        this.changeLogService = changeLogService;
+        this.changeTracker = changeTracker;
+        this.resourceDeletionRepository = resourceDeletionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+    }
+
+    /**
+     * Gives resources marked for deletion before progress rows existed a
+     * row, so their purge is picked up. Idempotent on every instance.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        int added = 0;
+        for (Long id : resourceRepository.findIdsPendingDeletion()) {
+            if (resourceDeletionRepository.existsById(id)) {
+                continue;
+            }
+            try {
+                resourceDeletionRepository.save(ResourceDeletion.builder()
+                        .resourceId(id).phase("QUEUED").requestedAt(LocalDateTime.now()).build());
+                added++;
+            } catch (DataIntegrityViolationException e) {
+                // added by another instance
+            }
+        }
+        if (added > 0) {
+            log.info("Queued deletion of {} resources pending without progress", added);
+        }
+    }
+
+    /**
+     * Hides the resource and queues its purge, both in the caller's
+     * transaction.
+     */
+    public ResourceDeletionStatus requestDeletion(Long resourceId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (resourceRepository.markForDeletion(resourceId, now) == 0) {
+            throw new ResourceNotFoundException("Resource", resourceId); // already pending deletion
+        }
+        ResourceDeletion deletion = resourceDeletionRepository.save(ResourceDeletion.builder()
+                .resourceId(resourceId).phase("QUEUED").requestedAt(now).build());
+        changeTracker.changed(ChangeTracker.Collection.RESOURCES);
+        changeLogService.record(EntityType.RESOURCE, resourceId, ChangeType.DELETED, null);
+        return toStatus(deletion);
+    }
+
+    public ResourceDeletionStatus getStatus(Long resourceId) {
+        return resourceDeletionRepository.findById(resourceId).map(ResourceDeletionService::toStatus)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource deletion", resourceId));
+    }
+
+    @Scheduled(fixedDelayString = "${cloudpulse.deletion.interval-ms:250}")
+    public void purgeNextChunk() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> claimable = resourceDeletionRepository.findClaimable(owner, now, PageRequest.of(0, 1));
+        if (claimable.isEmpty()) {
+            return;
+        }
+        Long resourceId = claimable.get(0);
+        Integer claimed = transactionTemplate.execute(status ->
+                resourceDeletionRepository.claim(resourceId, owner, now, now.plus(lease)));
+        if (claimed == null || claimed == 0) {
+            return; // another instance took it
+        }
+        try {
+            purgeChunk(resourceId);
+        } catch (RuntimeException e) {
+            // Usually a row written concurrently; retry after the other pending resources
+            log.warn("Purge of resource {} failed, will retry: {}", resourceId, e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> resourceDeletionRepository.fail(resourceId,
+                    truncate(e.getMessage()), LocalDateTime.now().plus(RETRY_DELAY)));
+        }
+    }
+
+    /**
+     * Removes one chunk; returns true once the resource is gone.
+     */
+    boolean purgeChunk(Long resourceId) {
+        List<Long> incidentIds = incidentRepository.findIdsByResourceId(resourceId, chunkSize);
+        if (!incidentIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> resourceDeletionRepository.addProgress(
+                    resourceId, "INCIDENTS", incidentService.purgeIncidents(incidentIds), 0));
+            return false;
+        }
+
+        List<Long> checkIds = healthCheckRepository.findIdsByResourceId(resourceId, chunkSize);
+        if (!checkIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                healthCheckRepository.deleteAllByIdInBatch(checkIds);
+                resourceDeletionRepository.addProgress(resourceId, "HEALTH_CHECKS", 0, checkIds.size());
+            });
+            return false;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            incidentResourceLinkRepository.deleteByResourceId(resourceId);
+            latestHealthCheckRepository.deleteByResourceId(resourceId);
+            int stragglers = healthCheckRepository.deleteByResourceId(resourceId);
+            resourceRepository.deletePendingDeletion(resourceId);
+            resourceDeletionRepository.complete(resourceId, stragglers, LocalDateTime.now());
+            resourceDeletionRepository.deleteCompletedBefore(LocalDateTime.now().minus(KEEP_COMPLETED));
+        });
+        healthCheckHotStore.remove(resourceId);
+        resourceStatsTable.remove(resourceId);
+        healthCheckArchive.remove(resourceId);
+        alertRuleEngine.remove(resourceId);
+        changeTracker.changed(ChangeTracker.Collection.RESOURCES);
+
+        ResourceDeletionStatus done = getStatus(resourceId);
+        log.info("Resource {} deleted: {} incidents and {} health checks purged",
+                resourceId, done.getIncidentsDeleted(), done.getHealthChecksDeleted());
+        return true;
+    }
+
+    private static ResourceDeletionStatus toStatus(ResourceDeletion deletion) {
+        return ResourceDeletionStatus.builder()
+                .resourceId(deletion.getResourceId())
+                .phase(deletion.getPhase())
+                .incidentsDeleted(deletion.getIncidentsDeleted())
+                .healthChecksDeleted(deletion.getHealthChecksDeleted())
+                .requestedAt(deletion.getRequestedAt())
+                .completedAt(deletion.getCompletedAt())
+                .lastError(deletion.getLastError())
+                .build();
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
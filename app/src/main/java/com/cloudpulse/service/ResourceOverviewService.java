@@ -0,0 +1,71 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ResourceOverview;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Resource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch read of resources together with their newest check and active
+ * incidents. However many ids are asked for, this costs one query for the
+ * resources, at most one for the checks the hot store does not hold, and
+ * at most one for the incidents.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResourceOverviewService {
+
+    private final ResourceService resourceService;
+    private final HealthCheckService healthCheckService;
+    private final IncidentService incidentService;
+
+    @Value("${cloudpulse.overview.max-ids:500}")
+    private int maxIds;
+
+    /**
+     * Overviews in the order the ids were given; ids that do not exist are
+     * left out.
+     */
+    @Transactional(readOnly = true)
+    public List<ResourceOverview> getOverviews(Collection<Long> resourceIds) {
+        Set<Long> ids = new LinkedHashSet<>(resourceIds);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("'ids' must list at least one resource id");
+        }
+        if (ids.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids per request");
+        }
+        List<Resource> resources = resourceService.getByIds(ids);
+        if (resources.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, HealthCheck> latestChecks = healthCheckService.getLatestChecks(resources);
+        Map<Long, List<Incident>> activeIncidents = incidentService.getActiveIncidentsByResources(
+                resources.stream().map(Resource::getId).toList());
+
+        Map<Long, Resource> byId = resources.stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(resource -> ResourceOverview.builder()
+                        .resource(resource)
+                        .latestCheck(latestChecks.get(resource.getId()))
+                        .activeIncidents(activeIncidents.getOrDefault(resource.getId(), List.of()))
+                        .build())
+                .toList();
+    }
+}
@@ -1,25 +1,44 @@
 package com.cloudpulse.service;
 
+import com.cloudpulse.dto.ResourceDeletionStatus;
 import com.cloudpulse.dto.ResourceRequest;
+import com.cloudpulse.dto.ResourceSuggestion;
 import com.cloudpulse.exception.ResourceNotFoundException;
+import com.cloudpulse.model.ChangeLogEntry.ChangeType;
+import com.cloudpulse.model.ChangeLogEntry.EntityType;
+import com.cloudpulse.model.LatestHealthCheck;
 import com.cloudpulse.model.Resource;
 import com.cloudpulse.model.Resource.ResourceStatus;
 import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.LatestHealthCheckRepository;
 import com.cloudpulse.repository.ResourceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ResourceService {
 
+    // Resources pending deletion stay in the table until purged
+    private static final String VISIBLE = "r.deletionRequestedAt IS NULL";
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ResourceRepository resourceRepository;
+    private final LatestHealthCheckRepository latestHealthCheckRepository;
+    private final SparseFieldsetWriter sparseFieldsetWriter;
+    private final ChangeLogService changeLogService;
+    private final ChangeTracker changeTracker;
+    private final ResourceDeletionService resourceDeletionService;
+    private final ResourceTypeaheadIndex resourceTypeaheadIndex;
 
     public List<Resource> getAllResources() {
         return resourceRepository.findAll();
@@ -51,11 +70,52 @@ public class ResourceService {
         return resourceRepository.findByProvider(provider);
     }
 
+    public List<Resource> getByIds(Collection<Long> ids) {
+        return resourceRepository.findByIdIn(ids);
+    }
+
+    /**
+     * Resources matching every given criterion; null criteria match all.
+     */
+    public List<Resource> getMatching(ResourceType type, String region, String environment) {
+        return resourceRepository.findMatching(type, region, environment);
+    }
+
     public List<Resource> getUnhealthy() {
         return resourceRepository.findByStatusIn(
                 List.of(ResourceStatus.UNHEALTHY, ResourceStatus.DEGRADED));
     }
 
+    /**
+     * Streams the selected fields of all resources, or of those matching the
+     * first given filter (same precedence as the full listing).
+     */
+    public StreamingResponseBody streamResources(String fields, ResourceType type, ResourceStatus status,
+            String region, String provider) {
+        String where = VISIBLE;
+        Object value = null;
+        if (type != null) {
+            where += " AND r.resourceType = :value";
+            value = type;
+        } else if (status != null) {
+            where += " AND r.status = :value";
+            value = status;
+        } else if (region != null) {
+            where += " AND r.region = :value";
+            value = region;
+        } else if (provider != null) {
+            where += " AND r.provider = :value";
+            value = provider;
+        }
+        return sparseFieldsetWriter.query(Fieldset.RESOURCE, fields, where,
+                value != null ? Map.of("value", value) : Map.of(), "r.id", null);
+    }
+
+    public StreamingResponseBody streamUnhealthy(String fields) {
+        return sparseFieldsetWriter.query(Fieldset.RESOURCE, fields, VISIBLE + " AND r.status IN :statuses",
+                Map.of("statuses", List.of(ResourceStatus.UNHEALTHY, ResourceStatus.DEGRADED)), "r.id", null);
+    }
+
     @Transactional
     public Resource createResource(ResourceRequest request) {
         Resource resource = Resource.builder()
@@ -72,6 +132,10 @@ public class ResourceService {
                 .build();
 
         Resource saved = resourceRepository.save(resource);
+        latestHealthCheckRepository.save(LatestHealthCheck.builder().resourceId(saved.getId()).build());
+        changeTracker.changed(ChangeTracker.Collection.RESOURCES);
+        changeLogService.record(EntityType.RESOURCE, saved.getId(), ChangeType.CREATED, saved.getStatus());
+        AfterCommit.run(() -> resourceTypeaheadIndex.update(saved));
         log.info("Created resource: {} ({})", saved.getName(), saved.getResourceType());
         return saved;
     }
@@ -94,6 +158,9 @@ public class ResourceService {
         }
 
         Resource saved = resourceRepository.save(resource);
+        changeTracker.changed(ChangeTracker.Collection.RESOURCES);
+        changeLogService.record(EntityType.RESOURCE, id, ChangeType.UPDATED, saved.getStatus());
+        AfterCommit.run(() -> resourceTypeaheadIndex.update(saved));
         log.info("Updated resource: {} (ID: {})", saved.getName(), saved.getId());
         return saved;
     }
@@ -103,14 +170,39 @@ public class ResourceService {
         Resource resource = getResourceById(id);
         resource.setStatus(status);
         resource.setLastCheckedAt(LocalDateTime.now());
+        changeTracker.changed(ChangeTracker.Collection.RESOURCES);
+        changeLogService.record(EntityType.RESOURCE, id, ChangeType.STATUS_CHANGED, status);
         return resourceRepository.save(resource);
     }
 
+    /**
+     * Hides the resource at once and leaves its health checks and incidents
+     * to the chunked background purge of {@link ResourceDeletionService}.
+     */
     @Transactional
-    public void deleteResource(Long id) {
+    public ResourceDeletionStatus deleteResource(Long id) {
         Resource resource = getResourceById(id);
-        resourceRepository.delete(resource);
-        log.info("Deleted resource: {} (ID: {})", resource.getName(), id);
+        ResourceDeletionStatus status = resourceDeletionService.requestDeletion(id);
+        AfterCommit.run(() -> resourceTypeaheadIndex.remove(id));
+        log.info("Deletion requested for resource: {} (ID: {})", resource.getName(), id);
+        return status;
+    }
+
+    /**
+     * Typeahead matches on name or cloud resource id, answered from the
+     * in-memory index alone: no database round trip per keystroke. The
+     * index drops a resource as soon as its deletion is requested, here or,
+     * through the change feed, on another instance.
+     */
+    public List<ResourceSuggestion> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return resourceTypeaheadIndex.suggest(prefix, limit);
+    }
+
+    public ResourceDeletionStatus getDeletionStatus(Long id) {
+        return resourceDeletionService.getStatus(id);
     }
 
     public long getTotalCount() {
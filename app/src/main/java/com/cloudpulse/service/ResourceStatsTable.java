@@ -0,0 +1,308 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ResourceStats;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Bounded per-resource latency/status statistics held in primitive arrays.
+ *
+ * Each resource owns a row of {@link #FIELDS} longs in one
+ * {@link AtomicLongArray}; fields are updated with CAS, so probe threads
+ * recording checks never block each other. Resource ids map to rows through
+ * an open-addressing table of primitive longs guarded by a
+ * {@link StampedLock}: lookups are optimistic, recording holds the shared
+ * lock only so a row cannot be evicted under it, and inserting a new
+ * resource takes the exclusive lock. When every row is taken, a CLOCK
+ * (second-chance) sweep evicts a resource that has been neither recorded
+ * nor read since the hand last passed it: recording and reading only set a
+ * referenced flag, and an insert into a full table costs O(1) amortised
+ * instead of a scan of every row.
+ */
+@Component
+@Slf4j
+public class ResourceStatsTable {
+
+    private static final int KEY = 0;
+    private static final int EWMA_BITS = 1;
+    private static final int MIN = 2;
+    private static final int MAX = 3;
+    private static final int FAILURES = 4;
+    private static final int STATUS = 5;
+    private static final int LAST_CHECK = 6;
+    private static final int CHECKS = 7;
+    private static final int REFERENCED = 8;
+    static final int FIELDS = 9;
+
+    private static final long NO_EWMA = Double.doubleToRawLongBits(Double.NaN);
+    private static final HealthStatus[] STATUSES = HealthStatus.values();
+
+    private final HealthCheckHotStore hotStore;
+    private final int capacity;
+    private final double alpha;
+    private final AtomicLongArray rows;
+
+    private final StampedLock lock = new StampedLock();
+    private final long[] slotKeys; // 0 = empty
+    private final int[] slotRows;
+    private final int mask;
+    private final int[] freeRows;
+    private int freeCount;
+    private int hand; // next row the eviction sweep looks at; under the write lock
+
+    public ResourceStatsTable(HealthCheckHotStore hotStore,
+            @Value("${cloudpulse.stats.max-resources:10000}") int capacity,
+            @Value("${cloudpulse.stats.ewma-alpha:0.2}") double alpha) {
+        if (capacity < 1 || alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("Invalid stats max-resources/ewma-alpha settings");
+        }
+        this.hotStore = hotStore;
+        this.capacity = capacity;
+        this.alpha = alpha;
+        this.rows = new AtomicLongArray(capacity * FIELDS);
+        int slots = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+        this.slotKeys = new long[slots];
+        this.slotRows = new int[slots];
+        this.mask = slots - 1;
+        this.freeRows = new int[capacity];
+        for (int row = 0; row < capacity; row++) {
+            freeRows[row] = capacity - 1 - row;
+        }
+        this.freeCount = capacity;
+    }
+
+    /**
+     * Seeds the table from the checks the hot store's file still holds; reads
+     * no table, so it adds nothing to startup beyond the file itself.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int seeded = 0;
+        for (Long resourceId : hotStore.resourceIds()) {
+            HealthCheckHotStore.Records checks = hotStore.held(resourceId);
+            for (int i = checks.size() - 1; i >= 0; i--) {
+                record(resourceId, checks.hasLatency(i) ? checks.latency(i) : null, checks.status(i),
+                        checks.checkedAtMillis(i));
+            }
+            if (checks.size() > 0) {
+                seeded++;
+            }
+        }
+        log.info("Resource stats table seeded for {} resources", seeded);
+    }
+
+    public void record(long resourceId, Integer latencyMs, HealthStatus status, long checkedAtMillis) {
+        if (resourceId <= 0) {
+            throw new IllegalArgumentException("Resource ids must be positive");
+        }
+        long stamp = lock.readLock();
+        try {
+            int row = find(resourceId);
+            if (row < 0) {
+                lock.unlockRead(stamp);
+                stamp = lock.writeLock();
+                row = find(resourceId);
+                if (row < 0) {
+                    row = insert(resourceId);
+                }
+                stamp = lock.tryConvertToReadLock(stamp);
+            }
+            update(row * FIELDS, latencyMs, status, checkedAtMillis);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Statistics for one resource, or null when the table does not hold it.
+     */
+    public ResourceStats get(long resourceId) {
+        long stamp = lock.tryOptimisticRead();
+        ResourceStats stats = stamp != 0 ? read(resourceId) : null;
+        if (stamp == 0 || !lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                stats = read(resourceId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return stats;
+    }
+
+    public void remove(long resourceId) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(resourceId);
+            if (slot >= 0) {
+                freeRows[freeCount++] = slotRows[slot];
+                rows.set(slotRows[slot] * FIELDS + KEY, 0);
+                deleteSlot(slot);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return capacity - freeCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void update(int base, Integer latencyMs, HealthStatus status, long checkedAtMillis) {
+        rows.incrementAndGet(base + CHECKS);
+        if (latencyMs != null) {
+            long latency = latencyMs;
+            long prev;
+            long next;
+            do {
+                prev = rows.get(base + EWMA_BITS);
+                double ewma = prev == NO_EWMA ? latency
+                        : alpha * latency + (1 - alpha) * Double.longBitsToDouble(prev);
+                next = Double.doubleToRawLongBits(ewma);
+            } while (!rows.compareAndSet(base + EWMA_BITS, prev, next));
+            rows.accumulateAndGet(base + MIN, latency, Math::min);
+            rows.accumulateAndGet(base + MAX, latency, Math::max);
+        }
+        boolean failure = status == HealthStatus.DOWN || status == HealthStatus.TIMEOUT
+                || status == HealthStatus.UNREACHABLE;
+        if (failure) {
+            rows.incrementAndGet(base + FAILURES);
+        } else {
+            rows.set(base + FAILURES, 0);
+        }
+        rows.set(base + STATUS, status.ordinal());
+        rows.accumulateAndGet(base + LAST_CHECK, checkedAtMillis, Math::max);
+        touch(base);
+    }
+
+    private void touch(int base) {
+        if (rows.get(base + REFERENCED) == 0) { // skip the write when already set
+            rows.set(base + REFERENCED, 1);
+        }
+    }
+
+    private ResourceStats read(long resourceId) {
+        int row = find(resourceId);
+        if (row < 0) {
+            return null;
+        }
+        int base = row * FIELDS;
+        touch(base);
+        long ewma = rows.get(base + EWMA_BITS);
+        long min = rows.get(base + MIN);
+        long max = rows.get(base + MAX);
+        long status = rows.get(base + STATUS);
+        long lastCheck = rows.get(base + LAST_CHECK);
+        return ResourceStats.builder()
+                .resourceId(resourceId)
+                .checks(rows.get(base + CHECKS))
+                .ewmaResponseTimeMs(ewma != NO_EWMA ? Math.round(Double.longBitsToDouble(ewma) * 100.0) / 100.0 : null)
+                .minResponseTimeMs(min != Long.MAX_VALUE ? (int) min : null)
+                .maxResponseTimeMs(max != Long.MIN_VALUE ? (int) max : null)
+                .consecutiveFailures(rows.get(base + FAILURES))
+                .lastStatus(status >= 0 && status < STATUSES.length ? STATUSES[(int) status].name() : null)
+                .lastCheckedAt(lastCheck != 0 ? HealthCheckSegment.fromMillis(lastCheck) : null)
+                .build();
+    }
+
+    // ---- id -> row table; callers hold the lock (or an optimistic stamp) ----
+
+    private int find(long resourceId) {
+        int slot = slotOf(resourceId);
+        return slot >= 0 ? slotRows[slot] : -1;
+    }
+
+    private int slotOf(long resourceId) {
+        for (int slot = hash(resourceId), probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            long key = slotKeys[slot];
+            if (key == resourceId) {
+                return slot;
+            }
+            if (key == 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /** Requires the write lock. */
+    private int insert(long resourceId) {
+        if (freeCount == 0) {
+            evict();
+        }
+        int row = freeRows[--freeCount];
+        int base = row * FIELDS;
+        rows.set(base + EWMA_BITS, NO_EWMA);
+        rows.set(base + MIN, Long.MAX_VALUE);
+        rows.set(base + MAX, Long.MIN_VALUE);
+        rows.set(base + FAILURES, 0);
+        rows.set(base + STATUS, -1);
+        rows.set(base + LAST_CHECK, 0);
+        rows.set(base + CHECKS, 0);
+        rows.set(base + REFERENCED, 1);
+        rows.set(base + KEY, resourceId);
+
+        int slot = hash(resourceId);
+        while (slotKeys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slotKeys[slot] = resourceId;
+        slotRows[slot] = row;
+        return row;
+    }
+
+    /**
+     * Second-chance sweep; only called when every row is taken. Clears the
+     * referenced flag of each row it passes and takes the first one found
+     * clear, so it visits at most every row twice and, over a run of
+     * inserts, about two rows per eviction.
+     */
+    private void evict() {
+        while (rows.get(hand * FIELDS + REFERENCED) != 0) {
+            rows.set(hand * FIELDS + REFERENCED, 0);
+            hand = (hand + 1) % capacity;
+        }
+        int victim = hand;
+        hand = (hand + 1) % capacity;
+        long victimKey = rows.get(victim * FIELDS + KEY);
+        deleteSlot(slotOf(victimKey));
+        rows.set(victim * FIELDS + KEY, 0);
+        freeRows[freeCount++] = victim;
+        log.debug("Resource stats table full; evicted resource {}", victimKey);
+    }
+
+    /**
+     * Linear-probing deletion without tombstones: shifts later entries of
+     * the probe run back into the hole.
+     */
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        for (int next = (hole + 1) & mask; slotKeys[next] != 0; next = (next + 1) & mask) {
+            int home = hash(slotKeys[next]);
+            boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                slotKeys[hole] = slotKeys[next];
+                slotRows[hole] = slotRows[next];
+                hole = next;
+            }
+        }
+        slotKeys[hole] = 0;
+    }
+
+    private int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,152 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ResourceSuggestion;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.repository.ResourceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory prefix index over resource names and cloud resource ids.
+ *
+ * Lower-cased keys sit in two sorted skip lists: the whole name and id, and
+ * every word start inside them (after '-', '_', '.', '/', ':' or a space),
+ * so "orders" finds "eu-orders-db" and the last segment of an ARN. A lookup
+ * seeks to the prefix and walks forward until it has {@code limit} distinct
+ * resources, whole-value matches before word matches, each in key order;
+ * that is O(log n + limit) whatever the catalog size. The index is loaded
+ * on startup and kept current by {@link ResourceService} for local writes
+ * and by {@link ChangeFeedFollower} for other instances'.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResourceTypeaheadIndex {
+
+    private static final int MAX_WORD_KEYS = 16;
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::term).thenComparingLong(Key::id);
+
+    private final ResourceRepository resourceRepository;
+
+    private final NavigableSet<Key> whole = new ConcurrentSkipListSet<>(KEY_ORDER);
+    private final NavigableSet<Key> words = new ConcurrentSkipListSet<>(KEY_ORDER);
+    private final Map<Long, ResourceSuggestion> byId = new ConcurrentHashMap<>();
+
+    private record Key(String term, long id) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        whole.clear();
+        words.clear();
+        byId.clear();
+        List<Resource> resources = resourceRepository.findAll();
+        resources.forEach(this::update);
+        log.info("Resource typeahead index loaded with {} resources", resources.size());
+    }
+
+    static ResourceSuggestion suggestionOf(Resource resource) {
+        return ResourceSuggestion.builder()
+                .id(resource.getId())
+                .name(resource.getName())
+                .resourceId(resource.getResourceId())
+                .resourceType(resource.getResourceType())
+                .region(resource.getRegion())
+                .environment(resource.getEnvironment())
+                .build();
+    }
+
+    public synchronized void update(Resource resource) {
+        ResourceSuggestion suggestion = suggestionOf(resource);
+        ResourceSuggestion previous = byId.put(resource.getId(), suggestion);
+        if (previous != null) {
+            keys(previous, false).forEach(whole::remove);
+            keys(previous, true).forEach(words::remove);
+        }
+        whole.addAll(keys(suggestion, false));
+        words.addAll(keys(suggestion, true));
+    }
+
+    public synchronized void remove(Long resourceId) {
+        ResourceSuggestion previous = byId.remove(resourceId);
+        if (previous != null) {
+            keys(previous, false).forEach(whole::remove);
+            keys(previous, true).forEach(words::remove);
+        }
+    }
+
+    /**
+     * Up to {@code limit} resources whose name or resource id, or a word in
+     * either, starts with the prefix (case-insensitive).
+     */
+    public List<ResourceSuggestion> suggest(String prefix, int limit) {
+        String term = normalize(prefix);
+        if (term.isEmpty()) {
+            throw new IllegalArgumentException("'q' must not be blank");
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        collect(whole, term, ids, limit);
+        collect(words, term, ids, limit);
+        List<ResourceSuggestion> matches = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ResourceSuggestion suggestion = byId.get(id);
+            if (suggestion != null) { // removed since the keys were read
+                matches.add(suggestion);
+            }
+        }
+        return matches;
+    }
+
+    private static void collect(NavigableSet<Key> keys, String prefix, Set<Long> ids, int limit) {
+        for (Key key : keys.tailSet(new Key(prefix, Long.MIN_VALUE), true)) {
+            if (ids.size() >= limit || !key.term().startsWith(prefix)) {
+                return;
+            }
+            ids.add(key.id());
+        }
+    }
+
+    private static List<Key> keys(ResourceSuggestion suggestion, boolean wordStarts) {
+        List<Key> keys = new ArrayList<>();
+        for (String value : new String[] { suggestion.getName(), suggestion.getResourceId() }) {
+            String term = normalize(value);
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (!wordStarts) {
+                keys.add(new Key(term, suggestion.getId()));
+                continue;
+            }
+            int added = 0;
+            for (int i = 1; i < term.length() && added < MAX_WORD_KEYS; i++) {
+                if (isSeparator(term.charAt(i - 1)) && !isSeparator(term.charAt(i))) {
+                    keys.add(new Key(term.substring(i), suggestion.getId()));
+                    added++;
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '-' || c == '_' || c == '.' || c == '/' || c == ':' || c == ' ';
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+}
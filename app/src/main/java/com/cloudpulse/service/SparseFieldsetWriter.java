@@ -0,0 +1,164 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.service.Fieldset.Field;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes {@code fields=} responses: a JSON array of objects holding only
+ * the selected fields, produced with Jackson's streaming generator.
+ *
+ * Database-backed lists select just the mapped columns into tuples and
+ * stream the result set row by row inside a read-only transaction, so no
+ * entities are materialized. Field names are validated before the response
+ * starts, so a bad {@code fields=} value is still a 400.
+ */
+@Component
+class SparseFieldsetWriter {
+
+    private static final int FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    SparseFieldsetWriter(EntityManager entityManager, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Streams {@code SELECT <fields> FROM <entity> [WHERE where] ORDER BY orderBy}.
+     */
+    <E> StreamingResponseBody query(Fieldset<E> fieldset, String fields, String where,
+            Map<String, Object> params, String orderBy, Integer limit) {
+        List<Field<E>> selected = fieldset.select(fields);
+        String jpql = "SELECT " + selected.stream().map(Field::path).collect(Collectors.joining(", "))
+                + " FROM " + fieldset.entity() + " " + fieldset.alias()
+                + (where != null ? " WHERE " + where : "")
+                + " ORDER BY " + orderBy;
+
+        return out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class)
+                            .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                            .setHint(HibernateHints.HINT_READ_ONLY, true);
+                    params.forEach(query::setParameter);
+                    if (limit != null) {
+                        query.setMaxResults(limit);
+                    }
+                    try (Stream<Tuple> rows = query.getResultStream()) {
+                        rows.forEach(row -> writeRow(generator, selected, row::get));
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Writes rows that are already in memory.
+     */
+    <E> StreamingResponseBody write(Fieldset<E> fieldset, String fields, List<E> rows) {
+        List<Field<E>> selected = fieldset.select(fields);
+        return out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                for (E row : rows) {
+                    writeRow(generator, selected, i -> selected.get(i).getter().apply(row));
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Writes hot store records straight from their primitive fields; every
+     * selected field must be one of {@link HealthCheckHotStore#FIELDS}.
+     */
+    StreamingResponseBody write(List<Field<HealthCheck>> selected, HealthCheckHotStore.Records records) {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                for (int i = 0; i < records.size(); i++) {
+                    generator.writeStartObject();
+                    for (Field<HealthCheck> field : selected) {
+                        writeRecordField(generator, field.name(), records, i);
+                    }
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    private void writeRecordField(JsonGenerator generator, String name, HealthCheckHotStore.Records records,
+            int i) throws IOException {
+        switch (name) {
+            case "id" -> generator.writeNumberField(name, records.id(i));
+            case "resourceId" -> generator.writeNumberField(name, records.resourceId());
+            case "status" -> generator.writeStringField(name, records.status(i).name());
+            case "responseTimeMs" -> {
+                if (records.hasLatency(i)) {
+                    generator.writeNumberField(name, records.latency(i));
+                }
+            }
+            case "statusCode" -> {
+                if (records.hasStatusCode(i)) {
+                    generator.writeNumberField(name, records.statusCode(i));
+                }
+            }
+            case "checkedAt" -> {
+                generator.writeFieldName(name);
+                generator.writeObject(HealthCheckSegment.fromMillis(records.checkedAtMillis(i)));
+            }
+            default -> throw new IllegalArgumentException("Field '" + name + "' is not held by the hot store");
+        }
+    }
+
+    private interface Column {
+        Object get(int index);
+    }
+
+    private <E> void writeRow(JsonGenerator generator, List<Field<E>> selected, Column column) {
+        try {
+            generator.writeStartObject();
+            for (int i = 0; i < selected.size(); i++) {
+                Object value = column.get(i);
+                if (value == null) {
+                    continue; // matches the non_null inclusion of full responses
+                }
+                generator.writeFieldName(selected.get(i).name());
+                if (value instanceof Enum<?> e) {
+                    generator.writeString(e.name());
+                } else {
+                    generator.writeObject(value);
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
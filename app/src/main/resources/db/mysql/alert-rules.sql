@@ -0,0 +1,32 @@
+-- Alert rules: the rules evaluated on every health check, and the rule an
+-- incident was opened by. Idempotent and locked like schema.sql, which runs
+-- first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+CREATE TABLE IF NOT EXISTS alert_rules (
+    enabled bit NOT NULL,
+    match_count integer NOT NULL,
+    window_size integer NOT NULL,
+    created_at datetime(6),
+    id bigint NOT NULL AUTO_INCREMENT,
+    resource_id bigint,
+    updated_at datetime(6),
+    version bigint NOT NULL DEFAULT 0,
+    rule_condition varchar(1000) NOT NULL,
+    environment varchar(255),
+    name varchar(255) NOT NULL,
+    resource_type enum ('EC2','RDS','ALB','ELB','S3','LAMBDA','ECS','EKS','CLOUDFRONT','ELASTICACHE','DYNAMODB'),
+    severity enum ('CRITICAL','HIGH','MEDIUM','LOW','INFO') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+        AND table_name = 'incidents' AND column_name = 'alert_rule_id') = 0,
+    'ALTER TABLE incidents ADD COLUMN alert_rule_id bigint, ADD INDEX idx_incident_alert_rule (alert_rule_id)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+DO RELEASE_LOCK('cloudpulse_schema');
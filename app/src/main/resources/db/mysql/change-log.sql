@@ -0,0 +1,27 @@
+-- Change log: every resource and incident change, appended in the
+-- transaction that made it and purged by age. Idempotent and locked like
+-- schema.sql, which runs first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+CREATE TABLE IF NOT EXISTS change_log (
+    entity_id bigint NOT NULL,
+    occurred_at datetime(6),
+    seq bigint NOT NULL AUTO_INCREMENT,
+    status varchar(255),
+    change_type enum ('CREATED','UPDATED','STATUS_CHANGED','DELETED') NOT NULL,
+    entity_type enum ('RESOURCE','INCIDENT') NOT NULL,
+    PRIMARY KEY (seq),
+    INDEX idx_change_log_occurred_at (occurred_at)
+) ENGINE=InnoDB;
+
+-- Tables created before the index was added get it here; purgeExpired
+-- deletes by occurred_at
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()
+        AND table_name = 'change_log' AND index_name = 'idx_change_log_occurred_at') = 0,
+    'ALTER TABLE change_log ADD INDEX idx_change_log_occurred_at (occurred_at)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+DO RELEASE_LOCK('cloudpulse_schema');
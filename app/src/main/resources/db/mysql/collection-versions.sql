@@ -0,0 +1,14 @@
+-- Collection versions: per-collection write counters behind the ETags of
+-- polled endpoints. Idempotent and locked like schema.sql, which runs first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+CREATE TABLE IF NOT EXISTS collection_versions (
+    version bigint NOT NULL,
+    name varchar(32) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO collection_versions (name, version) VALUES ('RESOURCES', 0), ('INCIDENTS', 0);
+
+DO RELEASE_LOCK('cloudpulse_schema');
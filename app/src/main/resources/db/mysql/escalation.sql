@@ -0,0 +1,13 @@
+-- Escalation: when an unacknowledged incident was escalated, so it is
+-- escalated once. Idempotent and locked like schema.sql, which runs first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+        AND table_name = 'incidents' AND column_name = 'escalated_at') = 0,
+    'ALTER TABLE incidents ADD COLUMN escalated_at datetime(6)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+DO RELEASE_LOCK('cloudpulse_schema');
@@ -0,0 +1,26 @@
+-- Incident correlation: the key grouping a failure storm's incidents under one
+-- parent, and the links from a parent incident to every resource it covers.
+-- Idempotent and locked like schema.sql, which runs first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+        AND table_name = 'incidents' AND column_name = 'correlation_key') = 0,
+    'ALTER TABLE incidents ADD COLUMN correlation_key varchar(255)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+CREATE TABLE IF NOT EXISTS incident_resources (
+    id bigint NOT NULL AUTO_INCREMENT,
+    incident_id bigint NOT NULL,
+    linked_at datetime(6),
+    resource_id bigint NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_incident_resource (incident_id, resource_id),
+    INDEX idx_ir_resource (resource_id),
+    CONSTRAINT fk_ir_incident FOREIGN KEY (incident_id) REFERENCES incidents (id),
+    CONSTRAINT fk_ir_resource FOREIGN KEY (resource_id) REFERENCES resources (id)
+) ENGINE=InnoDB;
+
+DO RELEASE_LOCK('cloudpulse_schema');
@@ -0,0 +1,14 @@
+-- Job leases: which instance runs a single-instance job (such as the
+-- archiver) and until when. Idempotent and locked like schema.sql, which
+-- runs first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    lease_until datetime(6),
+    name varchar(64) NOT NULL,
+    owner varchar(64),
+    PRIMARY KEY (name)
+) ENGINE=InnoDB;
+
+DO RELEASE_LOCK('cloudpulse_schema');
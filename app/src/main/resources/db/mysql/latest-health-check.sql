@@ -0,0 +1,17 @@
+-- Latest health check: one row per resource with its newest check, behind
+-- the fleet status view. Idempotent and locked like schema.sql, which runs
+-- first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+CREATE TABLE IF NOT EXISTS latest_health_check (
+    response_time_ms integer,
+    status_code integer,
+    check_id bigint,
+    checked_at datetime(6),
+    resource_id bigint NOT NULL,
+    status enum ('UP','DOWN','DEGRADED','TIMEOUT','UNREACHABLE'),
+    PRIMARY KEY (resource_id)
+) ENGINE=InnoDB;
+
+DO RELEASE_LOCK('cloudpulse_schema');
@@ -0,0 +1,30 @@
+-- Notification outbox: incident webhooks written with the change and sent,
+-- claimed and retried from here. Idempotent and locked like schema.sql,
+-- which runs first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    attempts integer NOT NULL,
+    claimed_until datetime(6),
+    created_at datetime(6),
+    failed_at datetime(6),
+    id bigint NOT NULL AUTO_INCREMENT,
+    next_attempt_at datetime(6) NOT NULL,
+    claimed_by varchar(64),
+    endpoint varchar(1000) NOT NULL,
+    last_error varchar(1000),
+    payload TEXT NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_outbox_next_attempt (next_attempt_at)
+) ENGINE=InnoDB;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+        AND table_name = 'notification_outbox' AND column_name = 'claimed_by') = 0,
+    'ALTER TABLE notification_outbox ADD COLUMN claimed_by varchar(64), ADD COLUMN claimed_until datetime(6)',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+DO RELEASE_LOCK('cloudpulse_schema');
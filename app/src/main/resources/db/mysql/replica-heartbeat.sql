@@ -0,0 +1,14 @@
+-- Read replica lag: a heartbeat row written on the primary and read back from
+-- the replica. Idempotent and locked like schema.sql, which runs first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id integer NOT NULL,
+    beat_at bigint NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO replica_heartbeat (id, beat_at) VALUES (1, 0);
+
+DO RELEASE_LOCK('cloudpulse_schema');
@@ -0,0 +1,28 @@
+-- Asynchronous resource deletion: when a resource's deletion was requested,
+-- and the progress and claim of its background purge. Idempotent and locked
+-- like schema.sql, which runs first.
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+        AND table_name = 'resources' AND column_name = 'deletion_requested_at') = 0,
+    'ALTER TABLE resources ADD COLUMN deletion_requested_at datetime(6)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+CREATE TABLE IF NOT EXISTS resource_deletions (
+    claimed_until datetime(6),
+    completed_at datetime(6),
+    health_checks_deleted bigint NOT NULL,
+    incidents_deleted bigint NOT NULL,
+    requested_at datetime(6),
+    resource_id bigint NOT NULL,
+    claimed_by varchar(64),
+    phase varchar(32) NOT NULL,
+    last_error varchar(1000),
+    PRIMARY KEY (resource_id),
+    INDEX idx_deletion_completed (completed_at)
+) ENGINE=InnoDB;
+
+DO RELEASE_LOCK('cloudpulse_schema');
@@ -0,0 +1,93 @@
+-- =============================================================================
+-- CloudPulse — MySQL schema
+-- =============================================================================
+-- Run on every start of the prod profile (spring.sql.init), before Hibernate
+-- validates the mapping, so every statement is idempotent: tables are created
+-- if missing and columns added to existing tables only when absent. A named
+-- lock keeps pods that start together from altering the same table at once.
+-- Column types match what Hibernate expects for the entities.
+--
+-- This script holds the core tables and the incidents.version column that
+-- the conditional state transitions need. Each later feature ships its
+-- tables and columns in a script of its own next to this one, run after it
+-- in the order spring.sql.init.schema-locations lists them, under the same
+-- rules and lock; add new DDL there rather than here.
+-- =============================================================================
+
+DO GET_LOCK('cloudpulse_schema', 120);
+
+-- ---------------------------------------------------------------- core tables
+
+CREATE TABLE IF NOT EXISTS resources (
+    created_at datetime(6),
+    id bigint NOT NULL AUTO_INCREMENT,
+    last_checked_at datetime(6),
+    updated_at datetime(6),
+    environment varchar(255),
+    ip_address varchar(255),
+    metadata TEXT,
+    name varchar(255) NOT NULL,
+    provider varchar(255) NOT NULL,
+    region varchar(255) NOT NULL,
+    resource_id varchar(255),
+    tags TEXT,
+    resource_type enum ('EC2','RDS','ALB','ELB','S3','LAMBDA','ECS','EKS','CLOUDFRONT','ELASTICACHE','DYNAMODB') NOT NULL,
+    status enum ('HEALTHY','DEGRADED','UNHEALTHY','UNKNOWN','TERMINATED') NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_resource_resource_id (resource_id),
+    INDEX idx_resource_type (resource_type),
+    INDEX idx_resource_status (status),
+    INDEX idx_resource_region (region)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS health_checks (
+    response_time_ms integer,
+    status_code integer,
+    checked_at datetime(6),
+    id bigint NOT NULL AUTO_INCREMENT,
+    resource_id bigint NOT NULL,
+    details TEXT,
+    message TEXT,
+    status enum ('UP','DOWN','DEGRADED','TIMEOUT','UNREACHABLE') NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_hc_resource (resource_id),
+    INDEX idx_hc_status (status),
+    INDEX idx_hc_checked_at (checked_at),
+    CONSTRAINT fk_hc_resource FOREIGN KEY (resource_id) REFERENCES resources (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS incidents (
+    acknowledged_at datetime(6),
+    created_at datetime(6),
+    id bigint NOT NULL AUTO_INCREMENT,
+    resolved_at datetime(6),
+    resource_id bigint,
+    updated_at datetime(6),
+    version bigint NOT NULL DEFAULT 0,
+    assigned_to varchar(255),
+    description TEXT,
+    resolution TEXT,
+    root_cause TEXT,
+    title varchar(255) NOT NULL,
+    severity enum ('CRITICAL','HIGH','MEDIUM','LOW','INFO') NOT NULL,
+    status enum ('OPEN','ACKNOWLEDGED','INVESTIGATING','RESOLVED','CLOSED') NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_incident_severity (severity),
+    INDEX idx_incident_status (status),
+    INDEX idx_incident_resource (resource_id),
+    CONSTRAINT fk_incident_resource FOREIGN KEY (resource_id) REFERENCES resources (id)
+) ENGINE=InnoDB;
+
+-- ------------------------------------------- columns added to existing tables
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+        AND table_name = 'incidents' AND column_name = 'version') = 0,
+    'ALTER TABLE incidents ADD COLUMN version bigint NOT NULL DEFAULT 0', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Rows written while the column was nullable would never match version + 1
+UPDATE incidents SET version = 0 WHERE version IS NULL;
+
+DO RELEASE_LOCK('cloudpulse_schema');
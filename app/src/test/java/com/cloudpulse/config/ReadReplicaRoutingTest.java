@@ -0,0 +1,74 @@
+package com.cloudpulse.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "cloudpulse.datasource.replica.enabled=true",
+        "cloudpulse.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "cloudpulse.datasource.replica.username=sa",
+        "cloudpulse.datasource.replica.max-lag=5s",
+        "cloudpulse.datasource.replica.check-interval=3600000",
+        "cloudpulse.seed.enabled=false"
+})
+@DisplayName("Read replica routing Tests")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("replicaPool")
+    private DataSource replicaPool;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    /** Stands in for replication: the replica sees a beat written {@code ageMillis} ago. */
+    private void replicateHeartbeat(long ageMillis) {
+        JdbcTemplate replica = new JdbcTemplate(replicaPool);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        replica.update("MERGE INTO replica_heartbeat (id, beat_at) KEY (id) VALUES (1, ?)",
+                System.currentTimeMillis() - ageMillis);
+        replicaLagMonitor.check();
+    }
+
+    private String databaseFor(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to a fresh replica and writes to the primary")
+    void readOnlyTransaction_FreshReplica_RoutesToReplica() {
+        replicateHeartbeat(0);
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+        assertThat(databaseFor(true)).isEqualToIgnoringCase("ROUTING-REPLICA");
+        assertThat(databaseFor(false)).isEqualToIgnoringCase("ROUTING-PRIMARY");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags")
+    void readOnlyTransaction_LaggingReplica_FallsBackToPrimary() {
+        replicateHeartbeat(60_000);
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(databaseFor(true)).isEqualToIgnoringCase("ROUTING-PRIMARY");
+    }
+}
@@ -6,7 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.bean.MockBean;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Map;
@@ -50,6 +50,7 @@ class DashboardControllerTest {
                 .andExpect(jsonPath("$.healthyResources").value(9))
                 .andExpect(jsonPath("$.overallHealthPercent").value(75.0))
                 .andExpect(jsonPath("$.activeIncidents").value(3))
+                .andExpect(jsonPath("$.mttrMinutes").value(45.5))
                 .andExpect(jsonPath("$.resourcesByType.EC2").value(3));
     }
 }
@@ -0,0 +1,86 @@
+package com.cloudpulse.controller;
+
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:incident-controller;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("IncidentController Integration Tests")
+class IncidentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    private Long incident(IncidentStatus status) {
+        return incidentRepository.save(Incident.builder()
+                .title("api 5xx").severity(Severity.CRITICAL).status(status).build()).getId();
+    }
+
+    @Test
+    @DisplayName("POST /api/incidents/ack — reports moved and skipped ids")
+    void bulkAcknowledge_ReportsTransitionedAndSkipped() throws Exception {
+        Long open = incident(IncidentStatus.OPEN);
+        Long acknowledged = incident(IncidentStatus.ACKNOWLEDGED);
+
+        mockMvc.perform(post("/incidents/ack").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + open + "," + acknowledged + "," + open + ",424242]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.transitioned").value(1))
+                .andExpect(jsonPath("$.transitionedIds", contains(open.intValue())))
+                .andExpect(jsonPath("$.skippedIds", containsInAnyOrder(acknowledged.intValue(), 424242)));
+    }
+
+    @Test
+    @DisplayName("POST /api/incidents/resolve — resolves in one call and leaves absent notes null")
+    void bulkResolve_ResolvesWithoutEmptyNotes() throws Exception {
+        Long open = incident(IncidentStatus.OPEN);
+        Long investigating = incident(IncidentStatus.INVESTIGATING);
+
+        mockMvc.perform(post("/incidents/resolve").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + open + "," + investigating + "],\"resolution\":\"rolled back\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned").value(2));
+
+        Incident resolved = incidentRepository.findById(open).orElseThrow();
+        assertThat(resolved.getRootCause()).isNull();
+        assertThat(resolved.getResolution()).isEqualTo("rolled back");
+    }
+
+    @Test
+    @DisplayName("POST /api/incidents/ack — rejects an empty id list")
+    void bulkAcknowledge_NoIds_BadRequest() throws Exception {
+        mockMvc.perform(post("/incidents/ack").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/incidents/{id}/ack — 409 when the incident already moved on")
+    void acknowledge_AlreadyAcknowledged_Conflict() throws Exception {
+        Long acknowledged = incident(IncidentStatus.ACKNOWLEDGED);
+
+        mockMvc.perform(post("/incidents/" + acknowledged + "/ack"))
+                .andExpect(status().isConflict());
+    }
+}
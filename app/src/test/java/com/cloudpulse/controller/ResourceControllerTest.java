@@ -0,0 +1,114 @@
+package com.cloudpulse.controller;
+
+import com.cloudpulse.dto.ResourceOverview;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceStatus;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.CollectionVersionRepository;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import com.cloudpulse.service.ChangeTracker;
+import com.cloudpulse.service.ResourceOverviewService;
+import com.cloudpulse.service.ResourceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ResourceController.class)
+@Import(ChangeTracker.class)
+@DisplayName("ResourceController Integration Tests")
+class ResourceControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ResourceService resourceService;
+
+    @MockBean
+    private CollectionVersionRepository collectionVersionRepository;
+
+    @MockBean
+    private ResourceRepository resourceRepository;
+
+    @MockBean
+    private IncidentRepository incidentRepository;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ResourceOverviewService resourceOverviewService;
+
+    @Test
+    @DisplayName("GET /api/resources/{id} — 304 on a matching If-None-Match without loading the resource")
+    void getResourceById_MatchingEtag_NotModified() throws Exception {
+        Resource resource = Resource.builder().id(7L).name("api-gw").resourceType(ResourceType.EC2)
+                .status(ResourceStatus.HEALTHY).build();
+        when(resourceService.getResourceById(7L)).thenReturn(resource);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 3, 1, 12, 0);
+        when(resourceRepository.findUpdatedAt(7L)).thenReturn(Optional.of(updatedAt));
+
+        String etag = mockMvc.perform(get("/resources/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("api-gw"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/resources/7").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(resourceService, times(1)).getResourceById(7L);
+
+        // Written by any instance: the tag comes from the row
+        when(resourceRepository.findUpdatedAt(7L)).thenReturn(Optional.of(updatedAt.plusNanos(1000)));
+
+        mockMvc.perform(get("/resources/7").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/resources/unhealthy — tag changes with any resource write")
+    void getUnhealthy_AnyResourceWrite_InvalidatesEtag() throws Exception {
+        when(resourceService.getUnhealthy()).thenReturn(List.of());
+        when(collectionVersionRepository.findVersion("RESOURCES")).thenReturn(Optional.of(41L));
+
+        String etag = mockMvc.perform(get("/resources/unhealthy"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/resources/unhealthy").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        when(collectionVersionRepository.findVersion("RESOURCES")).thenReturn(Optional.of(42L));
+
+        mockMvc.perform(get("/resources/unhealthy").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(resourceService, times(2)).getUnhealthy();
+    }
+
+    @Test
+    @DisplayName("GET /api/resources/batch — overviews for a comma-separated id list")
+    void getOverviews_IdList() throws Exception {
+        Resource resource = Resource.builder().id(7L).name("api-gw").build();
+        when(resourceOverviewService.getOverviews(List.of(7L, 8L)))
+                .thenReturn(List.of(ResourceOverview.builder().resource(resource).activeIncidents(List.of()).build()));
+
+        mockMvc.perform(get("/resources/batch").param("ids", "7,8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].resource.name").value("api-gw"))
+                .andExpect(jsonPath("$[0].activeIncidents").isEmpty());
+    }
+}
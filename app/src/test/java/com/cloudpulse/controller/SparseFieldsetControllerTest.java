@@ -0,0 +1,167 @@
+package com.cloudpulse.controller;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceStatus;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import com.cloudpulse.service.HealthCheckService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sparse-fieldsets;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("fields= Sparse Fieldset Integration Tests")
+class SparseFieldsetControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private HealthCheckService healthCheckService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Performs the streamed request and parses the array it wrote.
+     */
+    private List<Map<String, Object>> fields(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<>() {});
+    }
+
+    private Resource resource(String name, ResourceStatus status, String environment) {
+        return resourceRepository.save(Resource.builder().name(name).resourceType(ResourceType.EC2)
+                .provider("aws").region("eu-west-1").status(status).environment(environment).build());
+    }
+
+    private Incident incident(String title, Severity severity, IncidentStatus status, Resource resource) {
+        return incidentRepository.save(Incident.builder().title(title).severity(severity).status(status)
+                .resource(resource).build());
+    }
+
+    @Test
+    @DisplayName("GET /api/resources?fields= — only the listed fields, nulls left out, filters and deletions applied")
+    void resources_SelectedFieldsOnly() throws Exception {
+        Resource web = resource("web-1", ResourceStatus.HEALTHY, "prod");
+        Resource batch = resource("batch-1", ResourceStatus.HEALTHY, null);
+        Resource db = resource("db-1", ResourceStatus.UNHEALTHY, "prod");
+        Resource leaving = resource("old-1", ResourceStatus.HEALTHY, "prod");
+        jdbcTemplate.update("UPDATE resources SET deletion_requested_at = ? WHERE id = ?",
+                LocalDateTime.now(), leaving.getId());
+
+        List<Map<String, Object>> healthy = fields("/resources?fields=environment,name,id,name&status=HEALTHY");
+
+        assertThat(healthy).containsExactly(
+                Map.of("environment", "prod", "name", "web-1", "id", web.getId().intValue()),
+                Map.of("name", "batch-1", "id", batch.getId().intValue()));
+        assertThat(healthy.get(0).keySet()).containsExactly("environment", "name", "id");
+
+        assertThat(fields("/resources/unhealthy?fields=id,status,resourceType")).containsExactly(
+                Map.of("id", db.getId().intValue(), "status", "UNHEALTHY", "resourceType", "EC2"));
+
+        mockMvc.perform(get("/resources?fields=id,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/incidents/*?fields= — active ones in severity order, related ids only when set")
+    void incidents_SelectedFieldsOnly() throws Exception {
+        Resource api = resource("api-gw", ResourceStatus.DEGRADED, "prod");
+        Incident low = incident("slow api", Severity.LOW, IncidentStatus.OPEN, api);
+        Incident critical = incident("region down", Severity.CRITICAL, IncidentStatus.ACKNOWLEDGED, null);
+        Incident resolved = incident("disk full", Severity.CRITICAL, IncidentStatus.RESOLVED, api);
+
+        // checks run by the other tests may have opened incidents of their own
+        List<Integer> ours = List.of(low.getId().intValue(), critical.getId().intValue(), resolved.getId().intValue());
+
+        assertThat(fields("/incidents/active?fields=id,severity,resourceId"))
+                .filteredOn(row -> ours.contains(row.get("id"))).containsExactly(
+                Map.of("id", critical.getId().intValue(), "severity", "CRITICAL"),
+                Map.of("id", low.getId().intValue(), "severity", "LOW", "resourceId", api.getId().intValue()));
+
+        assertThat(fields("/incidents/critical?fields=id")).filteredOn(row -> ours.contains(row.get("id")))
+                .containsExactly(Map.of("id", critical.getId().intValue()));
+
+        assertThat(fields("/incidents?fields=id,status")).filteredOn(row -> ours.contains(row.get("id")))
+                .extracting(row -> row.get("status"))
+                .containsExactly("OPEN", "ACKNOWLEDGED", "RESOLVED");
+
+        mockMvc.perform(get("/incidents/active?fields=,"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/healthchecks/*?fields= — history newest first, recent checks without null fields")
+    void healthChecks_SelectedFieldsOnly() throws Exception {
+        Resource cache = resource("cache-1", ResourceStatus.HEALTHY, "prod");
+        HealthCheck first = healthCheckService.performHealthCheck(resourceRepository.findById(cache.getId()).orElseThrow());
+        HealthCheck second = healthCheckService.performHealthCheck(resourceRepository.findById(cache.getId()).orElseThrow());
+
+        List<Map<String, Object>> history = fields("/healthchecks/resource/" + cache.getId() + "?fields=id,status&limit=10");
+
+        assertThat(history).containsExactly(
+                Map.of("id", second.getId().intValue(), "status", second.getStatus().name()),
+                Map.of("id", first.getId().intValue(), "status", first.getStatus().name()));
+
+        // without fields=, the history has every field the hot store holds
+        assertThat(fields("/healthchecks/resource/" + cache.getId() + "?limit=10"))
+                .extracting(row -> row.get("id"), row -> row.get("resourceId"), row -> row.get("responseTimeMs"))
+                .containsExactly(
+                        tuple(second.getId().intValue(), cache.getId().intValue(), second.getResponseTimeMs()),
+                        tuple(first.getId().intValue(), cache.getId().intValue(), first.getResponseTimeMs()));
+
+        jdbcTemplate.update("INSERT INTO health_checks (resource_id, status, checked_at) VALUES (?, 'UNREACHABLE', ?)",
+                cache.getId(), LocalDateTime.now().plusMinutes(1));
+        List<Map<String, Object>> recent = fields("/healthchecks/recent?fields=status,responseTimeMs,message&hours=1");
+
+        assertThat(recent).hasSize(3);
+        assertThat(recent.get(0)).isEqualTo(Map.of("status", "UNREACHABLE"));
+        assertThat(recent).allSatisfy(row -> assertThat(row.keySet()).contains("status")
+                .isSubsetOf("status", "responseTimeMs", "message"));
+
+        mockMvc.perform(get("/healthchecks/resource/" + cache.getId() + "?fields=id,secret"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,88 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveIncidentIndex Unit Tests")
+class ActiveIncidentIndexTest {
+
+    @Mock
+    private IncidentRepository incidentRepository;
+
+    private ActiveIncidentIndex index;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        index = new ActiveIncidentIndex(incidentRepository);
+    }
+
+    private ActiveIncidentIndex.Entry entry(long id, Severity severity, IncidentStatus status,
+            int minutesAgo, Long resourceId) {
+        return new ActiveIncidentIndex.Entry(id, severity, status, now.minusMinutes(minutesAgo), resourceId);
+    }
+
+    @Test
+    @DisplayName("Should order active incidents by severity, then age")
+    void activeIds_OrderedBySeverityThenCreatedAt() {
+        index.update(entry(1, Severity.LOW, IncidentStatus.OPEN, 30, null));
+        index.update(entry(2, Severity.CRITICAL, IncidentStatus.OPEN, 5, null));
+        index.update(entry(3, Severity.CRITICAL, IncidentStatus.ACKNOWLEDGED, 10, null));
+        index.update(entry(4, Severity.HIGH, IncidentStatus.OPEN, 60, null));
+
+        assertThat(index.activeIds()).containsExactly(3L, 2L, 4L, 1L);
+        assertThat(index.activeIds(Severity.CRITICAL)).containsExactly(3L, 2L);
+        assertThat(index.activeCount()).isEqualTo(4);
+        assertThat(index.count(Severity.CRITICAL)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop incidents once resolved and move them on severity change")
+    void update_ResolvedOrReclassified_AdjustsBuckets() {
+        index.update(entry(1, Severity.HIGH, IncidentStatus.OPEN, 10, 7L));
+        index.update(entry(2, Severity.HIGH, IncidentStatus.OPEN, 5, 7L));
+
+        index.update(entry(1, Severity.CRITICAL, IncidentStatus.INVESTIGATING, 10, 7L));
+        index.update(entry(2, Severity.HIGH, IncidentStatus.RESOLVED, 5, 7L));
+
+        assertThat(index.count(Severity.HIGH)).isZero();
+        assertThat(index.count(Severity.CRITICAL)).isEqualTo(1);
+        assertThat(index.countsBySeverity()).containsOnlyKeys(Severity.CRITICAL);
+        assertThat(index.activeIdsForResource(7L)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should list a resource's active incidents by severity, then age")
+    void activeIdsForResource_Ordered() {
+        index.update(entry(1, Severity.LOW, IncidentStatus.OPEN, 30, 7L));
+        index.update(entry(2, Severity.CRITICAL, IncidentStatus.OPEN, 5, 7L));
+        index.update(entry(3, Severity.CRITICAL, IncidentStatus.OPEN, 10, 7L));
+        index.update(entry(4, Severity.HIGH, IncidentStatus.OPEN, 60, 8L));
+
+        assertThat(index.activeIdsForResource(7L)).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should forget deleted incidents")
+    void remove_DeletedIncident_ClearsAllViews() {
+        index.update(entry(1, Severity.MEDIUM, IncidentStatus.OPEN, 10, 3L));
+
+        index.remove(1L);
+
+        assertThat(index.activeCount()).isZero();
+        assertThat(index.get(1L)).isEmpty();
+        assertThat(index.activeIdsForResource(3L)).isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AlertCondition Unit Tests")
+class AlertConditionTest {
+
+    private HealthCheck check(HealthStatus status, Integer responseTimeMs, Integer statusCode) {
+        return HealthCheck.builder().status(status).responseTimeMs(responseTimeMs).statusCode(statusCode).build();
+    }
+
+    @Test
+    @DisplayName("Should compile comparisons combined with AND, OR, NOT and parentheses")
+    void compile_BooleanCombinations() {
+        AlertCondition.Node node = AlertCondition.compile(
+                "responseTimeMs > 800 or (status != UP and not statusCode == 503)");
+
+        assertThat(node.test(check(HealthStatus.UP, 900, 200))).isTrue();
+        assertThat(node.test(check(HealthStatus.DOWN, 100, 0))).isTrue();
+        assertThat(node.test(check(HealthStatus.DEGRADED, 100, 503))).isFalse();
+        assertThat(node.test(check(HealthStatus.UP, 100, 200))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should treat a comparison on a missing field as false")
+    void compile_MissingField_False() {
+        assertThat(AlertCondition.compile("responseTimeMs >= 0").test(check(HealthStatus.DOWN, null, null)))
+                .isFalse();
+        assertThat(AlertCondition.compile("NOT responseTimeMs < 500").test(check(HealthStatus.DOWN, null, null)))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed conditions")
+    void compile_Malformed_Rejected() {
+        assertThatThrownBy(() -> AlertCondition.compile("latency > 5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AlertCondition.compile("status > UP")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AlertCondition.compile("(statusCode == 500")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AlertCondition.compile("statusCode == 500 503")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AlertCondition.compile(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
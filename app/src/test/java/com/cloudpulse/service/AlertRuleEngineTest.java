@@ -0,0 +1,163 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.model.AlertRule;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.AlertRuleRepository;
+import com.cloudpulse.repository.IncidentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertRuleEngine Unit Tests")
+class AlertRuleEngineTest {
+
+    @Mock
+    private AlertRuleRepository alertRuleRepository;
+
+    @Mock
+    private IncidentService incidentService;
+
+    @Mock
+    private IncidentRepository incidentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AlertRuleEngine alertRuleEngine;
+
+    private final Resource prodDb = Resource.builder().id(1L).name("orders-db")
+            .resourceType(ResourceType.RDS).environment("prod").build();
+    private final Resource stagingDb = Resource.builder().id(2L).name("orders-db-staging")
+            .resourceType(ResourceType.RDS).environment("staging").build();
+
+    private final AlertRule slowProdRds = AlertRule.builder().id(10L).version(0L).name("slow prod RDS")
+            .condition("responseTimeMs > 800").resourceType(ResourceType.RDS).environment("prod")
+            .matchCount(3).windowSize(5).severity(Severity.HIGH).build();
+
+    @BeforeEach
+    void setUp() {
+        when(alertRuleRepository.findByEnabledTrue()).thenReturn(List.of(slowProdRds));
+        when(alertRuleRepository.findFingerprint()).thenReturn(fingerprint(1));
+        lenient().when(alertRuleRepository.lockById(10L)).thenReturn(Optional.of(slowProdRds));
+        lenient().when(incidentService.createAlertIncident(eq(10L), any()))
+                .thenReturn(Incident.builder().id(99L).build());
+        alertRuleEngine.reload();
+    }
+
+    private static List<Object[]> fingerprint(long count) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { count, 0L, count, null });
+        return rows;
+    }
+
+    private void feed(Resource resource, int... latencies) {
+        for (int latency : latencies) {
+            alertRuleEngine.evaluate(resource,
+                    HealthCheck.builder().status(HealthStatus.UP).responseTimeMs(latency).build());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fire once after 3 of the last 5 checks match, and clear when they age out")
+    void evaluate_SlidingWindow_FiresOnceAndClears() {
+        feed(prodDb, 900, 100, 950);
+        assertThat(alertRuleEngine.getFiring()).isEmpty();
+
+        feed(prodDb, 100, 1000, 1200);
+
+        ArgumentCaptor<IncidentRequest> request = ArgumentCaptor.forClass(IncidentRequest.class);
+        verify(incidentService, times(1)).createAlertIncident(eq(10L), request.capture());
+        assertThat(request.getValue().getSeverity()).isEqualTo(Severity.HIGH);
+        assertThat(request.getValue().getResourceId()).isEqualTo(1L);
+        assertThat(alertRuleEngine.getFiring()).singleElement()
+                .satisfies(alert -> assertThat(alert.getIncidentId()).isEqualTo(99L));
+
+        feed(prodDb, 100, 100, 100);
+        assertThat(alertRuleEngine.getFiring()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not test rules scoped to another environment")
+    void evaluate_OutOfScope_Ignored() {
+        feed(stagingDb, 2000, 2000, 2000, 2000, 2000);
+
+        assertThat(alertRuleEngine.getFiring()).isEmpty();
+        verifyNoInteractions(incidentService);
+    }
+
+    @Test
+    @DisplayName("Should keep window state of unchanged rules across a reload")
+    void reload_UnchangedRule_KeepsWindow() {
+        feed(prodDb, 900, 900);
+        AlertRule other = AlertRule.builder().id(11L).version(0L).name("any down").condition("status == DOWN")
+                .matchCount(1).windowSize(1).severity(Severity.CRITICAL).build();
+        when(alertRuleRepository.findByEnabledTrue()).thenReturn(List.of(slowProdRds, other));
+        alertRuleEngine.reload();
+
+        feed(prodDb, 900);
+
+        assertThat(alertRuleEngine.getFiring()).extracting("ruleId").containsExactly(10L);
+    }
+
+    @Test
+    @DisplayName("Should reuse the rule's open incident on the resource instead of opening another")
+    void evaluate_OpenIncidentExists_Reused() {
+        when(incidentRepository.findActiveIdsForAlertRule(10L, 1L)).thenReturn(List.of(42L));
+
+        feed(prodDb, 900, 900, 900);
+
+        verify(incidentService, never()).createAlertIncident(any(), any());
+        assertThat(alertRuleEngine.getFiring()).singleElement()
+                .satisfies(alert -> assertThat(alert.getIncidentId()).isEqualTo(42L));
+    }
+
+    @Test
+    @DisplayName("Should move windows only for checks whose transaction committed")
+    void evaluate_RolledBack_NotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            feed(prodDb, 900, 900, 900);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization(); // rolled back: afterCommit never runs
+        }
+        feed(prodDb, 900, 900);
+
+        assertThat(alertRuleEngine.getFiring()).isEmpty();
+        verifyNoInteractions(incidentService);
+    }
+
+    @Test
+    @DisplayName("Should reload on refresh only when the rules table fingerprint moved")
+    void refresh_ReloadsOnFingerprintChange() {
+        alertRuleEngine.refresh();
+        verify(alertRuleRepository, times(1)).findByEnabledTrue();
+
+        when(alertRuleRepository.findFingerprint()).thenReturn(fingerprint(2));
+        alertRuleEngine.refresh();
+        verify(alertRuleRepository, times(2)).findByEnabledTrue();
+    }
+}
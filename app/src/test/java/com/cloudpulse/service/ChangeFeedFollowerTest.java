@@ -0,0 +1,153 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.dto.ResourceSuggestion;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:change-feed-follower;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false",
+        "cloudpulse.changes.follow-interval-ms=3600000"
+})
+@DisplayName("ChangeFeedFollower Integration Tests")
+class ChangeFeedFollowerTest {
+
+    @Autowired
+    private ChangeFeedFollower changeFeedFollower;
+
+    @Autowired
+    private ActiveIncidentIndex activeIncidentIndex;
+
+    @Autowired
+    private IncidentSearchIndex incidentSearchIndex;
+
+    @Autowired
+    private IncidentService incidentService;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private IncidentAnalyticsService incidentAnalyticsService;
+
+    @Autowired
+    private ResourceTypeaheadIndex resourceTypeaheadIndex;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes the row and its change-log entry the way another pod would:
+     * nothing on this instance hears about it until the follower runs.
+     */
+    private Incident writtenElsewhere(Incident incident) {
+        Incident saved = incidentRepository.save(incident);
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, change_type, status, occurred_at) "
+                + "VALUES ('INCIDENT', ?, 'UPDATED', ?, ?)", saved.getId(), saved.getStatus().name(),
+                LocalDateTime.now());
+        return saved;
+    }
+
+    @Test
+    @DisplayName("Should index an incident opened elsewhere and drop it once resolved elsewhere")
+    void follow_RemoteChanges_AppliedToIndex() {
+        Incident incident = writtenElsewhere(Incident.builder()
+                .title("queue backlog").severity(Severity.HIGH).status(IncidentStatus.OPEN).build());
+        assertThat(activeIncidentIndex.get(incident.getId())).isEmpty();
+
+        changeFeedFollower.follow();
+        assertThat(activeIncidentIndex.get(incident.getId())).isPresent();
+
+        incident.setStatus(IncidentStatus.RESOLVED);
+        writtenElsewhere(incident);
+        changeFeedFollower.follow();
+        assertThat(activeIncidentIndex.get(incident.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should make an incident written elsewhere searchable, and forget it once deleted elsewhere")
+    void follow_RemoteChanges_AppliedToSearchIndex() {
+        Incident incident = writtenElsewhere(Incident.builder()
+                .title("kafka rebalance storm").severity(Severity.HIGH).status(IncidentStatus.OPEN).build());
+        assertThat(incidentSearchIndex.search("rebalance", null, null, 10).hits()).isEmpty();
+
+        changeFeedFollower.follow();
+        assertThat(incidentSearchIndex.search("rebalance", null, null, 10).hits())
+                .extracting(IncidentSearchIndex.Hit::incidentId).containsExactly(incident.getId());
+
+        incidentRepository.delete(incident);
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, change_type, occurred_at) "
+                + "VALUES ('INCIDENT', ?, 'DELETED', ?)", incident.getId(), LocalDateTime.now());
+        changeFeedFollower.follow();
+        assertThat(incidentSearchIndex.search("rebalance", null, null, 10).hits()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count an incident resolved elsewhere in the analytics, once")
+    void follow_RemoteResolution_CountedOnceInAnalytics() {
+        long before = resolvedToday(Severity.CRITICAL);
+        Incident incident = writtenElsewhere(Incident.builder().title("vault sealed").severity(Severity.CRITICAL)
+                .status(IncidentStatus.OPEN).build());
+        incident.setStatus(IncidentStatus.RESOLVED);
+        incident.setResolvedAt(LocalDateTime.now());
+        incident = writtenElsewhere(incident);
+
+        changeFeedFollower.follow();
+        writtenElsewhere(incident); // a later change to the same incident
+        changeFeedFollower.follow();
+
+        assertThat(resolvedToday(Severity.CRITICAL)).isEqualTo(before + 1);
+    }
+
+    private long resolvedToday(Severity severity) {
+        return incidentAnalyticsService.getReport().getWindows().get("1d").get(severity.name()).getResolved();
+    }
+
+    @Test
+    @DisplayName("Should offer a resource created elsewhere and drop it once its deletion is requested elsewhere")
+    void follow_RemoteResourceChanges_AppliedToTypeahead() {
+        Resource resource = resourceRepository.save(Resource.builder().name("ledger-replica")
+                .resourceType(ResourceType.RDS).provider("aws").region("eu-west-1").build());
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, change_type, occurred_at) "
+                + "VALUES ('RESOURCE', ?, 'CREATED', ?)", resource.getId(), LocalDateTime.now());
+        changeFeedFollower.follow();
+        assertThat(resourceTypeaheadIndex.suggest("ledger", 10)).extracting(ResourceSuggestion::getId)
+                .containsExactly(resource.getId());
+
+        // the DELETED entry alone drops it; the row is not read again
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, change_type, occurred_at) "
+                + "VALUES ('RESOURCE', ?, 'DELETED', ?)", resource.getId(), LocalDateTime.now());
+        changeFeedFollower.follow();
+        assertThat(resourceTypeaheadIndex.suggest("ledger", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not list an incident the index still holds but the database has resolved")
+    void getActiveIncidents_IndexBehind_RefilteredByStatus() {
+        Incident incident = incidentService.createIncident(IncidentRequest.builder()
+                .title("cache evictions").severity(Severity.MEDIUM).build());
+        jdbcTemplate.update("UPDATE incidents SET status = 'RESOLVED' WHERE id = ?", incident.getId());
+
+        assertThat(activeIncidentIndex.get(incident.getId())).isPresent();
+        assertThat(incidentService.getActiveIncidents()).extracting(Incident::getId)
+                .doesNotContain(incident.getId());
+    }
+}
@@ -0,0 +1,141 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ChangeFeedPage;
+import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.dto.ResourceRequest;
+import com.cloudpulse.model.ChangeLogEntry;
+import com.cloudpulse.model.ChangeLogEntry.ChangeType;
+import com.cloudpulse.model.ChangeLogEntry.EntityType;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceStatus;
+import com.cloudpulse.model.Resource.ResourceType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:change-log;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false"
+})
+@DisplayName("ChangeLogService Integration Tests")
+class ChangeLogServiceTest {
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private IncidentService incidentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long head() {
+        long cursor = 0;
+        ChangeFeedPage page;
+        do {
+            page = changeLogService.getChanges(cursor, ChangeLogService.MAX_LIMIT, null).join();
+            cursor = page.getNextCursor();
+        } while (!page.getChanges().isEmpty());
+        return cursor;
+    }
+
+    @Test
+    @DisplayName("Should list resource and incident changes in order, from the cursor on")
+    void getChanges_FromCursor() {
+        long cursor = head();
+        Resource resource = resourceService.createResource(ResourceRequest.builder().name("billing-api")
+                .resourceType(ResourceType.ECS).provider("aws").region("eu-west-1").build());
+        resourceService.updateStatus(resource.getId(), ResourceStatus.DEGRADED);
+        Incident incident = incidentService.createIncident(IncidentRequest.builder()
+                .title("billing-api slow").severity(Severity.MEDIUM).resourceId(resource.getId()).build());
+        incidentService.acknowledgeIncident(incident.getId());
+
+        ChangeFeedPage page = changeLogService.getChanges(cursor, 3, null).join();
+
+        assertThat(page.getChanges())
+                .extracting(ChangeLogEntry::getEntityType, ChangeLogEntry::getChangeType, ChangeLogEntry::getStatus)
+                .containsExactly(
+                        tuple(EntityType.RESOURCE, ChangeType.CREATED, "UNKNOWN"),
+                        tuple(EntityType.RESOURCE, ChangeType.STATUS_CHANGED, "DEGRADED"),
+                        tuple(EntityType.INCIDENT, ChangeType.CREATED, "OPEN"));
+        assertThat(changeLogService.getChanges(page.getNextCursor(), 10, null).join().getChanges())
+                .extracting(ChangeLogEntry::getEntityId, ChangeLogEntry::getStatus)
+                .containsExactly(tuple(incident.getId(), "ACKNOWLEDGED"));
+    }
+
+    @Test
+    @DisplayName("Should hold a long-poll until a change commits, and never show uncommitted entries")
+    void getChanges_LongPoll_ReleasedOnCommit() throws Exception {
+        long cursor = head();
+        CompletableFuture<ChangeFeedPage> waiting = changeLogService.getChanges(cursor, 10, Duration.ofSeconds(10));
+        assertThat(waiting).isNotDone();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            changeLogService.record(EntityType.INCIDENT, 42L, ChangeType.UPDATED, null);
+            assertThat(changeLogService.getChanges(cursor, 10, null).join().getChanges()).isEmpty();
+        });
+
+        ChangeFeedPage page = waiting.get(5, TimeUnit.SECONDS);
+        assertThat(page.getChanges()).extracting(ChangeLogEntry::getEntityId).containsExactly(42L);
+    }
+
+    @Test
+    @DisplayName("Should release a long-poll for a change committed by another instance")
+    void getChanges_LongPoll_ReleasedByRequery() throws Exception {
+        long cursor = head();
+        CompletableFuture<ChangeFeedPage> waiting = changeLogService.getChanges(cursor, 10, Duration.ofSeconds(10));
+
+        // Written straight to the table, as another pod would: no local commit signal
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, change_type, occurred_at) "
+                + "VALUES ('RESOURCE', 7, 'UPDATED', ?)", LocalDateTime.now());
+
+        ChangeFeedPage page = waiting.get(5, TimeUnit.SECONDS);
+        assertThat(page.getChanges()).extracting(ChangeLogEntry::getEntityId).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Should stop at a sequence gap until the entry after it is older than the commit lag")
+    void getChanges_Gap_HeldUntilSettled() {
+        long cursor = head();
+        jdbcTemplate.update("INSERT INTO change_log (seq, entity_type, entity_id, change_type, occurred_at) "
+                + "VALUES (?, 'INCIDENT', 9, 'UPDATED', ?)", cursor + 2, LocalDateTime.now());
+        try {
+            assertThat(changeLogService.getChanges(cursor, 10, null).join().getChanges()).isEmpty();
+
+            jdbcTemplate.update("UPDATE change_log SET occurred_at = ? WHERE seq = ?",
+                    LocalDateTime.now().minusMinutes(1), cursor + 2);
+
+            ChangeFeedPage page = changeLogService.getChanges(cursor, 10, null).join();
+            assertThat(page.getChanges()).extracting(ChangeLogEntry::getSeq).containsExactly(cursor + 2);
+            assertThat(page.getNextCursor()).isEqualTo(cursor + 2);
+        } finally {
+            jdbcTemplate.update("DELETE FROM change_log WHERE seq > ?", cursor);
+            jdbcTemplate.execute("ALTER TABLE change_log ALTER COLUMN seq RESTART WITH " + (cursor + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a limit above the maximum")
+    void getChanges_LimitTooLarge_Rejected() {
+        assertThatThrownBy(() -> changeLogService.getChanges(0, ChangeLogService.MAX_LIMIT + 1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.CollectionVersionRepository;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:change-tracker;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false"
+})
+@DisplayName("ChangeTracker Integration Tests")
+class ChangeTrackerTest {
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    @Autowired
+    private IncidentService incidentService;
+
+    @Autowired
+    private CollectionVersionRepository collectionVersionRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should move the collection and item versions on a committed write, the same on every instance")
+    void committedWrite_VersionsShared() {
+        ChangeTracker otherPod = new ChangeTracker(collectionVersionRepository, resourceRepository,
+                incidentRepository, transactionManager);
+        Incident incident = incidentService.createIncident(IncidentRequest.builder()
+                .title("disk full").severity(Severity.HIGH).build());
+        long collection = changeTracker.version(ChangeTracker.Collection.INCIDENTS);
+        long item = changeTracker.version(ChangeTracker.Collection.INCIDENTS, incident.getId());
+
+        incidentService.acknowledgeIncident(incident.getId());
+
+        assertThat(otherPod.version(ChangeTracker.Collection.INCIDENTS)).isEqualTo(collection + 1);
+        assertThat(otherPod.version(ChangeTracker.Collection.INCIDENTS, incident.getId())).isGreaterThan(item);
+        assertThat(otherPod.version(ChangeTracker.Collection.INCIDENTS))
+                .isEqualTo(changeTracker.version(ChangeTracker.Collection.INCIDENTS));
+    }
+
+    @Test
+    @DisplayName("Should bump once per transaction, and not at all when it rolls back")
+    void changed_OncePerTransaction_NotOnRollback() {
+        long before = changeTracker.version(ChangeTracker.Collection.RESOURCES);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            changeTracker.changed(ChangeTracker.Collection.RESOURCES);
+            changeTracker.changed(ChangeTracker.Collection.RESOURCES);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            changeTracker.changed(ChangeTracker.Collection.RESOURCES);
+            status.setRollbackOnly();
+        });
+
+        assertThat(changeTracker.version(ChangeTracker.Collection.RESOURCES)).isEqualTo(before + 1);
+    }
+}
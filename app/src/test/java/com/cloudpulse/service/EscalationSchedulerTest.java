@@ -0,0 +1,106 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:escalation;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false",
+        "cloudpulse.escalation.critical-timeout=300ms",
+        "cloudpulse.escalation.high-timeout=1h",
+        "cloudpulse.escalation.tick=10ms"
+})
+@DisplayName("EscalationScheduler Integration Tests")
+class EscalationSchedulerTest {
+
+    @Autowired
+    private IncidentService incidentService;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private EscalationScheduler escalationScheduler;
+
+    @Autowired
+    private ChangeFeedFollower changeFeedFollower;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Incident create(String title, Severity severity) {
+        return incidentService.createIncident(IncidentRequest.builder().title(title).severity(severity).build());
+    }
+
+    @Test
+    @DisplayName("Should escalate only the unacknowledged incident past its timeout")
+    void unacknowledgedCritical_Escalated() throws Exception {
+        Incident ignored = create("payments down", Severity.CRITICAL);
+        Incident acked = create("search down", Severity.CRITICAL);
+        Incident minor = create("slow batch", Severity.LOW);
+        Incident high = create("queue lag", Severity.HIGH);
+        incidentService.acknowledgeIncident(acked.getId());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (incidentRepository.findById(ignored.getId()).orElseThrow().getEscalatedAt() == null
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(incidentRepository.findById(ignored.getId()).orElseThrow().getEscalatedAt()).isNotNull();
+        assertThat(incidentRepository.findById(acked.getId()).orElseThrow().getEscalatedAt()).isNull();
+        assertThat(incidentRepository.findById(minor.getId()).orElseThrow().getEscalatedAt()).isNull();
+        assertThat(incidentRepository.findById(high.getId()).orElseThrow().getEscalatedAt()).isNull();
+        assertThat(escalationScheduler.armedCount()).isEqualTo(1); // the HIGH one, an hour out
+
+        incidentService.resolveIncident(high.getId(), "lag", "scaled consumers");
+        assertThat(escalationScheduler.armedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should arm and cancel timers for incidents written by another instance from the change feed")
+    void changeFeed_IncidentFromAnotherInstance_Tracked() throws Exception {
+        // written elsewhere: only the row and its change log entry exist
+        Long overdue = insertElsewhere("dns down", "CRITICAL", LocalDateTime.now().minusMinutes(5));
+        Long pending = insertElsewhere("disk filling", "HIGH", LocalDateTime.now());
+        changeFeedFollower.follow();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (incidentRepository.findById(overdue).orElseThrow().getEscalatedAt() == null
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(incidentRepository.findById(overdue).orElseThrow().getEscalatedAt()).isNotNull();
+        assertThat(escalationScheduler.isArmed(pending)).isTrue();
+
+        jdbcTemplate.update("UPDATE incidents SET status = 'ACKNOWLEDGED' WHERE id = ?", pending);
+        changed(pending, "STATUS_CHANGED", "ACKNOWLEDGED");
+        changeFeedFollower.follow();
+
+        assertThat(escalationScheduler.isArmed(pending)).isFalse();
+    }
+
+    private Long insertElsewhere(String title, String severity, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO incidents (title, severity, status, created_at, version) "
+                + "VALUES (?, ?, 'OPEN', ?, 0)", title, severity, createdAt);
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM incidents WHERE title = ?", Long.class, title);
+        changed(id, "CREATED", "OPEN");
+        return id;
+    }
+
+    private void changed(Long incidentId, String changeType, String status) {
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, change_type, status, occurred_at) "
+                + "VALUES ('INCIDENT', ?, ?, ?, ?)", incidentId, changeType, status, LocalDateTime.now());
+    }
+}
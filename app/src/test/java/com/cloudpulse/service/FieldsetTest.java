@@ -0,0 +1,37 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.Incident;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Fieldset Unit Tests")
+class FieldsetTest {
+
+    @Test
+    @DisplayName("Should keep request order, trim names and drop duplicates")
+    void select_ValidSpec_ReturnsFieldsInOrder() {
+        assertThat(Fieldset.INCIDENT.select(" severity,id , severity,,resourceId"))
+                .extracting(Fieldset.Field::path)
+                .containsExactly("i.severity", "i.id", "i.resource.id");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and empty field lists")
+    void select_InvalidSpec_Throws() {
+        assertThatThrownBy(() -> Fieldset.RESOURCE.select("id,password"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("password");
+        assertThatThrownBy(() -> Fieldset.HEALTH_CHECK.select(" , "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should expose related entities by id only")
+    void getter_RelatedEntity_ReturnsId() {
+        Incident incident = Incident.builder().id(4L).build();
+
+        assertThat(Fieldset.INCIDENT.select("resourceId").get(0).getter().apply(incident)).isNull();
+    }
+}
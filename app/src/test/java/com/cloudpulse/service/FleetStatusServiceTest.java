@@ -0,0 +1,113 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.FleetStatusEntry;
+import com.cloudpulse.dto.ResourceRequest;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.HealthCheckRepository;
+import com.cloudpulse.repository.LatestHealthCheckRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fleet-status;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false"
+})
+@DisplayName("FleetStatusService Integration Tests")
+class FleetStatusServiceTest {
+
+    @Autowired
+    private FleetStatusService fleetStatusService;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private HealthCheckService healthCheckService;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private HealthCheckRepository healthCheckRepository;
+
+    @Autowired
+    private LatestHealthCheckRepository latestHealthCheckRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private FleetStatusEntry entry(Long resourceId) {
+        return fleetStatusService.getFleetStatus(null, null, null).stream()
+                .filter(e -> e.getResourceId().equals(resourceId)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should backfill rows for existing resources from their newest check")
+    void backfill_FillsFromHistory() {
+        Resource legacy = resourceRepository.save(Resource.builder().name("legacy-db")
+                .resourceType(ResourceType.RDS).provider("aws").region("eu-west-1").build());
+        Resource idle = resourceRepository.save(Resource.builder().name("idle-vm")
+                .resourceType(ResourceType.EC2).provider("aws").region("eu-west-1").build());
+        healthCheckRepository.saveAll(List.of(
+                HealthCheck.builder().resource(legacy).status(HealthStatus.UP).responseTimeMs(30)
+                        .checkedAt(LocalDateTime.now().minusMinutes(5)).build(),
+                HealthCheck.builder().resource(legacy).status(HealthStatus.DEGRADED).responseTimeMs(900)
+                        .checkedAt(LocalDateTime.now()).build()));
+
+        fleetStatusService.backfill();
+
+        FleetStatusEntry legacyEntry = entry(legacy.getId());
+        assertThat(legacyEntry.getCheckStatus()).isEqualTo(HealthStatus.DEGRADED);
+        assertThat(legacyEntry.getResponseTimeMs()).isEqualTo(900);
+        assertThat(entry(idle.getId()).getCheckId()).isNull();
+        assertThat(fleetStatusService.getFleetStatus(ResourceType.EC2, null, null))
+                .extracting(FleetStatusEntry::getResourceId).contains(idle.getId()).doesNotContain(legacy.getId());
+    }
+
+    @Test
+    @DisplayName("Should move the row forward with each check and never back")
+    void performHealthCheck_AdvancesRow() {
+        Resource resource = resourceService.createResource(ResourceRequest.builder().name("edge-lb")
+                .resourceType(ResourceType.EC2).provider("aws").region("us-east-1").build());
+        assertThat(entry(resource.getId()).getCheckId()).isNull();
+
+        HealthCheck first = transactionTemplate.execute(status ->
+                healthCheckService.performHealthCheck(resourceRepository.findById(resource.getId()).orElseThrow()));
+        HealthCheck second = transactionTemplate.execute(status ->
+                healthCheckService.performHealthCheck(resourceRepository.findById(resource.getId()).orElseThrow()));
+
+        FleetStatusEntry latest = entry(resource.getId());
+        assertThat(latest.getCheckId()).isEqualTo(second.getId());
+        assertThat(latest.getCheckStatus()).isEqualTo(second.getStatus());
+
+        int moved = transactionTemplate.execute(status -> latestHealthCheckRepository.advance(resource.getId(),
+                first.getId(), HealthStatus.DOWN, null, 0, first.getCheckedAt()));
+        assertThat(moved).isZero();
+        assertThat(entry(resource.getId()).getCheckId()).isEqualTo(second.getId());
+    }
+
+    @Test
+    @DisplayName("Should create the row of a resource that has none on its next check")
+    void performHealthCheck_MissingRow_InsertsAndAdvances() {
+        Resource resource = resourceRepository.save(Resource.builder().name("orphan-vm")
+                .resourceType(ResourceType.EC2).provider("aws").region("us-east-1").build());
+        assertThat(latestHealthCheckRepository.existsById(resource.getId())).isFalse();
+
+        HealthCheck check = transactionTemplate.execute(status ->
+                healthCheckService.performHealthCheck(resourceRepository.findById(resource.getId()).orElseThrow()));
+
+        assertThat(latestHealthCheckRepository.findCheckId(resource.getId())).contains(check.getId());
+    }
+}
@@ -0,0 +1,55 @@
+package com.cloudpulse.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HashedWheelTimer Unit Tests")
+class HashedWheelTimerTest {
+
+    // 8 buckets of 10ms, so delays past 80ms take more than one round
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-wheel", Duration.ofMillis(10), 8, Runnable::run);
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    @DisplayName("Should run tasks no earlier than their delay, across several rounds")
+    void schedule_RunsInDeadlineOrder() throws Exception {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        timer.schedule(() -> { fired.add("250ms"); done.countDown(); }, Duration.ofMillis(250));
+        timer.schedule(() -> { fired.add("30ms"); done.countDown(); }, Duration.ofMillis(30));
+        timer.schedule(() -> { fired.add("now"); done.countDown(); }, Duration.ZERO);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly("now", "30ms", "250ms");
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(250).toNanos());
+    }
+
+    @Test
+    @DisplayName("Should not run a cancelled task")
+    void cancel_BeforeExpiry_NeverRuns() throws Exception {
+        CountDownLatch cancelledRan = new CountDownLatch(1);
+        CountDownLatch laterRan = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = timer.schedule(cancelledRan::countDown, Duration.ofMillis(50));
+        timer.schedule(laterRan::countDown, Duration.ofMillis(100));
+
+        assertThat(timeout.cancel()).isTrue();
+
+        assertThat(laterRan.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledRan.getCount()).isEqualTo(1);
+        assertThat(timeout.cancel()).isFalse();
+    }
+}
@@ -0,0 +1,111 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HealthCheckArchive Unit Tests")
+class HealthCheckArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private final LocalDate day = LocalDate.of(2026, 1, 15);
+
+    private HealthCheck check(long id, LocalDateTime at, HealthStatus status, Integer latency, Integer code) {
+        return HealthCheck.builder()
+                .id(id)
+                .checkedAt(at)
+                .status(status)
+                .responseTimeMs(latency)
+                .statusCode(code)
+                .message(status == HealthStatus.UP ? "Health check passed" : "Resource is not responding")
+                .build();
+    }
+
+    /** One day of five-minute checks with a little jitter, every tenth one down. */
+    private List<HealthCheck> dayOfChecks(long firstId) {
+        List<HealthCheck> checks = new ArrayList<>();
+        for (int i = 0; i < 288; i++) {
+            LocalDateTime at = day.atStartOfDay().plusMinutes(5L * i).plusNanos((i % 7) * 1_000_000L);
+            checks.add(i % 10 == 0
+                    ? check(firstId + i, at, HealthStatus.DOWN, null, 0)
+                    : check(firstId + i, at, HealthStatus.UP, 40 + i % 50, 200));
+        }
+        return checks;
+    }
+
+    @Test
+    @DisplayName("Should round-trip a segment, including nulls, in a fraction of the row size")
+    void encodeDecode_RoundTripsAllColumns() {
+        List<HealthCheck> checks = dayOfChecks(1000);
+
+        byte[] bytes = HealthCheckSegment.encode(checks);
+        List<HealthCheck> decoded = HealthCheckSegment.decode(ByteBuffer.wrap(bytes));
+
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(checks);
+        // the message text alone is ~20 bytes per row in health_checks
+        assertThat(bytes.length).isLessThan(checks.size() * 10);
+    }
+
+    @Test
+    @DisplayName("Should pick up days written and removed by another instance sharing the directory")
+    void refreshIndex_SharedDirectory_SeesOtherInstance() {
+        HealthCheckArchive writer = new HealthCheckArchive(dir);
+        HealthCheckArchive reader = new HealthCheckArchive(dir);
+        reader.loadIndex();
+
+        writer.write(7L, day, dayOfChecks(1000));
+        assertThat(reader.isEmpty(7L)).isTrue();
+
+        reader.refreshIndex();
+        assertThat(reader.latest(7L, 1)).extracting(HealthCheck::getId).containsExactly(1287L);
+
+        writer.remove(7L);
+        assertThat(reader.latest(7L, 1)).isEmpty(); // before the next rescan: gone files read as empty
+        reader.refreshIndex();
+        assertThat(reader.isEmpty(7L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should serve ranges and newest-first history from memory-mapped segments after a restart")
+    void writeThenReload_ReadsRangesAndLatest() {
+        HealthCheckArchive archive = new HealthCheckArchive(dir);
+        archive.write(7L, day, dayOfChecks(1000));
+        archive.write(7L, day.plusDays(1), List.of(
+                check(5000, day.plusDays(1).atTime(0, 0), HealthStatus.UP, 10, 200)));
+
+        HealthCheckArchive reloaded = new HealthCheckArchive(dir);
+        reloaded.loadIndex();
+
+        List<HealthCheck> range = reloaded.read(7L, day.atTime(1, 0), day.atTime(2, 0));
+        assertThat(range).hasSize(12);
+        assertThat(range.get(0).getId()).isEqualTo(1012L);
+        assertThat(reloaded.latest(7L, 3)).extracting(HealthCheck::getId).containsExactly(5000L, 1287L, 1286L);
+        assertThat(reloaded.isEmpty(8L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should merge a re-archived day into the existing segment by id")
+    void write_ExistingSegment_MergesById() {
+        HealthCheckArchive archive = new HealthCheckArchive(dir);
+        archive.write(7L, day, List.of(check(1, day.atTime(1, 0), HealthStatus.UP, 10, 200)));
+        archive.write(7L, day, List.of(
+                check(1, day.atTime(1, 0), HealthStatus.UP, 10, 200),
+                check(2, day.atTime(1, 5), HealthStatus.TIMEOUT, null, null)));
+
+        assertThat(archive.read(7L, day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+                .extracting(HealthCheck::getId).containsExactly(1L, 2L);
+    }
+}
@@ -0,0 +1,158 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.HealthCheckRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:health-check-export;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false",
+        "cloudpulse.export.fetch-size=3",
+        "cloudpulse.archive.dir=target/health-check-export-archive"
+})
+@DisplayName("HealthCheckExportService Integration Tests")
+class HealthCheckExportServiceTest {
+
+    @Autowired
+    private HealthCheckExportService healthCheckExportService;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private HealthCheckRepository healthCheckRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HealthCheckArchive archive;
+
+    private final LocalDateTime start = LocalDateTime.of(2026, 3, 1, 0, 0);
+    private Resource orders;
+    private Resource billing;
+
+    @BeforeEach
+    void setUp() {
+        healthCheckRepository.deleteAll();
+        resourceRepository.deleteAll();
+        orders = resourceRepository.save(Resource.builder()
+                .name("orders-db").resourceType(ResourceType.RDS).provider("aws").region("eu-west-1").build());
+        billing = resourceRepository.save(Resource.builder()
+                .name("billing-api").resourceType(ResourceType.EC2).provider("aws").region("us-east-1").build());
+        // checked_at is a creation timestamp, so past checks go in through JDBC
+        for (int i = 0; i < 10; i++) {
+            jdbcTemplate.update("INSERT INTO health_checks (resource_id, status, response_time_ms, status_code, "
+                    + "message, checked_at) VALUES (?, 'UP', ?, 200, ?, ?)", (i % 2 == 0 ? orders : billing).getId(),
+                    10 + i, i == 4 ? "slow, \"retrying\"" : "ok", start.plusMinutes(i));
+        }
+    }
+
+    private List<String> read(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream the range as gzip CSV in checked_at order, quoting where needed")
+    void export_Range_WritesCompressedCsv() throws IOException {
+        List<String> lines = read(healthCheckExportService.export(start.plusMinutes(2), start.plusMinutes(8),
+                null, null, null, null, null, null));
+
+        assertThat(lines.get(0)).isEqualTo(HealthCheckExportService.HEADER);
+        assertThat(lines).hasSize(7);
+        assertThat(lines.get(1)).startsWith(start.plusMinutes(2) + ",");
+        assertThat(lines.get(3)).endsWith(",orders-db,UP,14,200,\"slow, \"\"retrying\"\"\"");
+        assertThat(lines.get(6)).startsWith(start.plusMinutes(7) + ",");
+    }
+
+    @Test
+    @DisplayName("Should resume after the checkpoint of the last line received")
+    void export_FromCheckpoint_ContinuesWithNextRow() throws IOException {
+        List<String> full = read(healthCheckExportService.export(start, start.plusHours(1),
+                null, null, null, null, null, null));
+        String[] checkpoint = full.get(4).split(",");
+
+        List<String> rest = read(healthCheckExportService.export(start, start.plusHours(1), null, null, null, null,
+                LocalDateTime.parse(checkpoint[0]), Long.parseLong(checkpoint[1])));
+
+        assertThat(rest.subList(1, rest.size())).isEqualTo(full.subList(5, full.size()));
+    }
+
+    @Test
+    @DisplayName("Should filter by resource ids and by resource attributes")
+    void export_ResourceFilters() throws IOException {
+        List<String> byId = read(healthCheckExportService.export(start, start.plusHours(1), List.of(orders.getId()),
+                null, null, null, null, null));
+        List<String> byAttributes = read(healthCheckExportService.export(start, start.plusHours(1), null,
+                ResourceType.EC2, "us-east-1", null, null, null));
+
+        assertThat(byId.subList(1, byId.size())).hasSize(5).allMatch(line -> line.contains(",orders-db,"));
+        assertThat(byAttributes.subList(1, byAttributes.size())).hasSize(5)
+                .allMatch(line -> line.contains(",billing-api,"));
+    }
+
+    @Test
+    @DisplayName("Should merge archived days into the stream in order, writing a row kept in both once")
+    void export_ArchivedDays_MergedWithLiveRows() throws IOException {
+        Long firstLiveId = jdbcTemplate.queryForObject(
+                "SELECT id FROM health_checks WHERE resource_id = ? ORDER BY checked_at LIMIT 1",
+                Long.class, orders.getId());
+        archive.write(orders.getId(), start.toLocalDate().minusDays(1), List.of(
+                archived(1_000_001L, start.minusMinutes(2)), archived(1_000_002L, start.minusMinutes(1))));
+        archive.write(orders.getId(), start.toLocalDate(), List.of(
+                archived(firstLiveId, start), archived(1_000_003L, start.plusSeconds(30))));
+        try {
+            List<String> lines = read(healthCheckExportService.export(start.minusDays(1), start.plusHours(1),
+                    List.of(orders.getId()), null, null, null, null, null));
+
+            assertThat(lines.subList(1, lines.size())).hasSize(8).allMatch(line -> line.contains(",orders-db,"));
+            assertThat(lines.get(1)).startsWith(start.minusMinutes(2) + ",1000001,");
+            assertThat(lines.get(3)).startsWith(start + "," + firstLiveId + ",");
+            assertThat(lines.get(4)).startsWith(start.plusSeconds(30) + ",1000003,");
+
+            List<String> rest = read(healthCheckExportService.export(start.minusDays(1), start.plusHours(1),
+                    List.of(orders.getId()), null, null, null, start.minusMinutes(1), 1_000_002L));
+            assertThat(rest.subList(1, rest.size())).isEqualTo(lines.subList(3, lines.size()));
+        } finally {
+            archive.remove(orders.getId());
+        }
+    }
+
+    private HealthCheck archived(Long id, LocalDateTime checkedAt) {
+        return HealthCheck.builder().id(id).status(HealthStatus.UP).responseTimeMs(5).statusCode(200)
+                .message("archived").checkedAt(checkedAt).build();
+    }
+
+    @Test
+    @DisplayName("Should reject an empty range and a half checkpoint before streaming")
+    void export_InvalidArguments_Rejected() {
+        assertThatThrownBy(() -> healthCheckExportService.export(start, start, null, null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> healthCheckExportService.export(start, start.plusHours(1), null, null, null, null,
+                start, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
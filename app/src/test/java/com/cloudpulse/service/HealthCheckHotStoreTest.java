@@ -0,0 +1,180 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.repository.HealthCheckRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HealthCheckHotStore Unit Tests")
+class HealthCheckHotStoreTest {
+
+    @Mock
+    private HealthCheckRepository healthCheckRepository;
+
+    @TempDir
+    Path dir;
+
+    private final LocalDateTime start = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    /**
+     * Opens the store and lets it follow the table once, up to {@code head}.
+     */
+    private HealthCheckHotStore open(int slots, Long head) {
+        HealthCheckHotStore store = new HealthCheckHotStore(healthCheckRepository, dir.resolve("hot.dat"), slots, 4,
+                Duration.ofSeconds(10));
+        store.open();
+        when(healthCheckRepository.findMaxId()).thenReturn(head);
+        lenient().when(healthCheckRepository.findRecordsAfter(anyLong(), any())).thenReturn(List.of());
+        store.follow();
+        return store;
+    }
+
+    private HealthCheck check(long id, int minute, Integer latency) {
+        return HealthCheck.builder()
+                .id(id)
+                .checkedAt(start.plusMinutes(minute))
+                .status(latency != null ? HealthStatus.UP : HealthStatus.TIMEOUT)
+                .responseTimeMs(latency)
+                .statusCode(latency != null ? 200 : null)
+                .build();
+    }
+
+    // (id, resourceId, checkedAt, responseTimeMs, statusCode, status), as followed
+    private Object[] followed(long id, long resourceId, LocalDateTime checkedAt) {
+        return new Object[] { id, resourceId, checkedAt, 10 * (int) id, 200, HealthStatus.UP };
+    }
+
+    // (id, checkedAt, responseTimeMs, statusCode, status), as loaded for one resource
+    private Object[] loaded(long id) {
+        return new Object[] { id, start.plusMinutes(id), 10 * (int) id, 200, HealthStatus.UP };
+    }
+
+    private List<Long> ids(HealthCheckHotStore.Records records) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            ids.add(records.id(i));
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Should return the newest checks first and keep only the last N per resource")
+    void append_WrapsAround_KeepsNewest() {
+        HealthCheckHotStore store = open(4, null);
+        when(healthCheckRepository.findLatestRecords(any(), any())).thenReturn(List.of());
+        for (int i = 1; i <= 6; i++) {
+            store.append(7L, check(i, i, i == 6 ? null : 10 * i));
+        }
+
+        HealthCheckHotStore.Records latest = store.latest(7L, 3, false);
+        assertThat(ids(latest)).containsExactly(6L, 5L, 4L);
+        assertThat(latest.hasLatency(0)).isFalse();
+        assertThat(latest.hasStatusCode(0)).isFalse();
+        assertThat(latest.status(0)).isEqualTo(HealthStatus.TIMEOUT);
+        assertThat(latest.latency(1)).isEqualTo(50);
+        assertThat(latest.checkedAtMillis(1)).isEqualTo(HealthCheckSegment.toMillis(start.plusMinutes(5)));
+        assertThat(store.latest(7L, 5, false)).isNull();
+
+        assertThat(store.latest(8L, 1, false)).isNull(); // no checks anywhere: not held
+        assertThat(store.resourceIds()).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Should answer nothing before the first pass over the table")
+    void latest_BeforeCaughtUp_Null() {
+        HealthCheckHotStore store = new HealthCheckHotStore(healthCheckRepository, dir.resolve("hot.dat"), 4, 4,
+                Duration.ofSeconds(10));
+        store.open();
+        store.append(7L, check(1, 1, 10));
+
+        assertThat(store.latest(7L, 1, false)).isNull();
+        assertThat(store.newestId(7L)).isEmpty();
+        verifyNoInteractions(healthCheckRepository);
+    }
+
+    @Test
+    @DisplayName("Should follow checks written by every instance in id order, holding back at a fresh id gap")
+    void follow_OtherInstances_InIdOrder() {
+        HealthCheckHotStore store = open(4, 0L);
+        store.append(7L, check(3, 3, 30)); // this instance's own check, before the follower sees it
+
+        when(healthCheckRepository.findRecordsAfter(eq(0L), any())).thenReturn(List.of(
+                followed(1, 7, start), followed(2, 9, start), followed(3, 7, start),
+                followed(5, 7, LocalDateTime.now())));
+        store.follow();
+        when(healthCheckRepository.findLatestRecords(eq(7L), any())).thenReturn(List.of(loaded(3), loaded(1)));
+
+        assertThat(ids(store.latest(7L, 4, false))).containsExactly(3L, 1L);
+        assertThat(store.newestId(9L)).hasValue(2);
+
+        when(healthCheckRepository.findRecordsAfter(eq(3L), any())).thenReturn(List.of(
+                followed(4, 7, LocalDateTime.now()), followed(5, 7, LocalDateTime.now())));
+        store.follow();
+
+        assertThat(ids(store.latest(7L, 4, false))).containsExactly(5L, 4L, 3L, 1L);
+        verify(healthCheckRepository, times(1)).findLatestRecords(eq(7L), any());
+    }
+
+    @Test
+    @DisplayName("Should average latency only when the buffer covers the window")
+    void averageLatencySince_CoveredWindowOnly() {
+        HealthCheckHotStore store = open(4, null);
+        when(healthCheckRepository.findLatestRecords(any(), any())).thenReturn(List.of());
+        for (int i = 1; i <= 6; i++) {
+            store.append(7L, check(i, i, i == 5 ? null : 10 * i));
+        }
+
+        assertThat(store.averageLatencySince(7L, HealthCheckSegment.toMillis(start.plusMinutes(4))))
+                .hasValue(50.0); // checks 4 and 6; 5 has no latency
+        assertThat(store.averageLatencySince(7L, HealthCheckSegment.toMillis(start))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resume from the stored cursor after a restart without reloading held resources")
+    void reopen_ResumesFromCursor() {
+        HealthCheckHotStore store = open(4, 0L);
+        when(healthCheckRepository.findRecordsAfter(eq(0L), any()))
+                .thenReturn(List.of(followed(1, 7, start), followed(2, 7, start)));
+        store.follow();
+        when(healthCheckRepository.findLatestRecords(eq(7L), any())).thenReturn(List.of(loaded(2), loaded(1)));
+        assertThat(ids(store.latest(7L, 2, false))).containsExactly(2L, 1L);
+        store.flush();
+
+        HealthCheckHotStore reopened = open(4, 2L);
+
+        assertThat(ids(reopened.latest(7L, 4, false))).containsExactly(2L, 1L);
+        verify(healthCheckRepository, times(1)).findLatestRecords(eq(7L), any());
+        verify(healthCheckRepository).findRecordsAfter(eq(2L), any());
+    }
+
+    @Test
+    @DisplayName("Should start empty when the table moved on too far to replay")
+    void reopen_FarBehind_StartsEmpty() {
+        HealthCheckHotStore store = open(4, 0L);
+        store.append(7L, check(1, 1, 10));
+        store.flush();
+
+        HealthCheckHotStore reopened = open(4, 2L + HealthCheckHotStore.MAX_REPLAY);
+
+        assertThat(reopened.resourceIds()).isEmpty();
+        verify(healthCheckRepository).findRecordsAfter(eq(2L + HealthCheckHotStore.MAX_REPLAY), any());
+    }
+}
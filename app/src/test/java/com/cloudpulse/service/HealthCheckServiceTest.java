@@ -0,0 +1,138 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.HealthCheckSeries;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.ResourceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:health-check-series;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false",
+        "cloudpulse.archive.dir=target/health-check-series-archive"
+})
+@DisplayName("HealthCheckService Series Integration Tests")
+class HealthCheckServiceTest {
+
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+
+    @Autowired
+    private HealthCheckService healthCheckService;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(2);
+
+    private Resource resource(String name) {
+        return resourceRepository.save(Resource.builder().name(name)
+                .resourceType(ResourceType.EC2).provider("aws").region("eu-west-1").build());
+    }
+
+    // checkedAt is stamped on insert, so past checks are written directly
+    private void check(Resource resource, long offsetSeconds, HealthStatus status, Integer responseTimeMs) {
+        jdbcTemplate.update("INSERT INTO health_checks (resource_id, status, response_time_ms, checked_at) "
+                + "VALUES (?, ?, ?, ?)", resource.getId(), status.name(), responseTimeMs, from.plusSeconds(offsetSeconds));
+    }
+
+    @Test
+    @DisplayName("Should put each check in the bucket its start covers, leave out empty buckets and the range ends")
+    void getSeries_BucketBoundaries() {
+        Resource resource = resource("series-api");
+        check(resource, -1, HealthStatus.UP, 999);
+        check(resource, 0, HealthStatus.UP, 100);
+        check(resource, 59, HealthStatus.DOWN, 300);
+        check(resource, 60, HealthStatus.UP, 50);
+        check(resource, 61, HealthStatus.TIMEOUT, null);
+        check(resource, 180, HealthStatus.DEGRADED, 700);
+        check(resource, 240, HealthStatus.UP, 999);
+
+        HealthCheckSeries series = healthCheckService.getSeries(resource.getId(), from, from.plusMinutes(4), MINUTE, null);
+
+        assertThat(series.getStepSeconds()).isEqualTo(60);
+        assertThat(series.isDownsampled()).isFalse();
+        assertThat(series.getPoints()).extracting(HealthCheckSeries.Point::getTimestamp)
+                .containsExactly(from, from.plusMinutes(1), from.plusMinutes(3));
+
+        HealthCheckSeries.Point first = series.getPoints().get(0);
+        assertThat(first.getChecks()).isEqualTo(2);
+        assertThat(first.getAvgResponseTimeMs()).isEqualTo(200.0);
+        assertThat(first.getMaxResponseTimeMs()).isEqualTo(300);
+        assertThat(first.getStatusCounts()).containsExactlyInAnyOrderEntriesOf(Map.of("UP", 1L, "DOWN", 1L));
+
+        HealthCheckSeries.Point second = series.getPoints().get(1);
+        assertThat(second.getChecks()).isEqualTo(2);
+        assertThat(second.getAvgResponseTimeMs()).isEqualTo(50.0); // the timeout has no latency
+        assertThat(second.getStatusCounts()).containsExactlyInAnyOrderEntriesOf(Map.of("UP", 1L, "TIMEOUT", 1L));
+
+        assertThat(series.getPoints().get(2).getMaxResponseTimeMs()).isEqualTo(700);
+    }
+
+    @Test
+    @DisplayName("Should return no points for a range without checks")
+    void getSeries_NoChecks_Empty() {
+        Resource resource = resource("series-idle");
+
+        HealthCheckSeries series = healthCheckService.getSeries(resource.getId(), from, from.plusHours(1), MINUTE, 10);
+
+        assertThat(series.getPoints()).isEmpty();
+        assertThat(series.isDownsampled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should downsample to the points cap, keeping both ends and the latency spike")
+    void getSeries_PointsCap() {
+        Resource resource = resource("series-spiky");
+        for (int minute = 0; minute < 20; minute++) {
+            check(resource, minute * 60L, HealthStatus.UP, minute == 11 ? 5000 : 100);
+        }
+        LocalDateTime to = from.plusMinutes(20);
+
+        HealthCheckSeries capped = healthCheckService.getSeries(resource.getId(), from, to, MINUTE, 5);
+        HealthCheckSeries uncapped = healthCheckService.getSeries(resource.getId(), from, to, MINUTE, 20);
+
+        assertThat(capped.isDownsampled()).isTrue();
+        assertThat(capped.getPoints()).hasSize(5)
+                .extracting(HealthCheckSeries.Point::getTimestamp)
+                .contains(from, from.plusMinutes(11), from.plusMinutes(19));
+        assertThat(uncapped.isDownsampled()).isFalse();
+        assertThat(uncapped.getPoints()).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty range, a sub-second step, too many buckets and a cap below 3")
+    void getSeries_InvalidArguments_Rejected() {
+        Long id = resource("series-invalid").getId();
+
+        assertThatThrownBy(() -> healthCheckService.getSeries(id, from, from, MINUTE, null))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("'from'");
+        assertThatThrownBy(() -> healthCheckService.getSeries(id, from.plusHours(1), from, MINUTE, null))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("'from'");
+        assertThatThrownBy(() -> healthCheckService.getSeries(id, from, from.plusHours(1), Duration.ofMillis(500), null))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("'step'");
+        assertThatThrownBy(() -> healthCheckService.getSeries(id, from,
+                from.plusSeconds(HealthCheckService.MAX_SERIES_BUCKETS + 1), Duration.ofSeconds(1), null))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("buckets");
+        assertThatThrownBy(() -> healthCheckService.getSeries(id, from, from.plusHours(1), MINUTE, 2))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("'points'");
+
+        assertThat(healthCheckService.getSeries(id, from,
+                from.plusSeconds(HealthCheckService.MAX_SERIES_BUCKETS), Duration.ofSeconds(1), null).getPoints())
+                .isEmpty();
+    }
+}
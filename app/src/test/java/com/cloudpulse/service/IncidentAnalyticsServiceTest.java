@@ -0,0 +1,103 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentAnalyticsReport;
+import com.cloudpulse.dto.IncidentAnalyticsReport.TransitionStats;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IncidentAnalyticsService Unit Tests")
+class IncidentAnalyticsServiceTest {
+
+    @Mock
+    private IncidentRepository incidentRepository;
+
+    private IncidentAnalyticsService analytics;
+    private final LocalDate today = LocalDate.of(2026, 3, 10);
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new IncidentAnalyticsService(incidentRepository);
+    }
+
+    private void resolve(Severity severity, LocalDate day, int minutes) {
+        LocalDateTime resolvedAt = day.atTime(12, 0);
+        analytics.recordResolved(nextId++, severity, resolvedAt.minusMinutes(minutes), resolvedAt);
+    }
+
+    @Test
+    @DisplayName("Should aggregate MTTR per severity and window")
+    void getReport_ResolvedIncidents_ReportsMeansPerWindow() {
+        resolve(Severity.CRITICAL, today, 10);
+        resolve(Severity.CRITICAL, today, 30);
+        resolve(Severity.CRITICAL, today.minusDays(3), 60);
+        resolve(Severity.LOW, today.minusDays(20), 120);
+
+        IncidentAnalyticsReport report = analytics.getReport(today);
+
+        TransitionStats critical1d = report.getWindows().get("1d").get("CRITICAL");
+        assertThat(critical1d.getResolved()).isEqualTo(2);
+        assertThat(critical1d.getMttrMinutes()).isEqualTo(20.0);
+        assertThat(report.getWindows().get("7d").get("CRITICAL").getResolved()).isEqualTo(3);
+        assertThat(report.getWindows().get("7d").get("LOW").getResolved()).isZero();
+        assertThat(report.getWindows().get("30d").get("ALL").getResolved()).isEqualTo(4);
+        assertThat(critical1d.getAcknowledged()).isZero();
+        assertThat(critical1d.getMttaMinutes()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should estimate p90 from the histogram")
+    void getReport_ManyAcks_EstimatesP90WithinBucket() {
+        LocalDateTime ackAt = today.atTime(9, 0);
+        for (int i = 0; i < 9; i++) {
+            analytics.recordAcknowledged(nextId++, Severity.HIGH, ackAt.minusSeconds(30), ackAt);
+        }
+        analytics.recordAcknowledged(nextId++, Severity.HIGH, ackAt.minusMinutes(50), ackAt);
+
+        TransitionStats high = analytics.getReport(today).getWindows().get("1d").get("HIGH");
+
+        assertThat(high.getAcknowledged()).isEqualTo(10);
+        assertThat(high.getMttaP90Minutes()).isLessThanOrEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should ignore days that have rolled out of the retained range")
+    void recordResolved_StaleDay_DoesNotOverwriteNewerSlot() {
+        resolve(Severity.MEDIUM, today, 15);
+        resolve(Severity.MEDIUM, today.minusDays(32), 500);
+
+        assertThat(analytics.getReport(today).getWindows().get("1d").get("MEDIUM").getMttrMinutes())
+                .isEqualTo(15.0);
+    }
+
+    @Test
+    @DisplayName("Should count a transition once however many times it is recorded")
+    void record_SameTransitionTwice_CountedOnce() {
+        LocalDateTime resolvedAt = today.atTime(8, 0);
+        Incident incident = Incident.builder().id(77L).severity(Severity.HIGH)
+                .createdAt(resolvedAt.minusMinutes(40)).acknowledgedAt(resolvedAt.minusMinutes(30))
+                .resolvedAt(resolvedAt).build();
+
+        analytics.recordResolved(77L, Severity.HIGH, resolvedAt.minusMinutes(40), resolvedAt); // local commit
+        analytics.record(incident); // the same change, from the feed
+        analytics.record(incident);
+
+        TransitionStats high = analytics.getReport(today).getWindows().get("1d").get("HIGH");
+        assertThat(high.getResolved()).isEqualTo(1);
+        assertThat(high.getAcknowledged()).isEqualTo(1);
+        assertThat(high.getMttaMinutes()).isEqualTo(10.0);
+    }
+}
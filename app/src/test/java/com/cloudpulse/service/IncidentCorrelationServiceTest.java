@@ -0,0 +1,139 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.IncidentResourceLinkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IncidentCorrelationService Unit Tests")
+class IncidentCorrelationServiceTest {
+
+    @Mock
+    private IncidentService incidentService;
+
+    @Mock
+    private IncidentRepository incidentRepository;
+
+    @Mock
+    private IncidentResourceLinkRepository linkRepository;
+
+    @Mock
+    private ActiveIncidentIndex activeIncidentIndex;
+
+    @Mock
+    private JobLeases jobLeases;
+
+    private IncidentCorrelationService correlator;
+
+    @BeforeEach
+    void setUp() {
+        correlator = new IncidentCorrelationService(incidentService, incidentRepository, linkRepository,
+                activeIncidentIndex, jobLeases, 60, 10, 3);
+        lenient().when(jobLeases.tryAcquire(eq("storm:aws/us-east-1/EC2"), any())).thenReturn(true);
+    }
+
+    private Resource ec2(long id, String region) {
+        return Resource.builder().id(id).name("node-" + id).resourceType(ResourceType.EC2)
+                .provider("aws").region(region).build();
+    }
+
+    @Test
+    @DisplayName("Should open one parent incident once the threshold is reached")
+    void recordFailure_ThresholdReached_OpensSingleParent() {
+        Incident parent = Incident.builder().id(100L).build();
+        when(incidentService.createCorrelatedIncident(eq("aws/us-east-1/EC2"), eq(Severity.HIGH), anyString(),
+                anyString(), anyCollection())).thenReturn(parent);
+        when(activeIncidentIndex.get(100L)).thenReturn(Optional.of(new ActiveIncidentIndex.Entry(
+                100L, Severity.HIGH, IncidentStatus.OPEN, LocalDateTime.now(), null)));
+
+        correlator.recordFailure(ec2(1, "us-east-1"), 1000);
+        correlator.recordFailure(ec2(2, "us-east-1"), 1005);
+        correlator.recordFailure(ec2(2, "us-east-1"), 1006); // same resource counts once
+        verifyNoInteractions(incidentService);
+
+        correlator.recordFailure(ec2(3, "us-east-1"), 1010);
+        correlator.recordFailure(ec2(4, "us-east-1"), 1015);
+
+        verify(incidentService, times(1)).createCorrelatedIncident(eq("aws/us-east-1/EC2"), eq(Severity.HIGH),
+                anyString(), anyString(), argThat(ids -> ids.size() == 3));
+        verify(incidentService).linkResources(100L, List.of(4L));
+    }
+
+    @Test
+    @DisplayName("Should count a resource again once the bucket that counted it leaves the window")
+    void recordFailure_CountingBucketExpired_CountedAgain() {
+        when(incidentService.createCorrelatedIncident(eq("aws/us-east-1/EC2"), eq(Severity.HIGH), anyString(),
+                anyString(), anyCollection())).thenReturn(Incident.builder().id(100L).build());
+
+        correlator.recordFailure(ec2(1, "us-east-1"), 1000);
+        correlator.recordFailure(ec2(1, "us-east-1"), 1030); // already counted: not moved to a newer bucket
+        correlator.recordFailure(ec2(2, "us-east-1"), 1065); // the bucket holding resource 1 rotates out
+        correlator.recordFailure(ec2(3, "us-east-1"), 1066);
+        verifyNoInteractions(incidentService);
+
+        correlator.recordFailure(ec2(1, "us-east-1"), 1067);
+
+        verify(incidentService).createCorrelatedIncident(eq("aws/us-east-1/EC2"), eq(Severity.HIGH),
+                anyString(), anyString(), argThat(ids -> ids.containsAll(List.of(1L, 2L, 3L)) && ids.size() == 3));
+    }
+
+    @Test
+    @DisplayName("Should not correlate failures outside the window or in other regions")
+    void recordFailure_SpreadOut_DoesNotCorrelate() {
+        correlator.recordFailure(ec2(1, "us-east-1"), 1000);
+        correlator.recordFailure(ec2(2, "us-west-2"), 1001);
+        correlator.recordFailure(ec2(3, "us-east-1"), 1100);
+        correlator.recordFailure(ec2(4, "us-east-1"), 1200);
+
+        verifyNoInteractions(incidentService);
+    }
+
+    @Test
+    @DisplayName("Should join the open parent another instance created for the key instead of opening one")
+    void recordFailure_ParentOpenElsewhere_Joins() {
+        when(incidentRepository.findActiveIdsByCorrelationKey("aws/us-east-1/EC2")).thenReturn(List.of(200L));
+
+        correlator.recordFailure(ec2(1, "us-east-1"), 1000);
+        correlator.recordFailure(ec2(2, "us-east-1"), 1001);
+        correlator.recordFailure(ec2(3, "us-east-1"), 1002);
+
+        verify(incidentService, never()).createCorrelatedIncident(any(), any(), any(), any(), any());
+        verify(incidentService).linkResources(eq(200L), argThat(ids -> ids.size() == 3));
+        verify(jobLeases).release("storm:aws/us-east-1/EC2");
+    }
+
+    @Test
+    @DisplayName("Should leave the storm to the instance holding the key's lease and retry on the next failure")
+    void recordFailure_LeaseHeldElsewhere_Retries() {
+        Incident parent = Incident.builder().id(100L).build();
+        when(jobLeases.tryAcquire(eq("storm:aws/us-east-1/EC2"), any())).thenReturn(false, true);
+        when(incidentService.createCorrelatedIncident(eq("aws/us-east-1/EC2"), eq(Severity.HIGH), anyString(),
+                anyString(), anyCollection())).thenReturn(parent);
+
+        correlator.recordFailure(ec2(1, "us-east-1"), 1000);
+        correlator.recordFailure(ec2(2, "us-east-1"), 1001);
+        correlator.recordFailure(ec2(3, "us-east-1"), 1002);
+        verifyNoInteractions(incidentService);
+
+        correlator.recordFailure(ec2(4, "us-east-1"), 1003);
+        verify(incidentService).createCorrelatedIncident(eq("aws/us-east-1/EC2"), eq(Severity.HIGH),
+                anyString(), anyString(), argThat(ids -> ids.size() == 4));
+    }
+}
@@ -0,0 +1,166 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IncidentSearchIndex Unit Tests")
+class IncidentSearchIndexTest {
+
+    @Mock
+    private IncidentRepository incidentRepository;
+
+    private IncidentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IncidentSearchIndex(incidentRepository);
+    }
+
+    private IncidentSearchIndex.Document doc(long id, String title, String description, Severity severity,
+            IncidentStatus status) {
+        return new IncidentSearchIndex.Document(id, title, description, null, null, severity, status);
+    }
+
+    private List<Long> ids(IncidentSearchIndex.Result result) {
+        return result.hits().stream().map(IncidentSearchIndex.Hit::incidentId).toList();
+    }
+
+    @Test
+    @DisplayName("Should match every query term and rank title matches first")
+    void search_AllTerms_RankedByField() {
+        index.index(doc(1, "API latency", "disk full on the database host", Severity.HIGH, IncidentStatus.OPEN));
+        index.index(doc(2, "Disk full on orders-db", "writes failing", Severity.CRITICAL, IncidentStatus.OPEN));
+        index.index(doc(3, "Disk pressure", "cleanup job stuck", Severity.LOW, IncidentStatus.OPEN));
+
+        IncidentSearchIndex.Result result = index.search("DISK full", null, null, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(ids(result)).containsExactly(2L, 1L);
+        assertThat(index.search("disk nonexistent", null, null, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should filter by severity and status and cap hits at the limit")
+    void search_FiltersAndLimit() {
+        for (long id = 1; id <= 6; id++) {
+            index.index(doc(id, "Certificate expiring", null, id % 2 == 0 ? Severity.HIGH : Severity.LOW,
+                    id <= 3 ? IncidentStatus.OPEN : IncidentStatus.RESOLVED));
+        }
+
+        assertThat(ids(index.search("certificate", Set.of(Severity.HIGH), null, 10)))
+                .containsExactlyInAnyOrder(2L, 4L, 6L);
+        assertThat(ids(index.search("certificate", Set.of(Severity.HIGH), Set.of(IncidentStatus.OPEN), 10)))
+                .containsExactly(2L);
+        IncidentSearchIndex.Result limited = index.search("certificate", null, null, 2);
+        assertThat(limited.total()).isEqualTo(6);
+        assertThat(limited.hits()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reindex changed text, update status in place and forget removed incidents")
+    void index_UpdatesAndRemovals() {
+        index.index(doc(1, "Queue backlog", null, Severity.HIGH, IncidentStatus.OPEN));
+        index.index(doc(2, "Queue consumer crash", null, Severity.HIGH, IncidentStatus.OPEN));
+
+        index.index(new IncidentSearchIndex.Document(1L, "Queue backlog", null, "consumer crashed", "restarted",
+                Severity.HIGH, IncidentStatus.RESOLVED));
+        index.index(doc(2, "Queue consumer crash", null, Severity.HIGH, IncidentStatus.ACKNOWLEDGED));
+
+        assertThat(ids(index.search("restarted", null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("queue", null, Set.of(IncidentStatus.ACKNOWLEDGED), 10))).containsExactly(2L);
+        assertThat(index.search("queue", null, null, 10).total()).isEqualTo(2);
+
+        index.remove(2L);
+        assertThat(ids(index.search("queue", null, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should stay correct across compaction")
+    void index_ManyRewrites_CompactsWithoutLosingMatches() {
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 500; id++) {
+                index.index(doc(id, "Host " + id + " unreachable round" + round, null, Severity.MEDIUM,
+                        IncidentStatus.OPEN));
+            }
+        }
+
+        assertThat(index.search("unreachable", null, null, 1).total()).isEqualTo(500);
+        assertThat(index.search("round0", null, null, 10).total()).isZero();
+        assertThat(ids(index.search("host 42 round4", null, null, 10))).containsExactly(42L);
+
+        IncidentSearchIndex fresh = new IncidentSearchIndex(incidentRepository);
+        for (long id = 1; id <= 500; id++) {
+            fresh.index(doc(id, "Host " + id + " unreachable round4", null, Severity.MEDIUM, IncidentStatus.OPEN));
+        }
+        assertThat(index.search("host unreachable round4", null, null, 10).hits())
+                .isEqualTo(fresh.search("host unreachable round4", null, null, 10).hits());
+    }
+
+    @Test
+    @DisplayName("Should reindex text whose 32-bit hash matches the old text")
+    void index_HashCollision_StillReindexed() {
+        assertThat("Aa outage".hashCode()).isEqualTo("BB outage".hashCode());
+        index.index(doc(1, "Aa outage", null, Severity.LOW, IncidentStatus.OPEN));
+
+        index.index(doc(1, "BB outage", null, Severity.LOW, IncidentStatus.OPEN));
+
+        assertThat(ids(index.search("bb", null, null, 10))).containsExactly(1L);
+        assertThat(index.search("aa", null, null, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should score as if removed and rewritten incidents had never been indexed")
+    void search_DeadDocuments_LeaveIdfAlone() {
+        index.index(doc(1, "Disk full", null, Severity.HIGH, IncidentStatus.OPEN));
+        index.index(doc(2, "Disk full again", null, Severity.HIGH, IncidentStatus.OPEN));
+        index.index(doc(3, "Memory leak", null, Severity.HIGH, IncidentStatus.OPEN));
+        index.index(doc(4, "Memory pressure on disk", null, Severity.HIGH, IncidentStatus.OPEN));
+        index.remove(2L);
+        index.index(doc(4, "Memory pressure", null, Severity.HIGH, IncidentStatus.OPEN));
+
+        IncidentSearchIndex fresh = new IncidentSearchIndex(incidentRepository);
+        fresh.index(doc(1, "Disk full", null, Severity.HIGH, IncidentStatus.OPEN));
+        fresh.index(doc(3, "Memory leak", null, Severity.HIGH, IncidentStatus.OPEN));
+        fresh.index(doc(4, "Memory pressure", null, Severity.HIGH, IncidentStatus.OPEN));
+
+        assertThat(index.search("disk", null, null, 10).hits()).isEqualTo(fresh.search("disk", null, null, 10).hits());
+        assertThat(index.search("memory", null, null, 10).hits())
+                .isEqualTo(fresh.search("memory", null, null, 10).hits());
+    }
+
+    @Test
+    @DisplayName("Should build from the incidents table in pages at startup")
+    void rebuild_LoadsAllPages() {
+        Incident first = Incident.builder().id(1L).title("DNS failure").severity(Severity.CRITICAL)
+                .status(IncidentStatus.OPEN).build();
+        when(incidentRepository.findPageAfter(eq(0L), any())).thenReturn(List.of(first));
+        when(incidentRepository.findPageAfter(eq(1L), any())).thenReturn(List.of());
+
+        index.rebuild();
+
+        assertThat(ids(index.search("dns", null, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject a query without searchable words")
+    void search_NoTerms_Rejected() {
+        assertThatThrownBy(() -> index.search("a !", null, null, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.exception.IncidentStateConflictException;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.IncidentStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.IncidentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:incident-service;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false"
+})
+@DisplayName("IncidentService Integration Tests")
+class IncidentServiceTest {
+
+    @Autowired
+    private IncidentService incidentService;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    private Incident incident(IncidentStatus status) {
+        return incidentRepository.save(Incident.builder()
+                .title("orders-db latency").severity(Severity.HIGH).status(status).build());
+    }
+
+    @Test
+    @DisplayName("Should acknowledge an OPEN incident once and reject the second responder with a conflict")
+    void acknowledgeIncident_Twice_SecondConflicts() {
+        Incident open = incident(IncidentStatus.OPEN);
+
+        Incident acknowledged = incidentService.acknowledgeIncident(open.getId());
+
+        assertThat(acknowledged.getStatus()).isEqualTo(IncidentStatus.ACKNOWLEDGED);
+        assertThat(acknowledged.getAcknowledgedAt()).isNotNull();
+        assertThat(acknowledged.getVersion()).isEqualTo(open.getVersion() + 1);
+        assertThatThrownBy(() -> incidentService.acknowledgeIncident(open.getId()))
+                .isInstanceOf(IncidentStateConflictException.class)
+                .hasMessageContaining("ACKNOWLEDGED");
+    }
+
+    @Test
+    @DisplayName("Should return only the incidents the bulk UPDATE actually moved")
+    void acknowledgeIncidents_MixedStatuses_ReturnsTransitionedOnly() {
+        Incident open = incident(IncidentStatus.OPEN);
+        Incident alreadyAcknowledged = incident(IncidentStatus.ACKNOWLEDGED);
+        Incident resolved = incident(IncidentStatus.RESOLVED);
+
+        List<Incident> acknowledged = incidentService.acknowledgeIncidents(
+                List.of(open.getId(), alreadyAcknowledged.getId(), resolved.getId(), 999_999L));
+
+        assertThat(acknowledged).extracting(Incident::getId).containsExactly(open.getId());
+        assertThat(incidentRepository.findById(resolved.getId()).orElseThrow().getStatus())
+                .isEqualTo(IncidentStatus.RESOLVED);
+        assertThat(incidentRepository.findById(alreadyAcknowledged.getId()).orElseThrow().getVersion())
+                .isEqualTo(alreadyAcknowledged.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should resolve unresolved incidents and keep existing notes when none are given")
+    void resolveIncidents_NullNotes_KeepExisting() {
+        Incident investigating = incident(IncidentStatus.INVESTIGATING);
+        investigating.setRootCause("disk full");
+        incidentRepository.save(investigating);
+        Incident open = incident(IncidentStatus.OPEN);
+
+        List<Incident> resolved = incidentService.resolveIncidents(
+                List.of(investigating.getId(), open.getId()), null, "expanded volume");
+
+        assertThat(resolved).extracting(Incident::getStatus).containsOnly(IncidentStatus.RESOLVED);
+        assertThat(resolved).extracting(Incident::getResolution).containsOnly("expanded volume");
+        Incident reloaded = incidentRepository.findById(investigating.getId()).orElseThrow();
+        assertThat(reloaded.getRootCause()).isEqualTo("disk full");
+        assertThat(incidentRepository.findById(open.getId()).orElseThrow().getRootCause()).isNull();
+        assertThat(incidentService.resolveIncidents(List.of(open.getId()), null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject an update carrying a version older than a transition")
+    void updateIncident_StaleVersion_Conflicts() {
+        Incident open = incident(IncidentStatus.OPEN);
+        Long seenVersion = open.getVersion();
+        incidentService.acknowledgeIncident(open.getId());
+
+        IncidentRequest stale = IncidentRequest.builder()
+                .title("renamed").severity(Severity.CRITICAL).version(seenVersion).build();
+
+        assertThatThrownBy(() -> incidentService.updateIncident(open.getId(), stale))
+                .isInstanceOf(IncidentStateConflictException.class);
+        assertThat(incidentRepository.findById(open.getId()).orElseThrow().getTitle()).isEqualTo("orders-db latency");
+    }
+
+    @Test
+    @DisplayName("Should fail a save of an entity loaded before a concurrent transition")
+    void save_StaleEntity_OptimisticLockFailure() {
+        Incident open = incident(IncidentStatus.OPEN);
+        Incident loadedBefore = incidentRepository.findById(open.getId()).orElseThrow();
+        incidentService.acknowledgeIncident(open.getId());
+
+        loadedBefore.setTitle("renamed");
+
+        assertThatThrownBy(() -> incidentRepository.save(loadedBefore))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+}
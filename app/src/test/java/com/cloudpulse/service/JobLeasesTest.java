@@ -0,0 +1,50 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.repository.JobLeaseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:job-leases;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false"
+})
+@DisplayName("JobLeases Integration Tests")
+class JobLeasesTest {
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should let one instance hold a lease until it releases it or the lease lapses")
+    void tryAcquire_OneHolderAtATime() {
+        JobLeases podA = new JobLeases(jobLeaseRepository, transactionManager);
+        JobLeases podB = new JobLeases(jobLeaseRepository, transactionManager);
+
+        assertThat(podA.tryAcquire("nightly", Duration.ofMinutes(5))).isTrue();
+        assertThat(podA.tryAcquire("nightly", Duration.ofMinutes(5))).isTrue(); // renewal
+        assertThat(podB.tryAcquire("nightly", Duration.ofMinutes(5))).isFalse();
+
+        podA.release("nightly");
+        assertThat(podB.tryAcquire("nightly", Duration.ofMinutes(5))).isTrue();
+
+        jdbcTemplate.update("UPDATE job_leases SET lease_until = ? WHERE name = 'nightly'",
+                LocalDateTime.now().minusSeconds(1));
+        assertThat(podA.tryAcquire("nightly", Duration.ofMinutes(5))).isTrue(); // B died
+        assertThat(podB.tryAcquire("nightly", Duration.ofMinutes(5))).isFalse();
+    }
+}
@@ -0,0 +1,35 @@
+package com.cloudpulse.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LTTB Downsampling Unit Tests")
+class LttbTest {
+
+    @Test
+    @DisplayName("Should keep endpoints and the spike when downsampling")
+    void select_SeriesWithSpike_KeepsSpike() {
+        int n = 100;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = 100;
+        }
+        y[42] = 30000;
+
+        int[] selected = Lttb.select(x, y, 10);
+
+        assertThat(selected).hasSize(10).startsWith(0).endsWith(99).contains(42);
+        assertThat(selected).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should return every point when already under the threshold")
+    void select_ShortSeries_ReturnsAllIndexes() {
+        assertThat(Lttb.select(new double[] { 1, 2, 3 }, new double[] { 5, 6, 7 }, 10))
+                .containsExactly(0, 1, 2);
+    }
+}
@@ -0,0 +1,218 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentNotification;
+import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notifications;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false",
+        "cloudpulse.notifications.poll-ms=20",
+        "cloudpulse.notifications.batch-size=5",
+        "cloudpulse.notifications.backoff-base=20ms",
+        "cloudpulse.notifications.failure-threshold=2",
+        "cloudpulse.notifications.open-duration=300ms",
+        "cloudpulse.notifications.fallback-poll=200ms"
+})
+@DisplayName("NotificationDispatcher Integration Tests")
+class NotificationDispatcherTest {
+
+    private static final HttpServer receiver;
+    private static final List<IncidentNotification[]> batches = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static volatile int failuresLeft;
+    private static volatile CountDownLatch slow = new CountDownLatch(0);
+
+    static {
+        try {
+            receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        receiver.createContext("/hook", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            try {
+                slow.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                exchange.sendResponseHeaders(500, -1);
+            } else {
+                batches.add(mapper.readValue(body, IncidentNotification[].class));
+                exchange.sendResponseHeaders(204, -1);
+            }
+            exchange.close();
+        });
+        receiver.createContext("/dead", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        receiver.setExecutor(Executors.newCachedThreadPool());
+        receiver.start();
+    }
+
+    @DynamicPropertySource
+    static void endpoints(DynamicPropertyRegistry registry) {
+        registry.add("cloudpulse.notifications.endpoints",
+                () -> "http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook");
+    }
+
+    @AfterAll
+    static void stopReceiver() {
+        receiver.stop(0);
+    }
+
+    @Autowired
+    private IncidentService incidentService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void reset() {
+        batches.clear();
+        requests.set(0);
+        failuresLeft = 0;
+        slow = new CountDownLatch(0);
+    }
+
+    private Incident create(String title) {
+        return incidentService.createIncident(IncidentRequest.builder().title(title).severity(Severity.MEDIUM).build());
+    }
+
+    private String endpoint(String path) {
+        return "http://127.0.0.1:" + receiver.getAddress().getPort() + path;
+    }
+
+    private void enqueue(String endpoint, long incidentId, LocalDateTime failedAt) {
+        jdbcTemplate.update("INSERT INTO notification_outbox (endpoint, payload, attempts, next_attempt_at, "
+                + "failed_at, created_at) VALUES (?, ?, 0, ?, ?, ?)", endpoint, "{\"incidentId\":" + incidentId + "}",
+                LocalDateTime.now(), failedAt, LocalDateTime.now());
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (outboxMessageRepository.count() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(outboxMessageRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should deliver after commit without making the write wait for a slow receiver")
+    void createIncident_SlowReceiver_DoesNotBlock() throws Exception {
+        slow = new CountDownLatch(1);
+        long start = System.nanoTime();
+        Incident incident = create("disk full on build-agent-3");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        slow.countDown();
+
+        assertThat(elapsedMs).isLessThan(1000);
+        awaitDrained();
+        assertThat(batches).flatExtracting(List::of)
+                .extracting(IncidentNotification::getIncidentId, IncidentNotification::getEvent)
+                .contains(tuple(incident.getId(), IncidentNotification.Event.INCIDENT_CREATED));
+    }
+
+    @Test
+    @DisplayName("Should retry failed batches with backoff, open the circuit, then deliver")
+    void failingReceiver_RetriedThenDelivered() throws Exception {
+        failuresLeft = 3;
+
+        Incident first = create("api 5xx spike");
+        Incident second = create("api latency spike");
+
+        awaitDrained();
+        assertThat(requests.get()).isGreaterThanOrEqualTo(4);
+        assertThat(batches).flatExtracting(List::of).extracting(IncidentNotification::getIncidentId)
+                .contains(first.getId(), second.getId());
+    }
+
+    @Test
+    @DisplayName("Should leave rows claimed by another instance alone until the claim lapses")
+    void claimedElsewhere_SentAfterClaimLapses() throws Exception {
+        String endpoint = "http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook";
+        jdbcTemplate.update("INSERT INTO notification_outbox (endpoint, payload, attempts, next_attempt_at, "
+                + "claimed_by, claimed_until, created_at) VALUES (?, '{\"incidentId\":7}', 0, ?, 'other', ?, ?)",
+                endpoint, LocalDateTime.now(), LocalDateTime.now().plusSeconds(2), LocalDateTime.now());
+
+        Thread.sleep(500);
+        assertThat(requests.get()).isZero();
+
+        awaitDrained();
+        assertThat(batches).flatExtracting(List::of).extracting(IncidentNotification::getIncidentId)
+                .containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to a live endpoint behind a dead endpoint's backlog")
+    void deadEndpointBacklog_LiveEndpointStillServed() throws Exception {
+        String dead = endpoint("/dead");
+        for (long i = 0; i < 200; i++) { // far more than one batch-size * 20 page, all ahead of the live row
+            enqueue(dead, 1000 + i, null);
+        }
+        enqueue(endpoint("/hook"), 42, null);
+        notificationDispatcher.wake();
+
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (batches.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(batches).flatExtracting(List::of).extracting(IncidentNotification::getIncidentId)
+                    .containsExactly(42L);
+        } finally {
+            jdbcTemplate.update("DELETE FROM notification_outbox WHERE endpoint = ?", dead);
+        }
+    }
+
+    @Test
+    @DisplayName("Should purge undeliverable rows only once past the retention")
+    void purgeFailed_OnlyPastRetention() {
+        String gone = endpoint("/gone");
+        enqueue(gone, 1, LocalDateTime.now().minusDays(8));
+        enqueue(gone, 2, LocalDateTime.now().minusDays(1));
+
+        notificationDispatcher.purgeFailed();
+
+        assertThat(jdbcTemplate.queryForList("SELECT payload FROM notification_outbox WHERE endpoint = ?",
+                String.class, gone)).containsExactly("{\"incidentId\":2}");
+        jdbcTemplate.update("DELETE FROM notification_outbox WHERE endpoint = ?", gone);
+    }
+}
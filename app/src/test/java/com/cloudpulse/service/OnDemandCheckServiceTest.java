@@ -0,0 +1,220 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.BatchCheckRequest;
+import com.cloudpulse.dto.BatchCheckResult;
+import com.cloudpulse.exception.ProbeCapacityExceededException;
+import com.cloudpulse.exception.ResourceNotFoundException;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Resource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OnDemandCheckService Unit Tests")
+class OnDemandCheckServiceTest {
+
+    @Mock
+    private HealthCheckService healthCheckService;
+
+    @Mock
+    private ResourceService resourceService;
+
+    private OnDemandCheckService onDemandCheckService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Resource resource = Resource.builder().id(1L).name("api-gw").build();
+    private final Resource other = Resource.builder().id(2L).name("orders-db").build();
+    private final CountDownLatch probing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        onDemandCheckService = service(1, Duration.ofSeconds(5));
+        lenient().when(resourceService.getResourceById(1L)).thenReturn(resource);
+        lenient().when(resourceService.getResourceById(2L)).thenReturn(other);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        onDemandCheckService.shutdown();
+    }
+
+    private OnDemandCheckService service(int maxConcurrent, Duration deadline) {
+        return new OnDemandCheckService(healthCheckService, resourceService, objectMapper,
+                maxConcurrent, maxConcurrent, deadline);
+    }
+
+    private HealthCheck check(long id, LocalDateTime checkedAt) {
+        return HealthCheck.builder().id(id).resource(resource).status(HealthStatus.UP).checkedAt(checkedAt).build();
+    }
+
+    /** Makes the probe of {@code target} block until {@link #release} opens. */
+    private void blockProbe(Resource target, HealthCheck result) {
+        when(healthCheckService.performHealthCheck(target)).thenAnswer(invocation -> {
+            probing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return result;
+        });
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight probe between concurrent requests")
+    void run_ConcurrentRequests_ProbeOnce() throws Exception {
+        HealthCheck result = check(10, LocalDateTime.now());
+        blockProbe(resource, result);
+
+        CompletableFuture<HealthCheck> leader = onDemandCheckService.run(1L, null);
+        assertThat(probing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<HealthCheck> follower = onDemandCheckService.run(1L, null);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        verify(healthCheckService, times(1)).performHealthCheck(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse a probe beyond the concurrency cap instead of queueing it")
+    void run_AtCapacity_FailsFast() throws Exception {
+        blockProbe(resource, check(10, LocalDateTime.now()));
+
+        onDemandCheckService.run(1L, null);
+        assertThat(probing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> onDemandCheckService.run(2L, null).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ProbeCapacityExceededException.class);
+        verify(healthCheckService, never()).performHealthCheck(other);
+    }
+
+    @Test
+    @DisplayName("Should fail the caller past the deadline while the probe keeps running")
+    void run_PastDeadline_TimesOut() throws Exception {
+        onDemandCheckService.shutdown();
+        onDemandCheckService = service(1, Duration.ofMillis(50));
+        HealthCheck result = check(10, LocalDateTime.now());
+        blockProbe(resource, result);
+
+        CompletableFuture<HealthCheck> late = onDemandCheckService.run(1L, null);
+
+        assertThatThrownBy(() -> late.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        CompletableFuture<HealthCheck> joined = onDemandCheckService.run(1L, null);
+        release.countDown();
+        assertThat(joined.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        verify(healthCheckService, times(1)).performHealthCheck(any());
+    }
+
+    @Test
+    @DisplayName("Should return a recent enough check instead of probing")
+    void run_FreshCheckWithinMaxAge_SkipsProbe() throws Exception {
+        HealthCheck recent = check(5, LocalDateTime.now().minusSeconds(10));
+        when(healthCheckService.getLatestCheck(1L)).thenReturn(Optional.of(recent));
+
+        assertThat(onDemandCheckService.run(1L, Duration.ofSeconds(30)).get()).isSameAs(recent);
+        verify(healthCheckService, never()).performHealthCheck(any());
+    }
+
+    @Test
+    @DisplayName("Should probe when the newest check is older than maxAge")
+    void run_StaleCheck_Probes() throws Exception {
+        HealthCheck probed = check(6, LocalDateTime.now());
+        when(healthCheckService.getLatestCheck(1L))
+                .thenReturn(Optional.of(check(5, LocalDateTime.now().minusMinutes(5))));
+        when(healthCheckService.performHealthCheck(resource)).thenReturn(probed);
+
+        assertThat(onDemandCheckService.run(1L, Duration.ofSeconds(30)).get(5, TimeUnit.SECONDS))
+                .isSameAs(probed);
+    }
+
+    @Test
+    @DisplayName("Should stream one NDJSON line per resource, in completion order, waiting for slots")
+    void runBatch_StreamsResultsAsTheyComplete() throws Exception {
+        onDemandCheckService.shutdown();
+        onDemandCheckService = service(2, Duration.ofSeconds(5));
+        Resource third = Resource.builder().id(3L).name("cache").build();
+        when(resourceService.getByIds(any())).thenReturn(List.of(resource, other, third));
+        when(resourceService.getResourceById(3L)).thenReturn(third);
+        blockProbe(resource, check(10, LocalDateTime.now()));
+        when(healthCheckService.performHealthCheck(other)).thenReturn(check(11, LocalDateTime.now()));
+        when(healthCheckService.performHealthCheck(third)).thenReturn(check(12, LocalDateTime.now()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompletableFuture<Void> streaming = CompletableFuture.runAsync(() -> {
+            try {
+                onDemandCheckService.runBatch(BatchCheckRequest.builder()
+                        .resourceIds(List.of(1L, 2L, 3L, 99L)).build()).writeTo(out);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(probing.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200); // the fast probes finish while the first one is still blocked
+        release.countDown();
+        streaming.get(5, TimeUnit.SECONDS);
+
+        List<BatchCheckResult> lines = new ArrayList<>();
+        for (String line : out.toString().split("\n")) {
+            lines.add(objectMapper.readValue(line, BatchCheckResult.class));
+        }
+        assertThat(lines).extracting(BatchCheckResult::getResourceId).containsExactly(99L, 2L, 3L, 1L);
+        assertThat(lines.get(0).getError()).isEqualTo("Resource not found");
+        assertThat(lines.get(3).getCheckId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should probe each batch resource as loaded when its probe starts")
+    void runBatch_ProbesCurrentResource() throws Exception {
+        Resource stale = Resource.builder().id(1L).name("api-gw-old").build();
+        Resource gone = Resource.builder().id(3L).name("cache").build();
+        when(resourceService.getByIds(any())).thenReturn(List.of(stale, gone));
+        when(resourceService.getResourceById(3L)).thenThrow(new ResourceNotFoundException("Resource", 3L));
+        when(healthCheckService.performHealthCheck(resource)).thenReturn(check(10, LocalDateTime.now()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        onDemandCheckService.runBatch(BatchCheckRequest.builder().resourceIds(List.of(1L, 3L)).build()).writeTo(out);
+
+        List<BatchCheckResult> lines = new ArrayList<>();
+        for (String line : out.toString().split("\n")) {
+            lines.add(objectMapper.readValue(line, BatchCheckResult.class));
+        }
+        assertThat(lines).extracting(BatchCheckResult::getResourceId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(lines).filteredOn(line -> line.getResourceId() == 1L)
+                .extracting(BatchCheckResult::getCheckId).containsExactly(10L);
+        assertThat(lines).filteredOn(line -> line.getResourceId() == 3L)
+                .extracting(BatchCheckResult::getError).doesNotContainNull();
+        verify(healthCheckService, never()).performHealthCheck(stale);
+    }
+
+    @Test
+    @DisplayName("Should reject a batch without ids or filter")
+    void runBatch_NoSelection_Rejected() {
+        assertThatThrownBy(() -> onDemandCheckService.runBatch(new BatchCheckRequest()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,112 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ResourceDeletionStatus;
+import com.cloudpulse.exception.ResourceNotFoundException;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Incident;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.HealthCheckRepository;
+import com.cloudpulse.repository.IncidentRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:resource-deletion;DB_CLOSE_DELAY=-1",
+        "cloudpulse.seed.enabled=false",
+        "cloudpulse.deletion.chunk-size=4",
+        "cloudpulse.deletion.interval-ms=3600000"
+})
+@DisplayName("ResourceDeletionService Integration Tests")
+class ResourceDeletionServiceTest {
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private ResourceDeletionService resourceDeletionService;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private HealthCheckRepository healthCheckRepository;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should hide the resource at once, then purge its history in bounded chunks")
+    void deleteResource_HidesThenPurgesInChunks() {
+        Resource resource = resourceRepository.save(Resource.builder()
+                .name("orders-db").resourceType(ResourceType.RDS).provider("aws").region("eu-west-1").build());
+        List<HealthCheck> checks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            checks.add(HealthCheck.builder().resource(resource).status(HealthStatus.UP)
+                    .responseTimeMs(20 + i).checkedAt(LocalDateTime.now().minusMinutes(i)).build());
+        }
+        healthCheckRepository.saveAll(checks);
+        Incident incident = incidentRepository.save(Incident.builder()
+                .title("orders-db down").severity(Severity.HIGH).resource(resource).build());
+        Long id = resource.getId();
+
+        ResourceDeletionStatus requested = resourceService.deleteResource(id);
+
+        assertThat(requested.getPhase()).isEqualTo("QUEUED");
+        assertThatThrownBy(() -> resourceService.getResourceById(id)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(resourceService.getAllResources()).extracting(Resource::getId).doesNotContain(id);
+        assertThatThrownBy(() -> resourceService.deleteResource(id)).isInstanceOf(ResourceNotFoundException.class);
+
+        int ticks = 0;
+        while (!"COMPLETED".equals(resourceDeletionService.getStatus(id).getPhase()) && ticks < 20) {
+            resourceDeletionService.purgeNextChunk();
+            ticks++;
+        }
+
+        ResourceDeletionStatus done = resourceDeletionService.getStatus(id);
+        assertThat(done.getPhase()).isEqualTo("COMPLETED");
+        assertThat(done.getIncidentsDeleted()).isEqualTo(1);
+        assertThat(done.getHealthChecksDeleted()).isEqualTo(10);
+        assertThat(ticks).isEqualTo(5); // one incident chunk, three check chunks of at most 4, then the row
+        assertThat(incidentRepository.existsById(incident.getId())).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM resources WHERE id = ?", Long.class, id))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave a purge claimed by another live instance alone and take it over once the claim lapses")
+    void purgeNextChunk_ClaimedElsewhere_TakenOverAfterLease() {
+        Resource resource = resourceRepository.save(Resource.builder()
+                .name("cache-1").resourceType(ResourceType.ELASTICACHE).provider("aws").region("eu-west-1").build());
+        Long id = resource.getId();
+        resourceService.deleteResource(id);
+        jdbcTemplate.update("UPDATE resource_deletions SET claimed_by = 'other-pod', claimed_until = ? "
+                + "WHERE resource_id = ?", LocalDateTime.now().plusMinutes(1), id);
+
+        resourceDeletionService.purgeNextChunk();
+        assertThat(resourceDeletionService.getStatus(id).getPhase()).isEqualTo("QUEUED");
+        assertThat(resourceRepository.existsById(id)).isTrue();
+
+        jdbcTemplate.update("UPDATE resource_deletions SET claimed_until = ? WHERE resource_id = ?",
+                LocalDateTime.now().minusSeconds(1), id);
+        resourceDeletionService.purgeNextChunk();
+
+        assertThat(resourceDeletionService.getStatus(id).getPhase()).isEqualTo("COMPLETED");
+        assertThat(resourceRepository.existsById(id)).isFalse();
+    }
+}
@@ -0,0 +1,90 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.IncidentRequest;
+import com.cloudpulse.dto.ResourceOverview;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Incident.Severity;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.HealthCheckRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:resource-overview;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cloudpulse.seed.enabled=false",
+        // statistics are global: keep background jobs out of the counted window
+        "cloudpulse.deletion.interval-ms=3600000",
+        "cloudpulse.changes.follow-interval-ms=3600000",
+        "cloudpulse.changes.poll-interval-ms=3600000",
+        "cloudpulse.notifications.poll-ms=3600000"
+})
+@DisplayName("ResourceOverviewService Integration Tests")
+class ResourceOverviewServiceTest {
+
+    @Autowired
+    private ResourceOverviewService resourceOverviewService;
+
+    @Autowired
+    private IncidentService incidentService;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private HealthCheckRepository healthCheckRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should load any number of overviews with a fixed number of queries")
+    void getOverviews_FixedQueryCount() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Resource resource = resourceRepository.save(Resource.builder().name("svc-" + i)
+                    .resourceType(ResourceType.EC2).provider("aws").region("eu-west-1").build());
+            healthCheckRepository.saveAll(List.of(
+                    HealthCheck.builder().resource(resource).status(HealthStatus.UP)
+                            .checkedAt(LocalDateTime.now().minusMinutes(1)).build(),
+                    HealthCheck.builder().resource(resource).status(HealthStatus.DOWN)
+                            .checkedAt(LocalDateTime.now()).build()));
+            ids.add(resource.getId());
+        }
+        incidentService.createIncident(IncidentRequest.builder().title("svc-3 down")
+                .severity(Severity.HIGH).resourceId(ids.get(3)).build());
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(0, -1L);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<ResourceOverview> overviews = resourceOverviewService.getOverviews(requested);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(overviews).extracting(o -> o.getResource().getId()).containsExactlyElementsOf(ids);
+        assertThat(overviews).allSatisfy(o -> assertThat(o.getLatestCheck().getStatus()).isEqualTo(HealthStatus.DOWN));
+        assertThat(overviews.get(3).getActiveIncidents()).extracting("title").containsExactly("svc-3 down");
+        assertThat(overviews.get(4).getActiveIncidents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject an empty id list")
+    void getOverviews_NoIds_Rejected() {
+        assertThatThrownBy(() -> resourceOverviewService.getOverviews(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,10 +1,13 @@
 package com.cloudpulse.service;
 
+import com.cloudpulse.dto.ResourceDeletionStatus;
 import com.cloudpulse.dto.ResourceRequest;
+import com.cloudpulse.dto.ResourceSuggestion;
 import com.cloudpulse.exception.ResourceNotFoundException;
 import com.cloudpulse.model.Resource;
 import com.cloudpulse.model.Resource.ResourceStatus;
 import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.LatestHealthCheckRepository;
 import com.cloudpulse.repository.ResourceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +31,21 @@ class ResourceServiceTest {
     @Mock
     private ResourceRepository resourceRepository;
 
+    @Mock
+    private LatestHealthCheckRepository latestHealthCheckRepository;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
+    @Mock
+    private ResourceDeletionService resourceDeletionService;
+
+    @Mock
+    private ResourceTypeaheadIndex resourceTypeaheadIndex;
+
     @InjectMocks
     private ResourceService resourceService;
 
@@ -115,14 +133,17 @@ class ResourceServiceTest {
     }
 
     @Test
-    @DisplayName("Should delete existing resource")
-    void deleteResource_ExistingId_DeletesSuccessfully() {
+    @DisplayName("Should hand existing resource to the background purge instead of deleting inline")
+    void deleteResource_ExistingId_RequestsAsyncDeletion() {
         when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
-        doNothing().when(resourceRepository).delete(testResource);
+        when(resourceDeletionService.requestDeletion(1L))
+                .thenReturn(ResourceDeletionStatus.builder().resourceId(1L).phase("QUEUED").build());
+
+        ResourceDeletionStatus status = resourceService.deleteResource(1L);
 
-        assertThatCode(() -> resourceService.deleteResource(1L))
-                .doesNotThrowAnyException();
-        verify(resourceRepository, times(1)).delete(testResource);
+        assertThat(status.getPhase()).isEqualTo("QUEUED");
+        verify(resourceDeletionService).requestDeletion(1L);
+        verify(resourceRepository, never()).delete(any(Resource.class));
     }
 
     @Test
@@ -152,4 +173,26 @@ class ResourceServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getStatus()).isEqualTo(ResourceStatus.DEGRADED);
     }
+
+    @Test
+    @DisplayName("Should reject typeahead limits outside 1..50 before touching the index")
+    void suggest_LimitOutOfRange_Rejected() {
+        assertThatThrownBy(() -> resourceService.suggest("test", 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'limit'");
+        assertThatThrownBy(() -> resourceService.suggest("test", 51))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(resourceTypeaheadIndex);
+    }
+
+    @Test
+    @DisplayName("Should answer typeahead from the index without reading the database")
+    void suggest_FromIndexOnly() {
+        List<ResourceSuggestion> matches = List.of(ResourceSuggestion.builder().id(1L).name("test-server").build());
+        when(resourceTypeaheadIndex.suggest("test", 10)).thenReturn(matches);
+
+        assertThat(resourceService.suggest("test", 10)).isEqualTo(matches);
+        verifyNoInteractions(resourceRepository);
+    }
 }
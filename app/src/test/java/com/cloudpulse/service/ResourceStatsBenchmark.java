@@ -0,0 +1,124 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.CloudPulseApplication;
+import com.cloudpulse.dto.ResourceStats;
+import com.cloudpulse.model.HealthCheck;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.repository.HealthCheckRepository;
+import com.cloudpulse.repository.ResourceRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The production read paths for health-check statistics, on H2 with a
+ * seeded fleet: the /stats endpoint (stats table), /avg-time (hot store,
+ * with the per-resource SQL average it falls back to) and the dashboard's
+ * fleet average, plus the stats table's contended record path.
+ * Run with {@code mvn -Pbenchmark test -Djmh.include=ResourceStatsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceStatsBenchmark {
+
+    @Param("200")
+    int resources;
+
+    @Param("100")
+    int checksPerResource;
+
+    private ConfigurableApplicationContext context;
+    private HealthCheckRepository healthCheckRepository;
+    private HealthCheckService healthCheckService;
+    private ResourceStatsTable statsTable;
+    private long[] resourceIds;
+    private LocalDateTime since;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CloudPulseApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:stats-benchmark;DB_CLOSE_DELAY=-1",
+                        "--cloudpulse.seed.enabled=false",
+                        "--cloudpulse.healthcheck.interval=3600000",
+                        "--cloudpulse.hotstore.file=target/benchmark-data/hotstore.dat",
+                        "--logging.level.com.cloudpulse=WARN");
+        ResourceRepository resourceRepository = context.getBean(ResourceRepository.class);
+        healthCheckRepository = context.getBean(HealthCheckRepository.class);
+        healthCheckService = context.getBean(HealthCheckService.class);
+        statsTable = context.getBean(ResourceStatsTable.class);
+
+        resourceIds = new long[resources];
+        for (int r = 0; r < resources; r++) {
+            Resource resource = resourceRepository.save(Resource.builder()
+                    .name("bench-" + r)
+                    .resourceType(Resource.ResourceType.EC2)
+                    .provider("aws")
+                    .region("us-east-1")
+                    .status(Resource.ResourceStatus.HEALTHY)
+                    .build());
+            resourceIds[r] = resource.getId();
+
+            List<HealthCheck> checks = new ArrayList<>(checksPerResource);
+            for (int c = 0; c < checksPerResource; c++) {
+                int latency = 20 + ThreadLocalRandom.current().nextInt(200);
+                checks.add(HealthCheck.builder()
+                        .resource(resource)
+                        .status(HealthStatus.UP)
+                        .responseTimeMs(latency)
+                        .statusCode(200)
+                        .build());
+                statsTable.record(resource.getId(), latency, HealthStatus.UP, System.currentTimeMillis());
+            }
+            healthCheckRepository.saveAll(checks);
+        }
+        since = LocalDateTime.now().minusHours(24);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long nextResourceId() {
+        return resourceIds[ThreadLocalRandom.current().nextInt(resourceIds.length)];
+    }
+
+    @Benchmark
+    public ResourceStats statsEndpoint() {
+        return healthCheckService.getStats(nextResourceId());
+    }
+
+    @Benchmark
+    public Double avgTimeEndpoint() {
+        return healthCheckService.getAvgResponseTime(nextResourceId(), 24);
+    }
+
+    @Benchmark
+    public Double avgTimeSqlFallback() {
+        return healthCheckRepository.avgResponseTimeByResourceSince(nextResourceId(), since);
+    }
+
+    @Benchmark
+    public Double dashboardFleetAverage() {
+        return healthCheckRepository.avgResponseTimeSince(since);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void statsTableRecordContended() {
+        statsTable.record(nextResourceId(), 120, HealthStatus.UP, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,114 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ResourceStats;
+import com.cloudpulse.model.HealthCheck.HealthStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResourceStatsTable Unit Tests")
+class ResourceStatsTableTest {
+
+    @Mock
+    private HealthCheckHotStore hotStore;
+
+    @Test
+    @DisplayName("Should track EWMA, min/max, last status and consecutive failures")
+    void record_UpdatesAllCounters() {
+        ResourceStatsTable table = new ResourceStatsTable(hotStore, 10, 0.5);
+
+        table.record(7, 100, HealthStatus.UP, 1_000);
+        table.record(7, 200, HealthStatus.DEGRADED, 2_000);
+        table.record(7, null, HealthStatus.TIMEOUT, 3_000);
+        table.record(7, null, HealthStatus.DOWN, 4_000);
+
+        ResourceStats stats = table.get(7);
+        assertThat(stats.getChecks()).isEqualTo(4);
+        assertThat(stats.getEwmaResponseTimeMs()).isEqualTo(150.0);
+        assertThat(stats.getMinResponseTimeMs()).isEqualTo(100);
+        assertThat(stats.getMaxResponseTimeMs()).isEqualTo(200);
+        assertThat(stats.getConsecutiveFailures()).isEqualTo(2);
+        assertThat(stats.getLastStatus()).isEqualTo("DOWN");
+        assertThat(table.get(8)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict a resource unused since the clock hand last passed, sparing one read since")
+    void record_Full_EvictsOnSecondChance() {
+        ResourceStatsTable table = new ResourceStatsTable(hotStore, 3, 0.2);
+        table.record(1, 10, HealthStatus.UP, 1);
+        table.record(2, 20, HealthStatus.UP, 1);
+        table.record(3, 30, HealthStatus.UP, 1);
+
+        table.record(4, 40, HealthStatus.UP, 1); // every row referenced: one full sweep, then the first row
+        assertThat(table.get(1)).isNull();
+
+        table.get(2);
+        table.record(5, 50, HealthStatus.UP, 1);
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.get(3)).isNull();
+        assertThat(table.get(2)).isNotNull();
+        assertThat(table.get(4).getEwmaResponseTimeMs()).isEqualTo(40.0);
+        assertThat(table.get(5).getEwmaResponseTimeMs()).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("Should keep every remaining key reachable after removals")
+    void remove_KeepsProbeRunsIntact() {
+        ResourceStatsTable table = new ResourceStatsTable(hotStore, 500, 0.2);
+        for (long id = 1; id <= 500; id++) {
+            table.record(id, (int) id, HealthStatus.UP, id);
+        }
+        for (long id = 1; id <= 500; id += 3) {
+            table.remove(id);
+        }
+
+        for (long id = 1; id <= 500; id++) {
+            if ((id - 1) % 3 == 0) {
+                assertThat(table.get(id)).isNull();
+            } else {
+                assertThat(table.get(id).getMaxResponseTimeMs()).isEqualTo((int) id);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not lose updates from concurrent probe threads")
+    void record_Concurrent_CountsEveryCheck() throws Exception {
+        ResourceStatsTable table = new ResourceStatsTable(hotStore, 64, 0.2);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        table.record(i % 32 + 1, 50, HealthStatus.UP, i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        long total = 0;
+        for (long id = 1; id <= 32; id++) {
+            total += table.get(id).getChecks();
+        }
+        assertThat(total).isEqualTo(40_000);
+    }
+}
@@ -0,0 +1,89 @@
+package com.cloudpulse.service;
+
+import com.cloudpulse.dto.ResourceSuggestion;
+import com.cloudpulse.model.Resource;
+import com.cloudpulse.model.Resource.ResourceType;
+import com.cloudpulse.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResourceTypeaheadIndex Unit Tests")
+class ResourceTypeaheadIndexTest {
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    private ResourceTypeaheadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ResourceTypeaheadIndex(resourceRepository);
+    }
+
+    private Resource resource(long id, String name, String resourceId) {
+        return Resource.builder().id(id).name(name).resourceId(resourceId)
+                .resourceType(ResourceType.RDS).provider("aws").region("eu-west-1").build();
+    }
+
+    private List<Long> ids(String prefix, int limit) {
+        return index.suggest(prefix, limit).stream().map(ResourceSuggestion::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should match name and resource id prefixes case-insensitively, whole values first")
+    void suggest_PrefixOfNameOrResourceId() {
+        index.update(resource(1, "orders-db", "arn:aws:rds:eu-west-1:123:db:orders-db"));
+        index.update(resource(2, "Orders-API", "i-0a1b2c"));
+        index.update(resource(3, "eu-orders-cache", "i-0f9e8d"));
+        index.update(resource(4, "billing-db", "i-0a1fff"));
+
+        assertThat(ids("ORDERS", 10)).containsExactly(2L, 1L, 3L);
+        assertThat(ids("i-0a1", 10)).containsExactly(2L, 4L);
+        assertThat(ids("arn:aws:rds", 10)).containsExactly(1L);
+        assertThat(ids("db", 10)).containsExactly(1L, 4L);
+        assertThat(ids("orders", 2)).containsExactly(2L, 1L);
+        assertThat(ids("nothing", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow renames and forget deleted resources")
+    void updateAndRemove_KeepIndexCurrent() {
+        index.update(resource(1, "orders-db", "i-111"));
+        index.update(resource(2, "payments-db", "i-222"));
+
+        index.update(resource(1, "checkout-db", "i-111"));
+        index.remove(2L);
+
+        assertThat(ids("orders", 10)).isEmpty();
+        assertThat(ids("checkout", 10)).containsExactly(1L);
+        assertThat(ids("db", 10)).containsExactly(1L);
+        assertThat(index.suggest("checkout", 10).get(0).getName()).isEqualTo("checkout-db");
+    }
+
+    @Test
+    @DisplayName("Should load visible resources at startup")
+    void rebuild_LoadsFromRepository() {
+        when(resourceRepository.findAll()).thenReturn(List.of(resource(7, "edge-lb", null)));
+
+        index.rebuild();
+
+        assertThat(ids("edge", 10)).containsExactly(7L);
+        assertThat(ids("lb", 10)).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Should reject a blank prefix")
+    void suggest_Blank_Rejected() {
+        assertThatThrownBy(() -> index.suggest("  ", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
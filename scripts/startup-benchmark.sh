@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# =============================================================================
+# Startup benchmark — time-to-ready of the plain WAR vs the optimized mode
+# =============================================================================
+# Usage: scripts/startup-benchmark.sh [runs] [war]
+#
+# Modes compared (each started RUNS times, default profile / in-memory H2):
+#   war        java -jar cloudpulse.war (current image behaviour)
+#   lazy       exploded jars + lazy bean initialization
+#   lazy+cds   exploded jars + lazy initialization + AppCDS archive
+#
+# Time-to-ready is measured from process launch until
+# /api/actuator/health answers 200. Requires a JDK (for `jar`) and curl.
+# =============================================================================
+set -euo pipefail
+
+RUNS=${1:-5}
+WAR=${2:-app/target/cloudpulse.war}
+PORT=${PORT:-18080}
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+if [ ! -f "$WAR" ]; then
+    echo "WAR not found at $WAR — build it with: (cd app && mvn package -DskipTests)" >&2
+    exit 1
+fi
+WAR=$(cd "$(dirname "$WAR")" && pwd)/$(basename "$WAR")
+
+echo "Preparing exploded layout and CDS archive..."
+"$SCRIPT_DIR/startup-optimize.sh" explode "$WAR" "$WORK/exploded"
+"$SCRIPT_DIR/startup-optimize.sh" train "$WORK/exploded" > "$WORK/train.log" 2>&1
+
+now_ms() { date +%s%3N; }
+
+# Starts the app with the given command, prints milliseconds until ready
+time_to_ready() {
+    local start pid elapsed
+    start=$(now_ms)
+    "$@" --server.port="$PORT" > "$WORK/run.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/actuator/health" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited before becoming ready, see $WORK/run.log" >&2
+            cat "$WORK/run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+run_mode() {
+    local name=$1
+    shift
+    local total=0 best=0 t
+    for _ in $(seq "$RUNS"); do
+        t=$(time_to_ready "$@")
+        total=$((total + t))
+        if [ "$best" -eq 0 ] || [ "$t" -lt "$best" ]; then best=$t; fi
+    done
+    printf '%-10s avg %6d ms   best %6d ms\n' "$name" $((total / RUNS)) "$best"
+    echo $((total / RUNS)) > "$WORK/$name.avg"
+}
+
+MAIN=com.cloudpulse.CloudPulseApplication
+JVM_OPTS=(-XX:+UseG1GC)
+
+echo "Measuring time-to-ready over $RUNS runs per mode..."
+run_mode war java "${JVM_OPTS[@]}" -jar "$WAR"
+(cd "$WORK/exploded" && CLOUDPULSE_LAZY_INIT=true run_mode lazy \
+    java "${JVM_OPTS[@]}" @classpath.args "$MAIN")
+(cd "$WORK/exploded" && CLOUDPULSE_LAZY_INIT=true run_mode lazy+cds \
+    java "${JVM_OPTS[@]}" -XX:SharedArchiveFile=app.jsa @classpath.args "$MAIN")
+
+base=$(cat "$WORK/war.avg")
+for mode in lazy lazy+cds; do
+    avg=$(cat "$WORK/$mode.avg")
+    printf '%-10s %d%% of the WAR startup time\n' "$mode" $((avg * 100 / base))
+done
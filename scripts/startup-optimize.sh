@@ -0,0 +1,54 @@
+#!/usr/bin/env sh
+# =============================================================================
+# Startup-optimized packaging for CloudPulse
+# =============================================================================
+# explode <war> <dir>  Unpack the executable WAR into <dir> as plain jars and
+#                      write <dir>/classpath.args (needs a JDK for `jar`).
+#                      CDS cannot archive classes loaded from directories or
+#                      nested jars, so WEB-INF/classes is re-packed as a jar.
+# train <dir>          Start the app once, exit right after the context is
+#                      refreshed, and dump the loaded classes into
+#                      <dir>/app.jsa (AppCDS). Must run on the same JVM build
+#                      that will run the app. Uses the in-memory H2 default
+#                      profile with seeding disabled, so no database is needed,
+#                      and points the on-disk stores at a throwaway directory,
+#                      so nothing is left under <dir>/data.
+#
+# Run the result with:
+#   java -XX:SharedArchiveFile=app.jsa @classpath.args com.cloudpulse.CloudPulseApplication
+# =============================================================================
+set -eu
+
+MAIN_CLASS=com.cloudpulse.CloudPulseApplication
+
+explode() {
+    war=$1
+    dir=$2
+    mkdir -p "$dir"
+    (cd "$dir" && jar -xf "$war")
+    jar -cf "$dir/WEB-INF/application.jar" -C "$dir/WEB-INF/classes" .
+    rm -rf "$dir/WEB-INF/classes" "$dir/org"
+    {
+        printf -- '-cp WEB-INF/application.jar'
+        sed -n 's/^- "\(.*\)"$/:\1/p' "$dir/WEB-INF/classpath.idx" | tr -d '\n'
+        echo
+    } > "$dir/classpath.args"
+}
+
+train() {
+    dir=$1
+    scratch=$(mktemp -d)
+    (cd "$dir" && java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=off -Xlog:cds+dynamic=off \
+        -Dspring.context.exit=onRefresh \
+        @classpath.args "$MAIN_CLASS" \
+        --cloudpulse.seed.enabled=false --spring.main.banner-mode=off \
+        --cloudpulse.hotstore.file="$scratch/hotstore.dat" --cloudpulse.archive.dir="$scratch/archive")
+    rm -rf "$scratch"
+    test -s "$dir/app.jsa"
+}
+
+case "${1:-}" in
+    explode) explode "$(cd "$(dirname "$2")" && pwd)/$(basename "$2")" "$3" ;;
+    train) train "$2" ;;
+    *) echo "usage: $0 explode <war> <dir> | train <dir>" >&2; exit 2 ;;
+esac